@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The keys identifying the arguments of the calls, for the caches, the version tags and the calls in flight.
+ * <p>
+ * A key is built by walking the arguments as is, as they can hold {@link Buffer} values that the json encoding
+ * rejects: the fields of the json objects are sorted by name, the numbers are written the same whatever their boxed
+ * type, as they would be read from the json encoding, and the buffers are written as their length and the SHA-256
+ * digest of their bytes.
+ */
+final class ArgumentKeys {
+
+  private ArgumentKeys() {
+  }
+
+  /**
+   * @return the key of {@code args}
+   */
+  static String key(Object args) {
+    StringBuilder key = new StringBuilder();
+    append(key, args);
+    return key.toString();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void append(StringBuilder key, Object value) {
+    if (value instanceof JsonObject) {
+      value = ((JsonObject) value).getMap();
+    } else if (value instanceof JsonArray) {
+      value = ((JsonArray) value).getList();
+    }
+    if (value == null) {
+      key.append("null");
+    } else if (value instanceof Map) {
+      // Sorted, so that the key does not depend on the order the fields were put in
+      key.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> entry : new TreeMap<>((Map<String, ?>) value).entrySet()) {
+        if (!first) {
+          key.append(',');
+        }
+        first = false;
+        appendString(key, (String) entry.getKey());
+        key.append(':');
+        append(key, entry.getValue());
+      }
+      key.append('}');
+    } else if (value instanceof List) {
+      key.append('[');
+      boolean first = true;
+      for (Object element : (List<?>) value) {
+        if (!first) {
+          key.append(',');
+        }
+        first = false;
+        append(key, element);
+      }
+      key.append(']');
+    } else if (value instanceof Number) {
+      appendNumber(key, (Number) value);
+    } else if (value instanceof Boolean) {
+      key.append(value);
+    } else if (value instanceof Buffer) {
+      Buffer buffer = (Buffer) value;
+      key.append('<').append(buffer.length()).append(':').append(digest(buffer.getBytes())).append('>');
+    } else if (value instanceof byte[]) {
+      // Encoded as base64 text in json
+      appendString(key, Base64.getEncoder().encodeToString((byte[]) value));
+    } else {
+      appendString(key, value.toString());
+    }
+  }
+
+  private static void appendNumber(StringBuilder key, Number number) {
+    if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte
+      || number instanceof BigInteger) {
+      key.append(number);
+      return;
+    }
+    // A float is read back from its json text as a double
+    double value = number instanceof Float ? Double.parseDouble(number.toString()) : number.doubleValue();
+    if (value == Math.rint(value) && Math.abs(value) < 0x1p63) {
+      key.append((long) value);
+    } else {
+      key.append(value);
+    }
+  }
+
+  private static void appendString(StringBuilder key, String value) {
+    key.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        key.append('\\');
+      }
+      key.append(c);
+    }
+    key.append('"');
+  }
+
+  private static String digest(byte[] bytes) {
+    try {
+      return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform implements SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+
+/**
+ * The message of a call of a bulk method performing a batch of {@link Batched} calls: the n-th element of the reply is
+ * replied to the n-th call of the batch, and a failure is replied to all of them.
+ */
+final class BatchMessage implements Message<JsonObject> {
+
+  private final JsonObject body;
+  private final List<Message<JsonObject>> batch;
+  private final MultiMap headers;
+
+  BatchMessage(String bulkAction, JsonObject body, List<Message<JsonObject>> batch) {
+    this.body = body;
+    this.batch = batch;
+    this.headers = MultiMap.caseInsensitiveMultiMap().add("action", bulkAction);
+  }
+
+  @Override
+  public String address() {
+    return batch.get(0).address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return headers;
+  }
+
+  @Override
+  public JsonObject body() {
+    return body;
+  }
+
+  @Override
+  public String replyAddress() {
+    return null;
+  }
+
+  @Override
+  public boolean isSend() {
+    return true;
+  }
+
+  @Override
+  public void reply(Object message) {
+    reply(message, (DeliveryOptions) null);
+  }
+
+  @Override
+  public <R> void reply(Object message, Handler<AsyncResult<Message<R>>> replyHandler) {
+    reply(message, (DeliveryOptions) null);
+  }
+
+  @Override
+  public void reply(Object message, DeliveryOptions options) {
+    if (message instanceof JsonArray && ((JsonArray) message).size() == batch.size()) {
+      JsonArray results = (JsonArray) message;
+      for (int i = 0; i < batch.size(); i++) {
+        replyTo(batch.get(i), results.getValue(i), options);
+      }
+      return;
+    }
+    Object failure = message instanceof ServiceException ? message : new ServiceException(500,
+      "Bulk method " + headers.get("action") + " did not return one result per call");
+    for (Message<JsonObject> msg : batch) {
+      replyTo(msg, failure, options);
+    }
+  }
+
+  @Override
+  public <R> void reply(Object message, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+    reply(message, options);
+  }
+
+  @Override
+  public void fail(int failureCode, String message) {
+    for (Message<JsonObject> msg : batch) {
+      msg.fail(failureCode, message);
+    }
+  }
+
+  private static void replyTo(Message<JsonObject> msg, Object message, DeliveryOptions options) {
+    if (options == null) {
+      msg.reply(message);
+    } else {
+      msg.reply(message, options);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Declares that the calls of a single item service method are performed in batches by a bulk method of the same
+ * service, for instance a {@code getUser(id)} lookup by a {@code getUsers(ids)} query.
+ * <p>
+ * The service handler collects the calls received within {@link #maxDelay()} of the first one, or until
+ * {@link #maxSize()} calls are collected, invokes the bulk {@link #method()} once with the list of their arguments,
+ * and replies the n-th result of the bulk method to the n-th call. A failure of the bulk method is replied to all the
+ * calls of the batch. The callers are not aware of the batching.
+ * <p>
+ * The single item method must have exactly one parameter besides its result handler. The bulk method must be declared
+ * by the service interface, take the list of the arguments as its only parameter besides its result handler, and
+ * return the list of the results in the same order.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batched {
+
+  /**
+   * @return the name of the bulk method performing the batches
+   */
+  String method();
+
+  /**
+   * @return the maximum number of calls of a batch
+   */
+  int maxSize() default 100;
+
+  /**
+   * @return how long the first call of a batch waits for other calls, in {@link #timeUnit()}
+   */
+  long maxDelay() default 10;
+
+  /**
+   * @return the unit of the {@link #maxDelay()}
+   */
+  TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+}
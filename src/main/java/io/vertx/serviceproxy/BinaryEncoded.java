@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that the generated {@link DataObjectCodec} of a data object can be used in place of its json form, by the
+ * proxies using the {@link CallProtocol#BINARY} protocol and the handlers replying to them.
+ * <p>
+ * The codec writes the properties having both a getter and a setter, or an adder for the collections, and reads them
+ * back into a data object created with its empty constructor. A data object must only be annotated when these
+ * properties are its whole state: the state found only in its json form, and the defaults applied by its json
+ * constructor, are not carried by the codec. The data objects having properties the codec cannot read back, or no
+ * empty constructor, get a codec writing their json form instead.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BinaryEncoded {
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Reads the fields of a data object written by a {@link BinaryWriter}, for the generated {@link DataObjectCodec}s.
+ */
+public final class BinaryReader {
+
+  private final Buffer buffer;
+  private int pos;
+
+  /**
+   * @param buffer the buffer to read the fields from
+   * @param pos    the position of the first field
+   */
+  public BinaryReader(Buffer buffer, int pos) {
+    this.buffer = buffer;
+    this.pos = pos;
+  }
+
+  /**
+   * @return whether the next value is present, the value itself must then be read only when it is
+   */
+  public boolean readPresent() {
+    return buffer.getByte(pos++) != 0;
+  }
+
+  public int readInt() {
+    int value = buffer.getInt(pos);
+    pos += 4;
+    return value;
+  }
+
+  public long readLong() {
+    long value = buffer.getLong(pos);
+    pos += 8;
+    return value;
+  }
+
+  public short readShort() {
+    short value = buffer.getShort(pos);
+    pos += 2;
+    return value;
+  }
+
+  public byte readByte() {
+    return buffer.getByte(pos++);
+  }
+
+  public float readFloat() {
+    float value = buffer.getFloat(pos);
+    pos += 4;
+    return value;
+  }
+
+  public double readDouble() {
+    double value = buffer.getDouble(pos);
+    pos += 8;
+    return value;
+  }
+
+  public boolean readBoolean() {
+    return buffer.getByte(pos++) != 0;
+  }
+
+  public char readChar() {
+    return (char) readShort();
+  }
+
+  public String readString() {
+    int length = readInt();
+    String value = buffer.getString(pos, pos + length, "UTF-8");
+    pos += length;
+    return value;
+  }
+
+  /**
+   * @return a slice of the buffer read, sharing its bytes
+   */
+  public Buffer readBuffer() {
+    int length = readInt();
+    Buffer value = buffer.slice(pos, pos + length);
+    pos += length;
+    return value;
+  }
+
+  public JsonObject readJsonObject() {
+    return new JsonObject(readString());
+  }
+
+  public JsonArray readJsonArray() {
+    return new JsonArray(readString());
+  }
+
+  /**
+   * Read a value written by {@link BinaryWriter#writeValue(Object)}.
+   */
+  public Object readValue() {
+    return readJsonArray().getValue(0);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.netty.util.CharsetUtil;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Writes the fields of a data object to a {@link Buffer}, for the generated {@link DataObjectCodec}s.
+ * <p>
+ * Primitive values are written as is, the other values follow a presence flag written by
+ * {@link #writePresent(Object)}, and variable length values are prefixed by their length.
+ */
+public final class BinaryWriter {
+
+  private final Buffer buffer;
+
+  /**
+   * @param buffer the buffer to append the fields to
+   */
+  public BinaryWriter(Buffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * @return the buffer the fields are appended to
+   */
+  public Buffer buffer() {
+    return buffer;
+  }
+
+  /**
+   * Write whether {@code value} is present, the value itself must then be written only when it is.
+   *
+   * @return {@code true} when {@code value} is not {@code null}
+   */
+  public boolean writePresent(Object value) {
+    buffer.appendByte(value == null ? (byte) 0 : (byte) 1);
+    return value != null;
+  }
+
+  public void writeInt(int value) {
+    buffer.appendInt(value);
+  }
+
+  public void writeLong(long value) {
+    buffer.appendLong(value);
+  }
+
+  public void writeShort(short value) {
+    buffer.appendShort(value);
+  }
+
+  public void writeByte(byte value) {
+    buffer.appendByte(value);
+  }
+
+  public void writeFloat(float value) {
+    buffer.appendFloat(value);
+  }
+
+  public void writeDouble(double value) {
+    buffer.appendDouble(value);
+  }
+
+  public void writeBoolean(boolean value) {
+    buffer.appendByte(value ? (byte) 1 : (byte) 0);
+  }
+
+  public void writeChar(char value) {
+    buffer.appendShort((short) value);
+  }
+
+  public void writeString(String value) {
+    byte[] encoded = value.getBytes(CharsetUtil.UTF_8);
+    buffer.appendInt(encoded.length);
+    buffer.appendBytes(encoded);
+  }
+
+  public void writeBuffer(Buffer value) {
+    buffer.appendInt(value.length());
+    buffer.appendBuffer(value);
+  }
+
+  public void writeJsonObject(JsonObject value) {
+    writeString(value.encode());
+  }
+
+  public void writeJsonArray(JsonArray value) {
+    writeString(value.encode());
+  }
+
+  /**
+   * Write a value of a type without binary encoding, as json.
+   */
+  public void writeValue(Object value) {
+    writeJsonArray(new JsonArray().add(value));
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that a service method, or all the methods of a service interface, block the calling thread, for instance
+ * because they perform JDBC or file I/O. The service handler invokes them on a worker thread instead of the event loop,
+ * see {@link ExecutionMode#WORKER} and {@link ExecutionMode#ORDERED_WORKER}.
+ * <p>
+ * The worker pool and its queue are configured when the service is registered, see
+ * {@link ServiceOptions#setWorkerPoolName(String)}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Blocking {
+
+  /**
+   * @return whether the calls are executed one at a time in the order they were received
+   */
+  boolean ordered() default false;
+
+}
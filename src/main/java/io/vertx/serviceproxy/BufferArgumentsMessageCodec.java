@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.netty.util.CharsetUtil;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A MessageCodec for the positional arguments of a call having {@link Buffer} arguments, which a {@link JsonArray}
+ * cannot encode.
+ * <p>
+ * On the wire the buffers are written as length-prefixed bytes ahead of the json of the other arguments, and read
+ * back as slices of the received frame. Locally the arguments are passed as is, the proxies never reusing the
+ * arguments of a call, so that the buffers are not copied.
+ */
+public class BufferArgumentsMessageCodec implements MessageCodec<JsonArray, JsonArray> {
+
+  /**
+   * The name of the codec, to set on the delivery options of the calls having buffer arguments.
+   */
+  public static final String NAME = "BufferArguments";
+
+  @Override
+  public void encodeToWire(Buffer buffer, JsonArray body) {
+    List<?> values = body.getList();
+    List<Object> json = new ArrayList<>(values.size());
+    int count = 0;
+    for (Object value : values) {
+      if (value instanceof Buffer) {
+        count++;
+        json.add(null);
+      } else {
+        json.add(value);
+      }
+    }
+    buffer.appendInt(count);
+    for (int i = 0; i < values.size(); i++) {
+      Object value = values.get(i);
+      if (value instanceof Buffer) {
+        Buffer arg = (Buffer) value;
+        buffer.appendInt(i);
+        buffer.appendInt(arg.length());
+        buffer.appendBuffer(arg);
+      }
+    }
+    byte[] encoded = new JsonArray(json).encode().getBytes(CharsetUtil.UTF_8);
+    buffer.appendInt(encoded.length);
+    buffer.appendBytes(encoded);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public JsonArray decodeFromWire(int pos, Buffer buffer) {
+    int count = buffer.getInt(pos);
+    pos += 4;
+    int[] indexes = new int[count];
+    Buffer[] args = new Buffer[count];
+    for (int i = 0; i < count; i++) {
+      indexes[i] = buffer.getInt(pos);
+      int length = buffer.getInt(pos + 4);
+      pos += 8;
+      args[i] = buffer.slice(pos, pos + length);
+      pos += length;
+    }
+    int length = buffer.getInt(pos);
+    pos += 4;
+    JsonArray body = new JsonArray(buffer.getString(pos, pos + length, "UTF-8"));
+    List<Object> values = body.getList();
+    for (int i = 0; i < count; i++) {
+      values.set(indexes[i], args[i]);
+    }
+    return body;
+  }
+
+  @Override
+  public JsonArray transform(JsonArray body) {
+    return body;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * A MessageCodec for the {@link Buffer} results of the calls: on the wire the result is read back as a slice of the
+ * received frame, and locally the replied buffer is passed as is instead of being copied.
+ */
+public class BufferResultMessageCodec implements MessageCodec<Buffer, Buffer> {
+
+  /**
+   * The name of the codec, to set on the delivery options of the replies of buffer results.
+   */
+  public static final String NAME = "BufferResult";
+
+  @Override
+  public void encodeToWire(Buffer buffer, Buffer body) {
+    buffer.appendInt(body.length());
+    buffer.appendBuffer(body);
+  }
+
+  @Override
+  public Buffer decodeFromWire(int pos, Buffer buffer) {
+    int length = buffer.getInt(pos);
+    return buffer.slice(pos + 4, pos + 4 + length);
+  }
+
+  @Override
+  public Buffer transform(Buffer body) {
+    return body;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The consumer of an invalidation address of the {@link Cacheable} methods, registered once per vert.x instance and
+ * address whatever the number of proxies, and dispatching the evictions to the proxies using the address.
+ * <p>
+ * The proxies are held weakly, so that the proxies dropped without being closed, and their caches, can be collected.
+ * The consumer is unregistered when the last proxy using the address is closed.
+ */
+final class CacheInvalidations implements Shareable {
+
+  private static final String MAP_NAME = "__vertx.serviceproxy.invalidations";
+  private static final Object LOCK = new Object();
+
+  private final MessageConsumer<JsonObject> consumer;
+  private final Set<ServiceRouter> routers = Collections.newSetFromMap(new WeakHashMap<>());
+
+  private CacheInvalidations(Vertx vertx, String address) {
+    // The handler must not hold the routers, only the weak set does
+    consumer = vertx.eventBus().<JsonObject>consumer(address).handler(msg -> {
+      ServiceRouter[] current;
+      synchronized (LOCK) {
+        current = routers.toArray(new ServiceRouter[routers.size()]);
+      }
+      for (ServiceRouter router : current) {
+        router.invalidate(address, msg.body());
+      }
+    });
+  }
+
+  /**
+   * Dispatch the evictions published on {@code address} to {@code router}.
+   */
+  static void register(Vertx vertx, String address, ServiceRouter router) {
+    LocalMap<String, CacheInvalidations> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    synchronized (LOCK) {
+      CacheInvalidations invalidations = map.get(address);
+      if (invalidations == null) {
+        invalidations = new CacheInvalidations(vertx, address);
+        map.put(address, invalidations);
+      }
+      invalidations.routers.add(router);
+    }
+  }
+
+  /**
+   * Stop dispatching the evictions published on {@code address} to {@code router}.
+   */
+  static void unregister(Vertx vertx, String address, ServiceRouter router) {
+    LocalMap<String, CacheInvalidations> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    synchronized (LOCK) {
+      CacheInvalidations invalidations = map.get(address);
+      if (invalidations != null && invalidations.routers.remove(router) && invalidations.routers.isEmpty()) {
+        map.remove(address);
+        invalidations.consumer.unregister();
+      }
+    }
+  }
+}
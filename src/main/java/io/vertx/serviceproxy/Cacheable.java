@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Declares that the result of a service method only depends on its arguments, so that the generated proxy can serve
+ * repeated calls with the same arguments from a bounded in-memory cache, without sending them to the service.
+ * <p>
+ * Only successful results are cached. Each proxy has its own cache, so the proxy should be created once and reused.
+ * The service can evict the cached results of all the proxies by publishing on the {@link #invalidationAddress()},
+ * see {@link ResultCache#invalidate(io.vertx.core.Vertx, String, String)}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+
+  /**
+   * @return how long a result is served from the cache, in {@link #timeUnit()}
+   */
+  long ttl() default 60;
+
+  /**
+   * @return the unit of the {@link #ttl()}
+   */
+  TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+  /**
+   * @return the maximum size of the cached results of the method, in bytes of their encoded form; the least recently
+   * used results are evicted above it
+   */
+  long maxSize() default 1024 * 1024;
+
+  /**
+   * @return the address on which the service publishes evictions, or an empty string when the results are only
+   * evicted when they expire
+   */
+  String invalidationAddress() default "";
+
+}
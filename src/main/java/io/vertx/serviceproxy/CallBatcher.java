@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the calls of a {@link Batched} method received by a service handler and invokes the bulk method once per
+ * batch. The calls are received on the context of the handler consumer, so a batcher is only used by one thread.
+ */
+final class CallBatcher {
+
+  private static final ClassValue<Map<String, Batched>> BATCHED_METHODS = new ClassValue<Map<String, Batched>>() {
+    @Override
+    protected Map<String, Batched> computeValue(Class<?> type) {
+      Map<String, Batched> methods = new HashMap<>();
+      for (Method method : type.getMethods()) {
+        Batched batched = method.getAnnotation(Batched.class);
+        if (batched != null && !Modifier.isStatic(method.getModifiers())) {
+          if (method.getParameterCount() != 2) {
+            throw new IllegalStateException("Batched method " + method.getName()
+              + " must have one parameter besides its result handler");
+          }
+          Method bulk = bulkMethod(type, batched.method());
+          if (bulk == null || bulk.getParameterCount() != 2
+            || !Collection.class.isAssignableFrom(bulk.getParameterTypes()[0])) {
+            throw new IllegalStateException("Bulk method " + batched.method() + " of " + method.getName()
+              + " must take a list of the arguments besides its result handler");
+          }
+          methods.put(method.getName(), batched);
+        }
+      }
+      return methods.isEmpty() ? Collections.emptyMap() : methods;
+    }
+  };
+
+  private final Vertx vertx;
+  private final ProxyHandler handler;
+  private final String action;
+  private final String bulkAction;
+  private final int maxSize;
+  private final long maxDelay;
+  private List<Message<JsonObject>> pending = new ArrayList<>();
+  private long timerID = -1;
+
+  CallBatcher(Vertx vertx, ProxyHandler handler, String action, Batched batched) {
+    this.vertx = vertx;
+    this.handler = handler;
+    this.action = action;
+    this.bulkAction = batched.method();
+    this.maxSize = batched.maxSize();
+    // Vert.x timers cannot be shorter than a millisecond
+    this.maxDelay = Math.max(1, batched.timeUnit().toMillis(batched.maxDelay()));
+  }
+
+  /**
+   * @return the {@link Batched} methods of the service interface, by name
+   */
+  static Map<String, Batched> batchedMethods(Class<?> clazz) {
+    return BATCHED_METHODS.get(clazz);
+  }
+
+  private static Method bulkMethod(Class<?> clazz, String name) {
+    for (Method method : clazz.getMethods()) {
+      if (method.getName().equals(name) && !Modifier.isStatic(method.getModifiers())) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  void add(Message<JsonObject> msg) {
+    pending.add(msg);
+    if (pending.size() >= maxSize) {
+      flush();
+    } else if (timerID == -1) {
+      timerID = vertx.setTimer(maxDelay, id -> {
+        timerID = -1;
+        flush();
+      });
+    }
+  }
+
+  /**
+   * Invoke the bulk method for the calls collected so far.
+   */
+  void flush() {
+    if (timerID != -1) {
+      vertx.cancelTimer(timerID);
+      timerID = -1;
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<Message<JsonObject>> batch = pending;
+    pending = new ArrayList<>();
+    String[] names = handler.parameterNames(action);
+    String[] bulkNames = handler.parameterNames(bulkAction);
+    if (names == null || bulkNames == null) {
+      ServiceException failure = new ServiceException(500, "No parameter names for " + action + " or " + bulkAction);
+      batch.forEach(msg -> msg.reply(failure));
+      return;
+    }
+    List<Object> args = new ArrayList<>(batch.size());
+    for (Message<JsonObject> msg : batch) {
+      args.add(msg.body().getValue(names[0]));
+    }
+    JsonObject body = new JsonObject().put(bulkNames[0], new JsonArray(args));
+    handler.execute(bulkAction, new BatchMessage(bulkAction, body, batch));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+/**
+ * How a proxy encodes the arguments of its calls, see {@link ProxyOptions#setProtocol(CallProtocol)}.
+ * <p>
+ * Every service handler understands the {@link #KEYED} encoding. The other encodings are understood by the handlers
+ * generated by this version of the service proxies or a later one, so a proxy must only use them once every instance
+ * of the service it calls has been upgraded.
+ */
+public enum CallProtocol {
+
+  /**
+   * The arguments are sent as a {@link io.vertx.core.json.JsonObject} keyed by the names of the parameters.
+   */
+  KEYED(null),
+
+  /**
+   * The arguments are sent as a {@link io.vertx.core.json.JsonArray} in the declaration order of the parameters,
+   * see {@link ProxyHandler#POSITIONAL_PROTOCOL}.
+   */
+  POSITIONAL(ProxyHandler.POSITIONAL_PROTOCOL),
+
+  /**
+   * The positional encoding with packed numeric collections, in the arguments and in the reply, see
+   * {@link ProxyHandler#PACKED_PROTOCOL}.
+   */
+  PACKED(ProxyHandler.PACKED_PROTOCOL),
+
+  /**
+   * The packed encoding with the {@link BinaryEncoded} data objects written by their generated
+   * {@link DataObjectCodec}, in the arguments and in the reply, see {@link ProxyHandler#BINARY_PROTOCOL}.
+   */
+  BINARY(ProxyHandler.BINARY_PROTOCOL);
+
+  final String header;
+
+  CallProtocol(String header) {
+    this.header = header;
+  }
+}
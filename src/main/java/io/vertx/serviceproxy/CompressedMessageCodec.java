@@ -0,0 +1,315 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A MessageCodec compressing the bodies of the calls and of the replies above a size threshold, for the proxies and
+ * the services configured with {@link ProxyOptions#setCompressionThreshold(int)} and
+ * {@link ServiceOptions#setCompressionThreshold(int)}.
+ * <p>
+ * On the wire the body is written with a flag telling whether it is compressed, the kind of body, and its encoding,
+ * compressed with DEFLATE at its fastest level when the encoding is at least as large as the threshold. The json
+ * bodies whose estimated size is below the threshold are not sent with this codec, so that they are never encoded
+ * twice. Locally the json bodies are copied as the default codecs copy them while the buffers are passed as is, so that
+ * the calls between the proxies and the services of the same node are never compressed.
+ */
+public class CompressedMessageCodec implements MessageCodec<CompressedMessageCodec.Compressible, Object> {
+
+  /**
+   * The name of the codec.
+   */
+  public static final String NAME = "Compressed";
+
+  private static final byte PLAIN = 0;
+  private static final byte DEFLATED = 1;
+
+  private static final byte JSON_OBJECT = 0;
+  private static final byte JSON_ARRAY = 1;
+  private static final byte BUFFER_ARGUMENTS = 2;
+  private static final byte BUFFER = 3;
+  private static final byte BYTES = 4;
+  private static final byte STRING = 5;
+
+  /**
+   * A body sent with this codec, with its kind and the size above which it is compressed.
+   */
+  static final class Compressible {
+
+    final Object body;
+    final byte kind;
+    final int threshold;
+
+    private Compressible(Object body, byte kind, int threshold) {
+      this.body = body;
+      this.kind = kind;
+      this.threshold = threshold;
+    }
+  }
+
+  /**
+   * @param body      the body to send
+   * @param codecName the name of the codec the body would be sent with, or {@code null} for the default codec
+   * @param threshold the size above which the body is compressed, {@code 0} when compression is disabled
+   * @return the body to send with this codec, or {@code null} when the body cannot be compressed or is estimated to be
+   * smaller than the threshold
+   */
+  static Compressible compressible(Object body, String codecName, int threshold) {
+    if (threshold <= 0 || body == null) {
+      return null;
+    }
+    if (codecName == null) {
+      if (body instanceof JsonObject) {
+        return estimate(body, threshold) < threshold ? null : new Compressible(body, JSON_OBJECT, threshold);
+      } else if (body instanceof JsonArray) {
+        return estimate(body, threshold) < threshold ? null : new Compressible(body, JSON_ARRAY, threshold);
+      } else if (body instanceof Buffer) {
+        return ((Buffer) body).length() < threshold ? null : new Compressible(body, BUFFER, threshold);
+      } else if (body instanceof byte[]) {
+        return ((byte[]) body).length < threshold ? null : new Compressible(body, BYTES, threshold);
+      } else if (body instanceof String) {
+        // An UTF-8 character is at most 3 bytes
+        return ((String) body).length() * 3L < threshold ? null : new Compressible(body, STRING, threshold);
+      }
+    } else if (BufferArgumentsMessageCodec.NAME.equals(codecName) && body instanceof JsonArray) {
+      return estimate(body, threshold) < threshold ? null : new Compressible(body, BUFFER_ARGUMENTS, threshold);
+    } else if (BufferResultMessageCodec.NAME.equals(codecName) && body instanceof Buffer) {
+      return ((Buffer) body).length() < threshold ? null : new Compressible(body, BUFFER, threshold);
+    }
+    return null;
+  }
+
+  /**
+   * @param body      the body to send
+   * @param codecName the name of the codec the body would be sent with, or {@code null} for the default codec
+   * @return the body to send with this codec without ever being compressed, or {@code null} when the codec cannot
+   * send the body
+   */
+  static Compressible uncompressed(Object body, String codecName) {
+    Compressible compressible = compressible(body, codecName, 1);
+    return compressible == null ? null : new Compressible(body, compressible.kind, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Estimate the encoded size of a body, walking it rather than encoding it. The estimate is an upper bound but for
+   * the escaped characters, and the walk stops once the estimate reaches {@code limit}.
+   */
+  private static long estimate(Object value, long limit) {
+    if (value instanceof JsonObject) {
+      value = ((JsonObject) value).getMap();
+    } else if (value instanceof JsonArray) {
+      value = ((JsonArray) value).getList();
+    }
+    if (value instanceof Map) {
+      long size = 2;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        size += 3L * String.valueOf(entry.getKey()).length() + 4;
+        size += estimate(entry.getValue(), limit - size);
+        if (size >= limit) {
+          break;
+        }
+      }
+      return size;
+    } else if (value instanceof List) {
+      long size = 2;
+      for (Object element : (List<?>) value) {
+        size += 1 + estimate(element, limit - size);
+        if (size >= limit) {
+          break;
+        }
+      }
+      return size;
+    } else if (value instanceof String) {
+      // An UTF-8 character is at most 3 bytes
+      return 3L * ((String) value).length() + 2;
+    } else if (value instanceof Buffer) {
+      // A buffer argument is written with its index and its length
+      return ((Buffer) value).length() + 8;
+    } else if (value instanceof byte[]) {
+      // Json writes the bytes in base64
+      return 4L * ((((byte[]) value).length + 2) / 3) + 2;
+    } else if (value == null) {
+      return 4;
+    }
+    return 32;
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, Compressible compressible) {
+    Buffer encoded = encode(compressible);
+    if (encoded.length() >= compressible.threshold) {
+      byte[] deflated = deflate(encoded.getBytes());
+      if (deflated.length < encoded.length()) {
+        buffer.appendByte(DEFLATED);
+        buffer.appendByte(compressible.kind);
+        buffer.appendInt(encoded.length());
+        buffer.appendInt(deflated.length);
+        buffer.appendBytes(deflated);
+        return;
+      }
+    }
+    buffer.appendByte(PLAIN);
+    buffer.appendByte(compressible.kind);
+    buffer.appendInt(encoded.length());
+    buffer.appendBuffer(encoded);
+  }
+
+  @Override
+  public Object decodeFromWire(int pos, Buffer buffer) {
+    boolean deflated = buffer.getByte(pos) == DEFLATED;
+    byte kind = buffer.getByte(pos + 1);
+    int length = buffer.getInt(pos + 2);
+    pos += 6;
+    Buffer encoded;
+    if (deflated) {
+      int deflatedLength = buffer.getInt(pos);
+      pos += 4;
+      encoded = Buffer.buffer(inflate(buffer.getBytes(pos, pos + deflatedLength), length));
+    } else {
+      encoded = buffer.slice(pos, pos + length);
+    }
+    switch (kind) {
+      case JSON_OBJECT:
+        return new JsonObject(encoded);
+      case JSON_ARRAY:
+        return new JsonArray(encoded);
+      case BUFFER_ARGUMENTS:
+        return new BufferArgumentsMessageCodec().decodeFromWire(0, encoded);
+      case BUFFER:
+        return encoded;
+      case BYTES:
+        return encoded.getBytes();
+      case STRING:
+        return encoded.toString("UTF-8");
+      default:
+        throw new IllegalStateException("Unknown body kind " + kind);
+    }
+  }
+
+  private static Buffer encode(Compressible compressible) {
+    switch (compressible.kind) {
+      case JSON_OBJECT:
+        return Buffer.buffer(((JsonObject) compressible.body).encode());
+      case JSON_ARRAY:
+        return Buffer.buffer(((JsonArray) compressible.body).encode());
+      case BUFFER_ARGUMENTS:
+        Buffer encoded = Buffer.buffer();
+        new BufferArgumentsMessageCodec().encodeToWire(encoded, (JsonArray) compressible.body);
+        return encoded;
+      case BUFFER:
+        return (Buffer) compressible.body;
+      case BYTES:
+        return Buffer.buffer((byte[]) compressible.body);
+      default:
+        return Buffer.buffer((String) compressible.body);
+    }
+  }
+
+  private static byte[] deflate(byte[] bytes) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(chunk);
+        out.write(chunk, 0, count);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] deflated, int length) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(deflated);
+      byte[] bytes = new byte[length];
+      int count = 0;
+      while (count < length && !inflater.finished()) {
+        int inflated = inflater.inflate(bytes, count, length - count);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        count += inflated;
+      }
+      if (count != length) {
+        throw new IllegalStateException("Truncated compressed body");
+      }
+      return bytes;
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupted compressed body", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  @Override
+  public Object transform(Compressible compressible) {
+    switch (compressible.kind) {
+      case JSON_OBJECT:
+        return ((JsonObject) compressible.body).copy();
+      case JSON_ARRAY:
+        return ((JsonArray) compressible.body).copy();
+      case BUFFER_ARGUMENTS:
+        // The array getters would reject the buffer arguments, which are not copied
+        List<?> args = ((JsonArray) compressible.body).getList();
+        List<Object> copy = new ArrayList<>(args.size());
+        for (Object arg : args) {
+          if (arg instanceof JsonObject) {
+            copy.add(((JsonObject) arg).copy());
+          } else if (arg instanceof JsonArray) {
+            copy.add(((JsonArray) arg).copy());
+          } else if (arg instanceof byte[]) {
+            copy.add(((byte[]) arg).clone());
+          } else {
+            copy.add(arg);
+          }
+        }
+        return new JsonArray(copy);
+      case BYTES:
+        return ((byte[]) compressible.body).clone();
+      default:
+        return compressible.body;
+    }
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
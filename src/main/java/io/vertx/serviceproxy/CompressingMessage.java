@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The message of a call to a service registered with {@link ServiceOptions#setCompressionThreshold(int)}: its
+ * replies are sent with the {@link CompressedMessageCodec} when they can be compressed.
+ */
+final class CompressingMessage implements Message<JsonObject> {
+
+  private final Message<JsonObject> msg;
+  private final int threshold;
+
+  CompressingMessage(Message<JsonObject> msg, int threshold) {
+    this.msg = msg;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public String address() {
+    return msg.address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return msg.headers();
+  }
+
+  @Override
+  public JsonObject body() {
+    return msg.body();
+  }
+
+  @Override
+  public String replyAddress() {
+    return msg.replyAddress();
+  }
+
+  @Override
+  public boolean isSend() {
+    return msg.isSend();
+  }
+
+  @Override
+  public void reply(Object message) {
+    CompressedMessageCodec.Compressible compressible = CompressedMessageCodec.compressible(message, null, threshold);
+    if (compressible == null) {
+      msg.reply(message);
+    } else {
+      msg.reply(compressible, new DeliveryOptions().setCodecName(CompressedMessageCodec.NAME));
+    }
+  }
+
+  @Override
+  public <R> void reply(Object message, Handler<AsyncResult<Message<R>>> replyHandler) {
+    CompressedMessageCodec.Compressible compressible = CompressedMessageCodec.compressible(message, null, threshold);
+    if (compressible == null) {
+      msg.reply(message, replyHandler);
+    } else {
+      msg.reply(compressible, new DeliveryOptions().setCodecName(CompressedMessageCodec.NAME), replyHandler);
+    }
+  }
+
+  @Override
+  public void reply(Object message, DeliveryOptions options) {
+    CompressedMessageCodec.Compressible compressible = CompressedMessageCodec.compressible(message,
+      options.getCodecName(), threshold);
+    if (compressible == null) {
+      msg.reply(message, options);
+    } else {
+      msg.reply(compressible, new DeliveryOptions(options).setCodecName(CompressedMessageCodec.NAME));
+    }
+  }
+
+  @Override
+  public <R> void reply(Object message, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+    CompressedMessageCodec.Compressible compressible = CompressedMessageCodec.compressible(message,
+      options.getCodecName(), threshold);
+    if (compressible == null) {
+      msg.reply(message, options, replyHandler);
+    } else {
+      msg.reply(compressible, new DeliveryOptions(options).setCodecName(CompressedMessageCodec.NAME), replyHandler);
+    }
+  }
+
+  @Override
+  public void fail(int failureCode, String message) {
+    msg.fail(failureCode, message);
+  }
+}
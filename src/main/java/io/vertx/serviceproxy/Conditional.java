@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that a service method is polled, so that the service does not send again a result the proxy already has.
+ * <p>
+ * The service handler tags each result with its version, supplied by a service implementing {@link ResultVersions},
+ * or else with a digest of the result. The generated proxy keeps the last result of the
+ * calls with the same arguments along with its tag, and sends the tag with the next such call: the handler replies
+ * that the result is not modified instead of sending it when the new result has the same tag, and the proxy serves
+ * a copy of the result it kept. Only the last result of the {@link #maxEntries()} most recently used arguments is
+ * kept.
+ * <p>
+ * When the service supplies the version, the handler replies that the result is not modified without invoking the
+ * method. Otherwise the method is invoked and only the encoding and the transfer of an unmodified result are saved.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Conditional {
+
+  /**
+   * @return the number of arguments of the method whose last result is kept by a proxy; the least recently used
+   * are evicted above it
+   */
+  int maxEntries() default 1024;
+
+}
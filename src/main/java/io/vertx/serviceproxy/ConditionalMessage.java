@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The message of a call of a {@link Conditional} method: its replies are tagged with their version, and replaced by
+ * an empty reply when the caller already has the result with the same tag.
+ */
+final class ConditionalMessage implements Message<JsonObject> {
+
+  private final Message<JsonObject> msg;
+  private final String ifNoneMatch;
+  private final String versionTag;
+
+  /**
+   * @param versionTag the tag of the version of the result supplied by the service, or {@code null} to tag the
+   *                   result with its digest
+   */
+  ConditionalMessage(Message<JsonObject> msg, String versionTag) {
+    this.msg = msg;
+    this.ifNoneMatch = msg.headers().get(ProxyHandler.IF_NONE_MATCH_HEADER);
+    this.versionTag = versionTag;
+  }
+
+  @Override
+  public String address() {
+    return msg.address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return msg.headers();
+  }
+
+  @Override
+  public JsonObject body() {
+    return msg.body();
+  }
+
+  @Override
+  public String replyAddress() {
+    return msg.replyAddress();
+  }
+
+  @Override
+  public boolean isSend() {
+    return msg.isSend();
+  }
+
+  @Override
+  public void reply(Object message) {
+    reply(message, new DeliveryOptions());
+  }
+
+  @Override
+  public <R> void reply(Object message, Handler<AsyncResult<Message<R>>> replyHandler) {
+    reply(message, new DeliveryOptions(), replyHandler);
+  }
+
+  @Override
+  public void reply(Object message, DeliveryOptions options) {
+    String tag = tag(message);
+    if (tag == null) {
+      msg.reply(message, options);
+    } else if (tag.equals(ifNoneMatch)) {
+      msg.reply(null, new DeliveryOptions().addHeader(ProxyHandler.NOT_MODIFIED_HEADER, tag));
+    } else {
+      msg.reply(message, new DeliveryOptions(options).addHeader(ProxyHandler.VERSION_TAG_HEADER, tag));
+    }
+  }
+
+  @Override
+  public <R> void reply(Object message, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+    String tag = tag(message);
+    if (tag == null) {
+      msg.reply(message, options, replyHandler);
+    } else if (tag.equals(ifNoneMatch)) {
+      msg.reply(null, new DeliveryOptions().addHeader(ProxyHandler.NOT_MODIFIED_HEADER, tag), replyHandler);
+    } else {
+      msg.reply(message, new DeliveryOptions(options).addHeader(ProxyHandler.VERSION_TAG_HEADER, tag), replyHandler);
+    }
+  }
+
+  private String tag(Object message) {
+    if (message instanceof Throwable) {
+      return null;
+    }
+    return versionTag != null ? versionTag : VersionTags.tag(message);
+  }
+
+  @Override
+  public void fail(int failureCode, String message) {
+    msg.fail(failureCode, message);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An immutable consistent-hash ring over a set of service instances, each instance being placed on the ring at
+ * several points (virtual nodes) to spread the keys evenly.
+ */
+final class ConsistentHashRing {
+
+  final ServiceInstances.Instance[] source;
+  private final long[] points;
+  private final ServiceInstances.Instance[] owners;
+
+  ConsistentHashRing(ServiceInstances.Instance[] source, int virtualNodes) {
+    this.source = source;
+    int size = source.length * virtualNodes;
+    long[] hashes = new long[size];
+    int[] indexes = new int[size];
+    int pos = 0;
+    for (int i = 0; i < source.length; i++) {
+      for (int j = 0; j < virtualNodes; j++) {
+        hashes[pos] = hash(source[i].address + "#" + j);
+        indexes[pos] = i;
+        pos++;
+      }
+    }
+    // Sort the points and their owners together
+    long[] sorted = new long[size];
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+    ServiceInstances.Instance[] sortedOwners = new ServiceInstances.Instance[size];
+    for (int i = 0; i < size; i++) {
+      sorted[i] = hashes[order[i]];
+      sortedOwners[i] = source[indexes[order[i]]];
+    }
+    this.points = sorted;
+    this.owners = sortedOwners;
+  }
+
+  /**
+   * @return the instance owning {@code key}, i.e the first instance found clockwise from the hash of the key, or
+   * {@code null} when the ring is empty
+   */
+  ServiceInstances.Instance lookup(String key) {
+    if (points.length == 0) {
+      return null;
+    }
+    int pos = Arrays.binarySearch(points, hash(key));
+    if (pos < 0) {
+      pos = -pos - 1;
+      if (pos == points.length) {
+        pos = 0;
+      }
+    }
+    return owners[pos];
+  }
+
+  /**
+   * 64-bit FNV-1a followed by the MurmurHash3 finalizer, so that close keys land far apart on the ring.
+   */
+  static long hash(String key) {
+    byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+    long h = 0xcbf29ce484222325L;
+    for (byte b : bytes) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The message of a call invoked outside of vert.x threads, for instance on a virtual thread: the reply, or the
+ * failure, is sent from the context of the service consumer.
+ */
+final class ContextMessage implements Message<JsonObject> {
+
+  private final Context context;
+  private final Message<JsonObject> msg;
+
+  ContextMessage(Context context, Message<JsonObject> msg) {
+    this.context = context;
+    this.msg = msg;
+  }
+
+  @Override
+  public String address() {
+    return msg.address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return msg.headers();
+  }
+
+  @Override
+  public JsonObject body() {
+    return msg.body();
+  }
+
+  @Override
+  public String replyAddress() {
+    return msg.replyAddress();
+  }
+
+  @Override
+  public boolean isSend() {
+    return msg.isSend();
+  }
+
+  @Override
+  public void reply(Object message) {
+    context.runOnContext(v -> msg.reply(message));
+  }
+
+  @Override
+  public <R> void reply(Object message, Handler<AsyncResult<Message<R>>> replyHandler) {
+    context.runOnContext(v -> msg.reply(message, replyHandler));
+  }
+
+  @Override
+  public void reply(Object message, DeliveryOptions options) {
+    context.runOnContext(v -> msg.reply(message, options));
+  }
+
+  @Override
+  public <R> void reply(Object message, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+    context.runOnContext(v -> msg.reply(message, options, replyHandler));
+  }
+
+  @Override
+  public void fail(int failureCode, String message) {
+    context.runOnContext(v -> msg.fail(failureCode, message));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.function.Function;
+
+/**
+ * The binary encoding of a data object, written field by field from its getters and read back with its setters
+ * instead of going through its {@link JsonObject} form.
+ * <p>
+ * The codecs are generated for the concrete data objects annotated with {@link BinaryEncoded}, as the class named
+ * after the data object followed by {@code BinaryCodec}. The generated proxies and handlers use the codec of a data
+ * object when it is on their classpath and fall back to its json form otherwise.
+ * <p>
+ * The encoding starts with the {@link #FORMAT} version and the {@link #schema()} of the codec, so that a data object
+ * encoded by another version of its class is rejected instead of being read wrongly.
+ *
+ * @param <T> the type of the data object
+ */
+public interface DataObjectCodec<T> {
+
+  /**
+   * The version of the layout of the encoding.
+   */
+  byte FORMAT = 1;
+
+  /**
+   * @return the fingerprint of the properties written by the codec, which changes when they change
+   */
+  int schema();
+
+  /**
+   * Write the fields of {@code value}.
+   */
+  void encode(BinaryWriter writer, T value);
+
+  /**
+   * Read the fields written by {@link #encode(BinaryWriter, Object)}.
+   */
+  T decode(BinaryReader reader);
+
+  /**
+   * @param type the data object class
+   * @return the generated codec of {@code type}, or {@code null} when there is none
+   */
+  @SuppressWarnings("unchecked")
+  static <T> DataObjectCodec<T> lookup(Class<T> type) {
+    return (DataObjectCodec<T>) DataObjectCodecs.CODECS.get(type);
+  }
+
+  /**
+   * @return the binary encoding of {@code value} when {@code type} has a codec, its json form otherwise
+   */
+  static <T> Object encode(Class<T> type, T value, Function<T, JsonObject> toJson) {
+    if (value == null) {
+      return null;
+    }
+    DataObjectCodec<T> codec = lookup(type);
+    if (codec == null) {
+      return toJson.apply(value);
+    }
+    Buffer buffer = Buffer.buffer();
+    BinaryWriter writer = new BinaryWriter(buffer);
+    writer.writeByte(FORMAT);
+    writer.writeInt(codec.schema());
+    codec.encode(writer, value);
+    return buffer;
+  }
+
+  /**
+   * @param encoded the binary encoding or the json form of a data object
+   * @return the data object
+   */
+  static <T> T decode(Class<T> type, Object encoded, Function<JsonObject, T> fromJson) {
+    if (encoded instanceof Buffer) {
+      DataObjectCodec<T> codec = lookup(type);
+      if (codec == null) {
+        throw new IllegalStateException("No binary codec for " + type.getName());
+      }
+      BinaryReader reader = new BinaryReader((Buffer) encoded, 0);
+      byte format = reader.readByte();
+      int schema = reader.readInt();
+      if (format != FORMAT || schema != codec.schema()) {
+        throw new IllegalStateException("The binary form of " + type.getName()
+          + " was written by another version of the class");
+      }
+      return codec.decode(reader);
+    }
+    return encoded == null ? null : fromJson.apply((JsonObject) encoded);
+  }
+}
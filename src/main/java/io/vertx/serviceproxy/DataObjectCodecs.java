@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+/**
+ * The generated {@link DataObjectCodec}s of the {@link BinaryEncoded} data objects, looked up once per data object
+ * class.
+ */
+final class DataObjectCodecs {
+
+  static final ClassValue<DataObjectCodec<?>> CODECS = new ClassValue<DataObjectCodec<?>>() {
+    @Override
+    protected DataObjectCodec<?> computeValue(Class<?> type) {
+      if (!type.isAnnotationPresent(BinaryEncoded.class)) {
+        return null;
+      }
+      try {
+        Class<?> codecClass = Class.forName(type.getName() + "BinaryCodec", true, type.getClassLoader());
+        if (DataObjectCodec.class.isAssignableFrom(codecClass)) {
+          return (DataObjectCodec<?>) codecClass.newInstance();
+        }
+      } catch (ClassNotFoundException e) {
+        // The data object has no generated codec
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Cannot create the binary codec of " + type.getName(), e);
+      }
+      return null;
+    }
+  };
+
+  private DataObjectCodecs() {
+  }
+}
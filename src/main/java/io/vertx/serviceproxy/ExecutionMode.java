@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+/**
+ * Where the service handler invokes the service methods.
+ */
+public enum ExecutionMode {
+
+  /**
+   * Methods are invoked on the event loop of the service consumer, they must not block.
+   */
+  EVENT_LOOP,
+
+  /**
+   * Methods are invoked on a worker thread with {@code executeBlocking}, concurrent calls being executed in parallel.
+   */
+  WORKER,
+
+  /**
+   * Methods are invoked on a worker thread with {@code executeBlocking}, one call at a time in the order they were
+   * received.
+   */
+  ORDERED_WORKER,
+
+  /**
+   * Methods are invoked on a virtual thread of their own, so that blocking implementations do not need a sized worker
+   * pool. The replies are sent from the context of the service consumer. Runtimes without virtual threads use
+   * {@link #WORKER} instead.
+   */
+  VIRTUAL_THREAD
+
+}
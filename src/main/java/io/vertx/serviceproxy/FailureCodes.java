@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The registry of the failure codes declared with their message template, for the failures created with
+ * {@link ServiceException#coded(int, Object...)}.
+ * <p>
+ * Such failures are sent as their failure code and parameters only, the message being formatted from the template
+ * when it is read. The codes are declared once per JVM, on the service side and on the client side, typically in the
+ * static initializer of the class holding the failure code constants:
+ *
+ * <pre>
+ * public static final int BAD_SHOE_SIZE = 42;
+ *
+ * static {
+ *   FailureCodes.register(BAD_SHOE_SIZE, "The shoe size must be 9, not {0}");
+ * }
+ * </pre>
+ * The templates are {@link MessageFormat} patterns, the parameters being numbered in the order they are given. The
+ * parameters without format type, like {@code {0}}, are written as {@link String#valueOf(Object)} writes them,
+ * whatever the default locale, and the formatted parameters use {@link Locale#ROOT}.
+ */
+public final class FailureCodes {
+
+  private static final ConcurrentMap<Integer, String> TEMPLATES = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<Integer, MessageFormat> FORMATS = new ConcurrentHashMap<>();
+
+  /**
+   * The format of the parameters without format type, which {@link MessageFormat} would format with the number and
+   * date formats of its locale.
+   */
+  private static final Format PLAIN = new Format() {
+    @Override
+    public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+      return toAppendTo.append(obj);
+    }
+
+    @Override
+    public Object parseObject(String source, ParsePosition pos) {
+      throw new UnsupportedOperationException();
+    }
+  };
+
+  private FailureCodes() {
+  }
+
+  /**
+   * Declare a failure code.
+   *
+   * @param failureCode the failure code
+   * @param template    the message template
+   * @throws IllegalStateException when the code is already declared with another template
+   */
+  public static void register(int failureCode, String template) {
+    String previous = TEMPLATES.putIfAbsent(failureCode, template);
+    if (previous != null && !previous.equals(template)) {
+      throw new IllegalStateException("Failure code " + failureCode + " already registered with template " + previous);
+    }
+  }
+
+  /**
+   * @param failureCode the failure code
+   * @return the message template of the code, or {@code null} when the code is not declared
+   */
+  public static String template(int failureCode) {
+    return TEMPLATES.get(failureCode);
+  }
+
+  /**
+   * @return the message of the failure, or the code and the parameters when the code is not declared
+   */
+  static String format(int failureCode, Object[] parameters) {
+    String template = TEMPLATES.get(failureCode);
+    if (template == null) {
+      return "Failure " + failureCode + " " + Arrays.toString(parameters);
+    }
+    MessageFormat format = FORMATS.computeIfAbsent(failureCode, code -> parse(template));
+    // A message format is not thread safe
+    synchronized (format) {
+      return format.format(parameters);
+    }
+  }
+
+  private static MessageFormat parse(String template) {
+    MessageFormat format = new MessageFormat(template, Locale.ROOT);
+    Format[] formats = format.getFormats();
+    for (int i = 0; i < formats.length; i++) {
+      if (formats[i] == null) {
+        format.setFormat(i, PLAIN);
+      }
+    }
+    return format;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A call received by a relay, to forward to a service without decoding and encoding it through the generated
+ * handler and proxy.
+ * <p>
+ * The call exposes its action and its arguments as they were received: the arguments are not decoded, peeking at an
+ * argument only returns its encoding, e.g. a {@link Buffer} for a packed collection or a data
+ * object having a {@link DataObjectCodec}. Forwarding sends the received body and headers as is, the buffers of the
+ * body being handed over to the service without being copied when the service is on the same node, and relays the
+ * reply or the failure of the service to the caller, the failure keeping its type.
+ * <p>
+ * The relay must not use the body of the call once it is forwarded.
+ */
+public final class ForwardedCall {
+
+  // The vert.x instances the codec is registered on, so that it is not registered again on each call
+  private static final Set<Vertx> CODEC_REGISTERED = Collections.synchronizedSet(
+    Collections.newSetFromMap(new WeakHashMap<>()));
+
+  /**
+   * @param msg a call received on the address of a service
+   * @return the call
+   */
+  public static ForwardedCall of(Message<?> msg) {
+    return new ForwardedCall(msg);
+  }
+
+  private final Message<?> msg;
+
+  private ForwardedCall(Message<?> msg) {
+    this.msg = msg;
+  }
+
+  /**
+   * @return the action of the call, i.e the name of the called method
+   */
+  public String action() {
+    return msg.headers().get("action");
+  }
+
+  /**
+   * @return the headers of the call
+   */
+  public MultiMap headers() {
+    return msg.headers();
+  }
+
+  /**
+   * @return the arguments of the call as received: a {@link JsonObject} keyed by the names of the parameters when the
+   * call has no {@link ProxyHandler#PROTOCOL_HEADER protocol header}, a {@link JsonArray} in the declaration order of
+   * the parameters otherwise
+   */
+  public Object body() {
+    return msg.body();
+  }
+
+  /**
+   * Peek at an argument of the call, without decoding it.
+   *
+   * @param index the index of the parameter in the declaration order, for the positional encodings
+   * @param name  the name of the parameter, for the keyed encoding
+   * @return the encoding of the argument, or {@code null} when the call has no such argument
+   */
+  public Object argument(int index, String name) {
+    Object body = msg.body();
+    if (body instanceof JsonObject) {
+      return ((JsonObject) body).getMap().get(name);
+    } else if (body instanceof JsonArray) {
+      // The list holds the buffer arguments, which the array getters would reject
+      List<?> args = ((JsonArray) body).getList();
+      return index >= 0 && index < args.size() ? args.get(index) : null;
+    }
+    return null;
+  }
+
+  /**
+   * Forward the call to {@code address} and reply its caller with the reply or the failure of the service. A
+   * {@link ReplyException} is relayed as is, so that the caller gets e.g. a {@code NO_HANDLERS} failure when no
+   * service is registered on {@code address}.
+   *
+   * @param vertx   the vert.x instance
+   * @param address the address of the service
+   */
+  public void forward(Vertx vertx, String address) {
+    forward(vertx, address, ar -> {
+      if (ar.succeeded()) {
+        Message<Object> reply = ar.result();
+        DeliveryOptions options = new DeliveryOptions().setHeaders(reply.headers());
+        Object compressible = CompressedMessageCodec.uncompressed(reply.body(), null);
+        if (compressible == null) {
+          msg.reply(reply.body(), options);
+        } else {
+          msg.reply(compressible, options.setCodecName(CompressedMessageCodec.NAME));
+        }
+      } else if (ar.cause() instanceof ReplyException) {
+        // Replying the exception keeps its failure type, e.g. NO_HANDLERS or TIMEOUT, which failing would lose
+        msg.reply(ar.cause());
+      } else {
+        msg.reply(new ServiceException(-1, ar.cause().getMessage()));
+      }
+    });
+  }
+
+  /**
+   * Forward the call to {@code address}, the relay replying its caller.
+   *
+   * @param vertx        the vert.x instance
+   * @param address      the address of the service
+   * @param replyHandler the handler of the reply of the service
+   */
+  public void forward(Vertx vertx, String address, Handler<AsyncResult<Message<Object>>> replyHandler) {
+    if (CODEC_REGISTERED.add(vertx)) {
+      try {
+        vertx.eventBus().registerCodec(new CompressedMessageCodec());
+      } catch (IllegalStateException ex) {}
+    }
+    Object body = msg.body();
+    DeliveryOptions options = new DeliveryOptions().setHeaders(msg.headers());
+    // The codec passes the buffers as is to a local service, and never compresses the body
+    Object compressible = CompressedMessageCodec.uncompressed(body, bufferArguments(body)
+      ? BufferArgumentsMessageCodec.NAME : null);
+    if (compressible == null) {
+      vertx.eventBus().send(address, body, options, replyHandler);
+    } else {
+      vertx.eventBus().send(address, compressible, options.setCodecName(CompressedMessageCodec.NAME), replyHandler);
+    }
+  }
+
+  private static boolean bufferArguments(Object body) {
+    if (body instanceof JsonArray) {
+      for (Object arg : ((JsonArray) body).getList()) {
+        if (arg instanceof Buffer) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
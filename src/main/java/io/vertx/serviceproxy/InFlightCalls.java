@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The calls of {@link SingleFlight} methods in flight, each with the identical calls waiting for its result.
+ *
+ * @param <W> the type of the waiting calls
+ */
+final class InFlightCalls<W> {
+
+  private static final ClassValue<Set<String>> SINGLE_FLIGHT_METHODS = new ClassValue<Set<String>>() {
+    @Override
+    protected Set<String> computeValue(Class<?> type) {
+      Set<String> methods = new HashSet<>();
+      for (Method method : type.getMethods()) {
+        if (method.isAnnotationPresent(SingleFlight.class) && !Modifier.isStatic(method.getModifiers())) {
+          methods.add(method.getName());
+        }
+      }
+      return methods.isEmpty() ? Collections.emptySet() : methods;
+    }
+  };
+
+  private final Map<String, List<W>> calls = new HashMap<>();
+
+  /**
+   * @return the names of the {@link SingleFlight} methods of the service interface
+   */
+  static Set<String> singleFlightMethods(Class<?> clazz) {
+    return SINGLE_FLIGHT_METHODS.get(clazz);
+  }
+
+  /**
+   * @return the key identifying the calls of {@code action} with the arguments {@code args}
+   */
+  static String key(String action, JsonObject args) {
+    return action + ':' + ArgumentKeys.key(args);
+  }
+
+  /**
+   * @return the key identifying the calls of {@code action} with the positional arguments {@code args}
+   */
+  static String key(String action, JsonArray args) {
+    return action + ':' + ArgumentKeys.key(args);
+  }
+
+  /**
+   * Join the call in flight for {@code key}, or start a new one.
+   *
+   * @return {@code true} when {@code waiter} joined a call in flight, {@code false} when the caller must perform the
+   * call and then {@link #complete(String) complete} it
+   */
+  synchronized boolean join(String key, W waiter) {
+    List<W> waiters = calls.get(key);
+    if (waiters == null) {
+      calls.put(key, new ArrayList<>(0));
+      return false;
+    }
+    waiters.add(waiter);
+    return true;
+  }
+
+  /**
+   * Complete the call in flight for {@code key}, the calls joining afterwards start a new call.
+   *
+   * @return the calls that joined it
+   */
+  synchronized List<W> complete(String key) {
+    List<W> waiters = calls.remove(key);
+    return waiters == null ? Collections.emptyList() : waiters;
+  }
+}
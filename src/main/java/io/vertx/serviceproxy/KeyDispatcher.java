@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dispatches the calls of a service registered with {@link ServiceOptions#setKeyOrdered(boolean)} between its
+ * instances: the calls having the same value for their {@link RoutingKey} parameter are always handed to the same
+ * instance, and the calls without routing key are handed to the instances in turn.
+ * <p>
+ * Each instance runs the calls on its own context, and a context runs its tasks one at a time in the order they were
+ * submitted, so the calls sharing a routing key are executed in the order they were received, while the calls having
+ * different keys are executed in parallel. The dispatcher itself is the single consumer of the service address and
+ * is only called from its own context, it needs no lock.
+ */
+final class KeyDispatcher implements Handler<Message<JsonObject>> {
+
+  private final ProxyHandler[] handlers;
+  private final Context[] contexts;
+  private final Map<String, Integer> routingKeys;
+  private int next;
+
+  KeyDispatcher(Class<?> clazz, List<ProxyHandler> handlers, List<Context> contexts) {
+    this.handlers = handlers.toArray(new ProxyHandler[handlers.size()]);
+    this.contexts = contexts.toArray(new Context[contexts.size()]);
+    this.routingKeys = ServiceRouter.routingKeys(clazz);
+  }
+
+  @Override
+  public void handle(Message<JsonObject> msg) {
+    int partition = partition(msg);
+    ProxyHandler handler = handlers[partition];
+    contexts[partition].runOnContext(v -> handler.handle(msg));
+  }
+
+  private int partition(Message<JsonObject> msg) {
+    String action = msg.headers().get("action");
+    Integer index = action == null ? null : routingKeys.get(action);
+    if (index != null) {
+      Object key = routingKey(action, index, ((Message<?>) msg).body());
+      if (key != null) {
+        // The string form is stable whatever the numeric type the value was decoded to
+        return Math.floorMod(spread(key.toString().hashCode()), handlers.length);
+      }
+    }
+    int partition = next;
+    next = partition + 1 == handlers.length ? 0 : partition + 1;
+    return partition;
+  }
+
+  private Object routingKey(String action, int index, Object body) {
+    if (body instanceof JsonArray) {
+      // Positional encoding
+      JsonArray args = (JsonArray) body;
+      return index < args.size() ? args.getValue(index) : null;
+    }
+    if (body instanceof JsonObject) {
+      String[] names = handlers[0].parameterNames(action);
+      return names == null ? null : ((JsonObject) body).getValue(names[index]);
+    }
+    return null;
+  }
+
+  private static int spread(int hash) {
+    // Keys often differ in their last characters only, mix the high bits in
+    return hash ^ (hash >>> 16);
+  }
+}
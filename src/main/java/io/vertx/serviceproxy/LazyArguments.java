@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The collection arguments of the services registered with {@link ServiceOptions#setLazyArguments(boolean)}: views
+ * decoding the argument from the message on their first access, so that the implementations returning before looking
+ * at an argument do not pay for its decoding.
+ * <p>
+ * The decoded collection is kept, the views can be modified and accessed from any thread like the collections
+ * decoded eagerly.
+ */
+final class LazyArguments {
+
+  private LazyArguments() {
+  }
+
+  /**
+   * The decoding of an argument, done once.
+   */
+  private static final class Decoded<T> {
+
+    private Supplier<T> decoder;
+    private volatile T value;
+
+    Decoded(Supplier<T> decoder) {
+      this.decoder = decoder;
+    }
+
+    T get() {
+      T current = value;
+      if (current == null) {
+        synchronized (this) {
+          current = value;
+          if (current == null) {
+            current = decoder.get();
+            value = current;
+            // Release the message
+            decoder = null;
+          }
+        }
+      }
+      return current;
+    }
+  }
+
+  static final class LazyList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Decoded<List<T>> list;
+
+    LazyList(Supplier<List<T>> decoder) {
+      this.list = new Decoded<>(decoder);
+    }
+
+    @Override
+    public T get(int index) {
+      return list.get().get(index);
+    }
+
+    @Override
+    public int size() {
+      return list.get().size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+      return list.get().set(index, element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+      list.get().add(index, element);
+    }
+
+    @Override
+    public T remove(int index) {
+      return list.get().remove(index);
+    }
+  }
+
+  static final class LazySet<T> extends AbstractSet<T> {
+
+    private final Decoded<Set<T>> set;
+
+    LazySet(Supplier<Set<T>> decoder) {
+      this.set = new Decoded<>(decoder);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return set.get().iterator();
+    }
+
+    @Override
+    public int size() {
+      return set.get().size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return set.get().contains(o);
+    }
+
+    @Override
+    public boolean add(T element) {
+      return set.get().add(element);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      return set.get().remove(o);
+    }
+  }
+
+  static final class LazyMap<V> extends AbstractMap<String, V> {
+
+    private final Decoded<Map<String, V>> map;
+
+    LazyMap(Supplier<Map<String, V>> decoder) {
+      this.map = new Decoded<>(decoder);
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+      return map.get().entrySet();
+    }
+
+    @Override
+    public int size() {
+      return map.get().size();
+    }
+
+    @Override
+    public V get(Object key) {
+      return map.get().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return map.get().containsKey(key);
+    }
+
+    @Override
+    public V put(String key, V value) {
+      return map.get().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+      return map.get().remove(key);
+    }
+  }
+}
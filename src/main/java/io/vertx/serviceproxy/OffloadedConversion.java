@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Converts the elements of the large collections of data objects to json and back away from the event loop, for
+ * the services and the proxies configured with {@link ServiceOptions#setOffloadThreshold(int)} and
+ * {@link ProxyOptions#setOffloadThreshold(int)}.
+ * <p>
+ * The collections at least as large as the threshold are converted on a worker thread, in parallel on the fork/join
+ * common pool when they have at least {@value #PARALLEL_THRESHOLD} elements, and the result is handled on the
+ * context of the caller once converted. The smaller collections, and the collections converted outside of an event
+ * loop, are converted by the calling thread.
+ */
+public final class OffloadedConversion {
+
+  /**
+   * The number of elements from which an offloaded collection is converted in parallel.
+   */
+  public static final int PARALLEL_THRESHOLD = 10_000;
+
+  private OffloadedConversion() {
+  }
+
+  /**
+   * Convert the elements of {@code values}.
+   *
+   * @param vertx     the vert.x instance
+   * @param threshold the number of elements from which the conversion is offloaded, {@code 0} to never offload
+   * @param values    the elements
+   * @param converter the conversion of an element
+   * @param handler   the handler of the converted elements, in the iteration order of {@code values}
+   */
+  public static <T, R> void map(Vertx vertx, int threshold, Collection<T> values, Function<T, R> converter,
+                                Handler<AsyncResult<List<R>>> handler) {
+    int size = values.size();
+    offload(vertx, threshold, size, () -> (size >= PARALLEL_THRESHOLD ? values.parallelStream() : values.stream())
+      .map(converter).collect(Collectors.toList()), handler);
+  }
+
+  /**
+   * Convert the json objects of {@code array}.
+   *
+   * @param vertx     the vert.x instance
+   * @param threshold the number of elements from which the conversion is offloaded, {@code 0} to never offload
+   * @param array     the json objects
+   * @param converter the conversion of a json object, called with {@code null} for the {@code null} elements
+   * @param handler   the handler of the converted elements, in the order of {@code array}
+   */
+  public static <R> void mapJsonObjects(Vertx vertx, int threshold, JsonArray array,
+                                        Function<JsonObject, R> converter, Handler<AsyncResult<List<R>>> handler) {
+    int size = array.size();
+    offload(vertx, threshold, size, () -> {
+      IntStream indexes = IntStream.range(0, size);
+      return (size >= PARALLEL_THRESHOLD ? indexes.parallel() : indexes)
+        .mapToObj(i -> converter.apply(array.getJsonObject(i))).collect(Collectors.toList());
+    }, handler);
+  }
+
+  private static <R> void offload(Vertx vertx, int threshold, int size, Supplier<List<R>> conversion,
+                                  Handler<AsyncResult<List<R>>> handler) {
+    if (threshold > 0 && size >= threshold && Context.isOnEventLoopThread()) {
+      // Unordered, the conversions of the calls are independent
+      vertx.<List<R>>executeBlocking(future -> future.complete(conversion.get()), false, handler);
+      return;
+    }
+    List<R> converted;
+    try {
+      converted = conversion.get();
+    } catch (RuntimeException e) {
+      handler.handle(Future.failedFuture(e));
+      return;
+    }
+    handler.handle(Future.succeededFuture(converted));
+  }
+}
@@ -0,0 +1,729 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The packed encoding of the lists and sets of {@link Integer}, {@link Long}, {@link Double} and {@link Character}
+ * exchanged by the generated proxies and handlers.
+ * <p>
+ * A packed collection is the big-endian sequence of its primitive values: it is a {@code byte[]} when replied and a
+ * {@link Buffer} when it is an argument of a call, which the {@link BufferArgumentsMessageCodec} carries as is. The
+ * receiving side reads it into a primitive array exposed as a {@link List} or a {@link Set}, the values being boxed
+ * only when accessed. The collections having {@code null} elements keep the json encoding, and the readers accept both
+ * encodings.
+ * <p>
+ * The collections read are mutable: the first modification copies the values into an {@link ArrayList} or a
+ * {@link HashSet}, like the collections read from the json encoding.
+ */
+public final class PackedCollections {
+
+  private PackedCollections() {
+  }
+
+  /**
+   * @return the packed {@code values}, or a {@link JsonArray} when some of them are {@code null}
+   */
+  public static Object packInts(Collection<Integer> values) {
+    if (values == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(values.size() * Integer.BYTES);
+    for (Integer value : values) {
+      if (value == null) {
+        return toJsonArray(values);
+      }
+      buffer.putInt(value);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @return the packed {@code values}, or a {@link JsonArray} when some of them are {@code null}
+   */
+  public static Object packLongs(Collection<Long> values) {
+    if (values == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(values.size() * Long.BYTES);
+    for (Long value : values) {
+      if (value == null) {
+        return toJsonArray(values);
+      }
+      buffer.putLong(value);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @return the packed {@code values}, or a {@link JsonArray} when some of them are {@code null}
+   */
+  public static Object packDoubles(Collection<Double> values) {
+    if (values == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(values.size() * Double.BYTES);
+    for (Double value : values) {
+      if (value == null) {
+        return toJsonArray(values);
+      }
+      buffer.putDouble(value);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @return the packed {@code values}, or a {@link JsonArray} when some of them are {@code null}
+   */
+  public static Object packChars(Collection<Character> values) {
+    if (values == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(values.size() * Character.BYTES);
+    for (Character value : values) {
+      if (value == null) {
+        return toJsonArray(values);
+      }
+      buffer.putChar(value);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @param packed a collection packed by one of the {@code pack} methods
+   * @return the collection to add to the {@link JsonArray} of the arguments of a call
+   */
+  public static Object toArgument(Object packed) {
+    return packed instanceof byte[] ? Buffer.buffer((byte[]) packed) : packed;
+  }
+
+  /**
+   * @return the json encoding of {@code values}, the characters being encoded as their code
+   */
+  public static JsonArray toJsonArray(Collection<?> values) {
+    if (values == null) {
+      return null;
+    }
+    List<Object> list = new ArrayList<>(values.size());
+    for (Object value : values) {
+      list.add(value instanceof Character ? (int) (Character) value : value);
+    }
+    return new JsonArray(list);
+  }
+
+  /**
+   * @return the list read from a packed or json encoded collection
+   */
+  public static List<Integer> readIntList(Object encoded) {
+    int[] values = readInts(encoded);
+    return values != null ? new IntList(values) : readJson(encoded, o -> ((Number) o).intValue(), false);
+  }
+
+  /**
+   * @return the set read from a packed or json encoded collection
+   */
+  public static Set<Integer> readIntSet(Object encoded) {
+    int[] values = readInts(encoded);
+    if (values == null) {
+      return readJson(encoded, o -> ((Number) o).intValue(), true);
+    }
+    Arrays.sort(values);
+    int size = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i == 0 || values[i] != values[size - 1]) {
+        values[size++] = values[i];
+      }
+    }
+    return new IntSet(Arrays.copyOf(values, size));
+  }
+
+  /**
+   * @return the list read from a packed or json encoded collection
+   */
+  public static List<Long> readLongList(Object encoded) {
+    long[] values = readLongs(encoded);
+    return values != null ? new LongList(values) : readJson(encoded, o -> ((Number) o).longValue(), false);
+  }
+
+  /**
+   * @return the set read from a packed or json encoded collection
+   */
+  public static Set<Long> readLongSet(Object encoded) {
+    long[] values = readLongs(encoded);
+    if (values == null) {
+      return readJson(encoded, o -> ((Number) o).longValue(), true);
+    }
+    Arrays.sort(values);
+    int size = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i == 0 || values[i] != values[size - 1]) {
+        values[size++] = values[i];
+      }
+    }
+    return new LongSet(Arrays.copyOf(values, size));
+  }
+
+  /**
+   * @return the list read from a packed or json encoded collection
+   */
+  public static List<Double> readDoubleList(Object encoded) {
+    double[] values = readDoubles(encoded);
+    return values != null ? new DoubleList(values) : readJson(encoded, o -> ((Number) o).doubleValue(), false);
+  }
+
+  /**
+   * @return the set read from a packed or json encoded collection
+   */
+  public static Set<Double> readDoubleSet(Object encoded) {
+    double[] values = readDoubles(encoded);
+    if (values == null) {
+      return readJson(encoded, o -> ((Number) o).doubleValue(), true);
+    }
+    // Sorted by Double.compare, which is consistent with Double.equals for -0.0 and NaN
+    Arrays.sort(values);
+    int size = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i == 0 || Double.compare(values[i], values[size - 1]) != 0) {
+        values[size++] = values[i];
+      }
+    }
+    return new DoubleSet(Arrays.copyOf(values, size));
+  }
+
+  /**
+   * @return the list read from a packed or json encoded collection
+   */
+  public static List<Character> readCharList(Object encoded) {
+    char[] values = readChars(encoded);
+    return values != null ? new CharList(values) : readJson(encoded, PackedCollections::toChar, false);
+  }
+
+  /**
+   * @return the set read from a packed or json encoded collection
+   */
+  public static Set<Character> readCharSet(Object encoded) {
+    char[] values = readChars(encoded);
+    if (values == null) {
+      return readJson(encoded, PackedCollections::toChar, true);
+    }
+    Arrays.sort(values);
+    int size = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i == 0 || values[i] != values[size - 1]) {
+        values[size++] = values[i];
+      }
+    }
+    return new CharSet(Arrays.copyOf(values, size));
+  }
+
+  /**
+   * @return the bytes of a packed collection, or {@code null} when {@code encoded} is not packed
+   */
+  private static ByteBuffer bytes(Object encoded) {
+    if (encoded instanceof byte[]) {
+      return ByteBuffer.wrap((byte[]) encoded);
+    } else if (encoded instanceof Buffer) {
+      return ByteBuffer.wrap(((Buffer) encoded).getBytes());
+    }
+    return null;
+  }
+
+  private static int[] readInts(Object encoded) {
+    ByteBuffer bytes = bytes(encoded);
+    if (bytes != null) {
+      int[] values = new int[bytes.remaining() / Integer.BYTES];
+      bytes.asIntBuffer().get(values);
+      return values;
+    }
+    JsonArray array = (JsonArray) encoded;
+    if (array == null || array.contains(null)) {
+      return null;
+    }
+    int[] values = new int[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((Number) array.getValue(i)).intValue();
+    }
+    return values;
+  }
+
+  private static long[] readLongs(Object encoded) {
+    ByteBuffer bytes = bytes(encoded);
+    if (bytes != null) {
+      long[] values = new long[bytes.remaining() / Long.BYTES];
+      bytes.asLongBuffer().get(values);
+      return values;
+    }
+    JsonArray array = (JsonArray) encoded;
+    if (array == null || array.contains(null)) {
+      return null;
+    }
+    long[] values = new long[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((Number) array.getValue(i)).longValue();
+    }
+    return values;
+  }
+
+  private static double[] readDoubles(Object encoded) {
+    ByteBuffer bytes = bytes(encoded);
+    if (bytes != null) {
+      double[] values = new double[bytes.remaining() / Double.BYTES];
+      bytes.asDoubleBuffer().get(values);
+      return values;
+    }
+    JsonArray array = (JsonArray) encoded;
+    if (array == null || array.contains(null)) {
+      return null;
+    }
+    double[] values = new double[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((Number) array.getValue(i)).doubleValue();
+    }
+    return values;
+  }
+
+  private static char[] readChars(Object encoded) {
+    ByteBuffer bytes = bytes(encoded);
+    if (bytes != null) {
+      char[] values = new char[bytes.remaining() / Character.BYTES];
+      bytes.asCharBuffer().get(values);
+      return values;
+    }
+    JsonArray array = (JsonArray) encoded;
+    if (array == null || array.contains(null)) {
+      return null;
+    }
+    char[] values = new char[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = toChar(array.getValue(i));
+    }
+    return values;
+  }
+
+  private static char toChar(Object value) {
+    return value instanceof Character ? (Character) value : (char) ((Number) value).intValue();
+  }
+
+  /**
+   * Read a json encoded collection having {@code null} elements.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T, C extends Collection<T>> C readJson(Object encoded, Function<Object, T> mapper, boolean set) {
+    if (encoded == null) {
+      return null;
+    }
+    JsonArray array = (JsonArray) encoded;
+    Collection<T> values = set ? new HashSet<>(array.size() * 4 / 3 + 1) : new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      Object value = array.getValue(i);
+      values.add(value == null ? null : mapper.apply(value));
+    }
+    return (C) values;
+  }
+
+  /**
+   * A list of primitive values, boxing the values when accessed until its first modification copies them into an
+   * {@link ArrayList}.
+   */
+  private abstract static class PackedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private List<E> inflated;
+
+    abstract E element(int index);
+
+    abstract int find(Object o);
+
+    abstract int length();
+
+    private List<E> inflate() {
+      if (inflated == null) {
+        inflated = new ArrayList<>(this);
+      }
+      return inflated;
+    }
+
+    @Override
+    public E get(int index) {
+      if (inflated != null) {
+        return inflated.get(index);
+      }
+      if (index < 0 || index >= length()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length());
+      }
+      return element(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+      return inflate().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+      inflate().add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+      E previous = inflate().remove(index);
+      modCount++;
+      return previous;
+    }
+
+    @Override
+    public void clear() {
+      inflated = new ArrayList<>();
+      modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+      return inflated != null ? inflated.indexOf(o) : find(o);
+    }
+
+    @Override
+    public int size() {
+      return inflated != null ? inflated.size() : length();
+    }
+  }
+
+  private static final class IntList extends PackedList<Integer> {
+
+    private final int[] values;
+
+    IntList(int[] values) {
+      this.values = values;
+    }
+
+    @Override
+    Integer element(int index) {
+      return values[index];
+    }
+
+    @Override
+    int find(Object o) {
+      if (o instanceof Integer) {
+        int value = (Integer) o;
+        for (int i = 0; i < values.length; i++) {
+          if (values[i] == value) {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+  }
+
+  private static final class LongList extends PackedList<Long> {
+
+    private final long[] values;
+
+    LongList(long[] values) {
+      this.values = values;
+    }
+
+    @Override
+    Long element(int index) {
+      return values[index];
+    }
+
+    @Override
+    int find(Object o) {
+      if (o instanceof Long) {
+        long value = (Long) o;
+        for (int i = 0; i < values.length; i++) {
+          if (values[i] == value) {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+  }
+
+  private static final class DoubleList extends PackedList<Double> {
+
+    private final double[] values;
+
+    DoubleList(double[] values) {
+      this.values = values;
+    }
+
+    @Override
+    Double element(int index) {
+      return values[index];
+    }
+
+    @Override
+    int find(Object o) {
+      if (o instanceof Double) {
+        double value = (Double) o;
+        for (int i = 0; i < values.length; i++) {
+          if (Double.compare(values[i], value) == 0) {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+  }
+
+  private static final class CharList extends PackedList<Character> {
+
+    private final char[] values;
+
+    CharList(char[] values) {
+      this.values = values;
+    }
+
+    @Override
+    Character element(int index) {
+      return values[index];
+    }
+
+    @Override
+    int find(Object o) {
+      if (o instanceof Character) {
+        char value = (Character) o;
+        for (int i = 0; i < values.length; i++) {
+          if (values[i] == value) {
+            return i;
+          }
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    int length() {
+      return values.length;
+    }
+  }
+
+  /**
+   * A set of sorted primitive values, boxing the values when accessed until its first modification copies them into a
+   * {@link HashSet}.
+   */
+  private abstract static class PackedSet<E> extends AbstractSet<E> {
+
+    private Set<E> inflated;
+
+    abstract E element(int index);
+
+    abstract boolean find(Object o);
+
+    abstract int length();
+
+    private Set<E> inflate() {
+      if (inflated == null) {
+        inflated = new HashSet<>(this);
+      }
+      return inflated;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return inflated != null ? inflated.contains(o) : find(o);
+    }
+
+    @Override
+    public boolean add(E e) {
+      return inflate().add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      return contains(o) && inflate().remove(o);
+    }
+
+    @Override
+    public void clear() {
+      inflated = new HashSet<>();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      if (inflated != null) {
+        return inflated.iterator();
+      }
+      // The sorted values are never modified: a removal inflates the set and the iteration goes on over them
+      return new Iterator<E>() {
+        private int index;
+        private E last;
+        private boolean removable;
+
+        @Override
+        public boolean hasNext() {
+          return index < length();
+        }
+
+        @Override
+        public E next() {
+          if (index >= length()) {
+            throw new NoSuchElementException();
+          }
+          last = element(index++);
+          removable = true;
+          return last;
+        }
+
+        @Override
+        public void remove() {
+          if (!removable) {
+            throw new IllegalStateException();
+          }
+          removable = false;
+          inflate().remove(last);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return inflated != null ? inflated.size() : length();
+    }
+  }
+
+  private static final class IntSet extends PackedSet<Integer> {
+
+    private final int[] sorted;
+
+    IntSet(int[] sorted) {
+      this.sorted = sorted;
+    }
+
+    @Override
+    Integer element(int index) {
+      return sorted[index];
+    }
+
+    @Override
+    boolean find(Object o) {
+      return o instanceof Integer && Arrays.binarySearch(sorted, (Integer) o) >= 0;
+    }
+
+    @Override
+    int length() {
+      return sorted.length;
+    }
+  }
+
+  private static final class LongSet extends PackedSet<Long> {
+
+    private final long[] sorted;
+
+    LongSet(long[] sorted) {
+      this.sorted = sorted;
+    }
+
+    @Override
+    Long element(int index) {
+      return sorted[index];
+    }
+
+    @Override
+    boolean find(Object o) {
+      return o instanceof Long && Arrays.binarySearch(sorted, (Long) o) >= 0;
+    }
+
+    @Override
+    int length() {
+      return sorted.length;
+    }
+  }
+
+  private static final class DoubleSet extends PackedSet<Double> {
+
+    private final double[] sorted;
+
+    DoubleSet(double[] sorted) {
+      this.sorted = sorted;
+    }
+
+    @Override
+    Double element(int index) {
+      return sorted[index];
+    }
+
+    @Override
+    boolean find(Object o) {
+      return o instanceof Double && Arrays.binarySearch(sorted, (Double) o) >= 0;
+    }
+
+    @Override
+    int length() {
+      return sorted.length;
+    }
+  }
+
+  private static final class CharSet extends PackedSet<Character> {
+
+    private final char[] sorted;
+
+    CharSet(char[] sorted) {
+      this.sorted = sorted;
+    }
+
+    @Override
+    Character element(int index) {
+      return sorted[index];
+    }
+
+    @Override
+    boolean find(Object o) {
+      return o instanceof Character && Arrays.binarySearch(sorted, (Character) o) >= 0;
+    }
+
+    @Override
+    int length() {
+      return sorted.length;
+    }
+  }
+}
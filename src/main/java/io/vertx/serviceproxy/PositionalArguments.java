@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only view of the arguments of a call sent with the positional encoding, as a map of the arguments keyed by
+ * the names of the parameters, so that a {@link io.vertx.core.json.JsonObject} wrapping it reads the arguments of both
+ * encodings alike.
+ * <p>
+ * Methods have a handful of parameters, looking a name up in the parameter names is cheaper than copying the
+ * arguments to a hash map.
+ */
+final class PositionalArguments extends AbstractMap<String, Object> {
+
+  private final String[] names;
+  private final List<Object> values;
+  private final int size;
+
+  PositionalArguments(String[] names, List<Object> values) {
+    this.names = names;
+    this.values = values;
+    // The result handler is a parameter without argument
+    this.size = Math.min(names.length, values.size());
+  }
+
+  @Override
+  public Object get(Object key) {
+    for (int i = 0; i < size; i++) {
+      if (names[i].equals(key)) {
+        return values.get(i);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    for (int i = 0; i < size; i++) {
+      if (names[i].equals(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    return new AbstractSet<Map.Entry<String, Object>>() {
+      @Override
+      public Iterator<Map.Entry<String, Object>> iterator() {
+        return new Iterator<Map.Entry<String, Object>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < size;
+          }
+
+          @Override
+          public Map.Entry<String, Object> next() {
+            if (index >= size) {
+              throw new NoSuchElementException();
+            }
+            int i = index++;
+            return new SimpleImmutableEntry<>(names[i], values.get(i));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The message of a call sent with the positional encoding, its body being a {@link JsonArray} of the arguments in
+ * the declaration order of the parameters: the body is read as a {@link JsonObject} of the arguments keyed by the
+ * names of the parameters, as with the keyed encoding.
+ */
+final class PositionalMessage implements Message<JsonObject> {
+
+  private final Message<?> msg;
+  private final JsonObject body;
+
+  @SuppressWarnings("unchecked")
+  PositionalMessage(Message<?> msg, JsonArray args, String[] names) {
+    this.msg = msg;
+    this.body = new JsonObject(new PositionalArguments(names, args.getList()));
+  }
+
+  @Override
+  public String address() {
+    return msg.address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return msg.headers();
+  }
+
+  @Override
+  public JsonObject body() {
+    return body;
+  }
+
+  @Override
+  public String replyAddress() {
+    return msg.replyAddress();
+  }
+
+  @Override
+  public boolean isSend() {
+    return msg.isSend();
+  }
+
+  @Override
+  public void reply(Object message) {
+    msg.reply(message);
+  }
+
+  @Override
+  public <R> void reply(Object message, Handler<AsyncResult<Message<R>>> replyHandler) {
+    msg.reply(message, replyHandler);
+  }
+
+  @Override
+  public void reply(Object message, DeliveryOptions options) {
+    msg.reply(message, options);
+  }
+
+  @Override
+  public <R> void reply(Object message, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+    msg.reply(message, options, replyHandler);
+  }
+
+  @Override
+  public void fail(int failureCode, String message) {
+    msg.fail(failureCode, message);
+  }
+}
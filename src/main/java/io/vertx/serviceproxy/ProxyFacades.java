@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests the generation of facades of the event bus proxy of a {@code @ProxyGen} service interface, in addition to
+ * the proxy and the handler generated for every service.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ProxyFacades {
+
+  /**
+   * @return whether to generate the synchronous proxy, named after the interface followed by {@code VertxSyncProxy},
+   * blocking the calling thread until the result arrives
+   */
+  boolean sync() default false;
+
+  /**
+   * @return whether to generate the future proxy, named after the interface followed by {@code VertxFutureProxy},
+   * returning the future of the result
+   */
+  boolean future() default false;
+}
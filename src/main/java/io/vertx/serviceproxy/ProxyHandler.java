@@ -16,26 +16,346 @@
 
 package io.vertx.serviceproxy;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
 public abstract class ProxyHandler implements Handler<Message<JsonObject>> {
 
+  /**
+   * The header carrying the version of the encoding of the call arguments. Calls without it are encoded as a
+   * {@link JsonObject} of the arguments keyed by the names of the parameters.
+   */
+  public static final String PROTOCOL_HEADER = "protocol";
+
+  /**
+   * The version of the positional encoding: the arguments are encoded as a {@link JsonArray} in the declaration
+   * order of the parameters.
+   */
+  public static final String POSITIONAL_PROTOCOL = "2";
+
+  /**
+   * The version of the positional encoding with packed collections: the lists and sets of integers, longs, doubles
+   * and characters are encoded by {@link PackedCollections}, in the arguments and in the reply.
+   */
+  public static final String PACKED_PROTOCOL = "3";
+
+  /**
+   * The version of the packed encoding with binary data objects: the {@link BinaryEncoded} data objects having a
+   * generated {@link DataObjectCodec} are encoded by it, in the arguments and in the reply.
+   */
+  public static final String BINARY_PROTOCOL = "4";
+
+  /**
+   * The header carrying the fields of the data object results read by the caller, separated by commas: the other
+   * fields are left out of the reply.
+   */
+  public static final String FIELDS_HEADER = "fields";
+
+  /**
+   * The header carrying the version tag of the result of a {@link Conditional} method, in the reply.
+   */
+  public static final String VERSION_TAG_HEADER = "version-tag";
+
+  /**
+   * The header carrying the version tag of the result the caller already has, in a call of a {@link Conditional}
+   * method.
+   */
+  public static final String IF_NONE_MATCH_HEADER = "if-none-match";
+
+  /**
+   * The header of the empty reply of a {@link Conditional} method, carrying the version tag of the result the caller
+   * already has.
+   */
+  public static final String NOT_MODIFIED_HEADER = "not-modified";
+
   protected boolean closed;
   protected MessageConsumer<JsonObject> consumer;
+  private final Set<String> singleFlightMethods;
+  private final Map<String, Conditional> conditionalMethods;
+  private final InFlightCalls<Message<JsonObject>> inFlightCalls;
+  private final Map<String, CallBatcher> batchers;
+  private final Vertx vertx;
+  private final Class<?> clazz;
+  private ServiceExecutor executor;
+  private int compressionThreshold;
+  private int offloadThreshold;
+  private boolean lazyArguments;
+  private ResultVersions resultVersions;
+
+  protected ProxyHandler() {
+    this.vertx = null;
+    this.clazz = null;
+    this.singleFlightMethods = Collections.emptySet();
+    this.conditionalMethods = Collections.emptyMap();
+    this.inFlightCalls = null;
+    this.batchers = Collections.emptyMap();
+  }
+
+  /**
+   * @param vertx the vert.x instance
+   * @param clazz the service interface
+   */
+  protected ProxyHandler(Vertx vertx, Class<?> clazz) {
+    this.vertx = vertx;
+    this.clazz = clazz;
+    this.executor = new ServiceExecutor(vertx, clazz, new ServiceOptions());
+    try {
+      vertx.eventBus().registerCodec(new CompressedMessageCodec());
+    } catch (IllegalStateException ex) {}
+    this.singleFlightMethods = InFlightCalls.singleFlightMethods(clazz);
+    this.conditionalMethods = VersionTags.conditionalMethods(clazz);
+    this.inFlightCalls = singleFlightMethods.isEmpty() ? null : new InFlightCalls<>();
+    Map<String, Batched> batched = CallBatcher.batchedMethods(clazz);
+    if (batched.isEmpty()) {
+      this.batchers = Collections.emptyMap();
+    } else {
+      this.batchers = new HashMap<>();
+      batched.forEach((action, annotation) -> batchers.put(action, new CallBatcher(vertx, this, action, annotation)));
+    }
+  }
+
+  /**
+   * Apply the execution options of the service, before the handler is registered.
+   */
+  void setServiceOptions(ServiceOptions options) {
+    compressionThreshold = options.getCompressionThreshold();
+    offloadThreshold = options.getOffloadThreshold();
+    lazyArguments = options.isLazyArguments();
+    if (executor != null) {
+      executor.close();
+      executor = new ServiceExecutor(vertx, clazz, options);
+    }
+  }
+
+  /**
+   * Ask the versions of the results of the {@link Conditional} methods to {@code service}, when it knows them.
+   */
+  void setService(Object service) {
+    resultVersions = service instanceof ResultVersions ? (ResultVersions) service : null;
+  }
+
+  /**
+   * Release the worker pool of the handler, once its consumer is unregistered.
+   */
+  void closeExecutor() {
+    if (executor != null) {
+      executor.close();
+    }
+  }
 
   public void setConsumer(MessageConsumer<JsonObject> consumer) {
     this.consumer = consumer;
   }
 
   public void close() {
-    consumer.unregister();
+    if (consumer != null) {
+      consumer.unregister();
+    }
     closed = true;
+    // Do not leave the calls waiting for their batch behind
+    batchers.values().forEach(CallBatcher::flush);
+  }
+
+  @Override
+  public void handle(Message<JsonObject> message) {
+    String action = message.headers().get("action");
+    Message<JsonObject> msg = decode(action, compressionThreshold > 0
+      ? new CompressingMessage(message, compressionThreshold) : message);
+    if (action != null && conditionalMethods.containsKey(action)) {
+      String version = resultVersions == null ? null : resultVersions.resultVersion(action, msg.body());
+      String versionTag = version == null ? null : VersionTags.versionTag(version);
+      if (versionTag != null && versionTag.equals(msg.headers().get(IF_NONE_MATCH_HEADER))) {
+        // The caller has the result of this version, the method is not even invoked
+        msg.reply(null, new DeliveryOptions().addHeader(NOT_MODIFIED_HEADER, versionTag));
+        return;
+      }
+      // Each caller sharing an in-flight call has its own version of the result
+      msg = new ConditionalMessage(msg, versionTag);
+    }
+    if (inFlightCalls != null && action != null && singleFlightMethods.contains(action)) {
+      // The callers expecting a packed reply cannot share the reply of the other callers
+      // Nor the callers reading other fields of the results
+      int protocol = protocol(msg);
+      String fields = msg.headers().get(FIELDS_HEADER);
+      String key = InFlightCalls.key((protocol >= 3 ? action + '/' + protocol : action)
+        + (fields == null ? "" : '[' + fields + ']'), msg.body());
+      if (inFlightCalls.join(key, msg)) {
+        // An identical call is in flight, its reply will be sent to this message as well
+        return;
+      }
+      dispatch(action, new SingleFlightMessage(msg, key, inFlightCalls));
+    } else {
+      dispatch(action, msg);
+    }
+  }
+
+  /**
+   * Read the arguments of a call sent with the positional encoding by their parameter names.
+   */
+  private Message<JsonObject> decode(String action, Message<JsonObject> msg) {
+    if (protocol(msg) < 2) {
+      return msg;
+    }
+    Object body = ((Message<?>) msg).body();
+    if (!(body instanceof JsonArray)) {
+      return msg;
+    }
+    String[] names = action == null ? null : parameterNames(action);
+    // Unknown actions are failed by the invocation, which expects a json object
+    return new PositionalMessage(msg, (JsonArray) body, names == null ? new String[0] : names);
+  }
+
+  /**
+   * @return whether the caller of {@code msg} reads the collections of the reply packed
+   */
+  protected static boolean isPacked(Message<?> msg) {
+    return protocol(msg) >= 3;
+  }
+
+  /**
+   * @return whether the caller of {@code msg} reads the data objects of the reply encoded by their
+   * {@link DataObjectCodec}
+   */
+  protected static boolean isBinary(Message<?> msg) {
+    return protocol(msg) >= 4;
+  }
+
+  /**
+   * @return the fields of the data object results read by the caller of {@code msg}, or {@code null} for all the
+   * fields
+   */
+  protected static String[] resultFields(Message<?> msg) {
+    String fields = msg.headers().get(FIELDS_HEADER);
+    return fields == null ? null : fields.split(",");
+  }
+
+  /**
+   * @param json   the json of a data object result
+   * @param fields the fields read by the caller, or {@code null} for all the fields
+   * @return the json restricted to the {@code fields}
+   */
+  protected static JsonObject project(JsonObject json, String[] fields) {
+    if (json == null || fields == null) {
+      return json;
+    }
+    Map<String, Object> map = json.getMap();
+    Map<String, Object> projected = new LinkedHashMap<>();
+    for (String field : fields) {
+      if (map.containsKey(field)) {
+        projected.put(field, map.get(field));
+      }
+    }
+    return new JsonObject(projected);
+  }
+
+  /**
+   * @return the version of the encoding of the call, {@code 1} for the keyed encoding
+   */
+  private static int protocol(Message<?> msg) {
+    String protocol = msg.headers().get(PROTOCOL_HEADER);
+    if (protocol == null) {
+      return 1;
+    }
+    try {
+      return Integer.parseInt(protocol);
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+
+  private void dispatch(String action, Message<JsonObject> msg) {
+    CallBatcher batcher = action == null ? null : batchers.get(action);
+    if (batcher != null) {
+      batcher.add(msg);
+    } else {
+      execute(action, msg);
+    }
+  }
+
+  /**
+   * Invoke the service method called by the message, on the event loop or on a worker thread.
+   */
+  void execute(String action, Message<JsonObject> msg) {
+    if (executor != null) {
+      executor.execute(action, msg, this);
+    } else {
+      invoke(msg);
+    }
+  }
+
+  /**
+   * @param action the name of a service method
+   * @return the names of the parameters of the method, or {@code null} when the method is unknown
+   */
+  protected String[] parameterNames(String action) {
+    return null;
+  }
+
+  /**
+   * Convert the elements of a collection result, on a worker thread when the collection is larger than the
+   * {@link ServiceOptions#setOffloadThreshold(int) offload threshold} of the service.
+   *
+   * @param values    the elements
+   * @param converter the conversion of an element
+   * @param handler   the handler of the converted elements, called on the context of the caller
+   */
+  protected <T, R> void convert(Collection<T> values, Function<T, R> converter, Handler<AsyncResult<List<R>>> handler) {
+    OffloadedConversion.map(vertx, offloadThreshold, values, converter, handler);
+  }
+
+  /**
+   * @param json    the arguments of the call
+   * @param name    the name of a list argument
+   * @param decoder the decoding of the argument
+   * @return the argument, decoded on its first access when the service has
+   * {@link ServiceOptions#setLazyArguments(boolean) lazy arguments}
+   */
+  protected <T> List<T> lazyList(JsonObject json, String name, Supplier<List<T>> decoder) {
+    return lazyArguments && json.getValue(name) != null ? new LazyArguments.LazyList<>(decoder) : decoder.get();
+  }
+
+  /**
+   * @see #lazyList(JsonObject, String, Supplier)
+   */
+  protected <T> Set<T> lazySet(JsonObject json, String name, Supplier<Set<T>> decoder) {
+    return lazyArguments && json.getValue(name) != null ? new LazyArguments.LazySet<>(decoder) : decoder.get();
+  }
+
+  /**
+   * @see #lazyList(JsonObject, String, Supplier)
+   */
+  protected <V> Map<String, V> lazyMap(JsonObject json, String name, Supplier<Map<String, V>> decoder) {
+    return lazyArguments && json.getValue(name) != null ? new LazyArguments.LazyMap<>(decoder) : decoder.get();
+  }
+
+  /**
+   * Invoke the service method called by the message. The generated handlers override it. The handlers overriding
+   * {@link #handle(Message)} instead keep handling their messages themselves: this implementation hands the message
+   * back to them.
+   *
+   * @param msg the message
+   */
+  protected void invoke(Message<JsonObject> msg) {
+    handle(msg);
   }
 
   /**
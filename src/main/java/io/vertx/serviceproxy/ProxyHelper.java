@@ -16,13 +16,18 @@
 
 package io.vertx.serviceproxy;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 
 import java.lang.reflect.Constructor;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -30,7 +35,7 @@ import java.util.Objects;
 public class ProxyHelper {
 
   public static <T> T createProxy(Class<T> clazz, Vertx vertx, String address) {
-    return createProxy(clazz, vertx, address, null);
+    return createProxy(clazz, vertx, address, (DeliveryOptions) null);
   }
 
   public static <T> T createProxy(Class<T> clazz, Vertx vertx, String address, DeliveryOptions options) {
@@ -48,6 +53,23 @@ public class ProxyHelper {
     return (T) instance;
   }
 
+  /**
+   * Creates a proxy for a service.
+   *
+   * @param clazz   the service class (interface)
+   * @param vertx   the vert.x instance
+   * @param address the address on which the service is published
+   * @param options the proxy options
+   * @param <T>     the type of the service interface
+   * @return the proxy
+   */
+  public static <T> T createProxy(Class<T> clazz, Vertx vertx, String address, ProxyOptions options) {
+    String proxyClassName = clazz.getName() + "VertxEBProxy";
+    Class<?> proxyClass = loadClass(proxyClassName, clazz);
+    Constructor constructor = getConstructor(proxyClass, Vertx.class, String.class, ProxyOptions.class);
+    return (T) createInstance(constructor, vertx, address, options);
+  }
+
   public static final long DEFAULT_CONNECTION_TIMEOUT = 5 * 60; // 5 minutes
 
   /**
@@ -74,12 +96,91 @@ public class ProxyHelper {
   public static <T> MessageConsumer<JsonObject> registerService(Class<T> clazz, Vertx vertx, T service, String address,
                                                                 boolean topLevel,
                                                                 long timeoutSeconds) {
+    return createHandler(clazz, vertx, service, topLevel, timeoutSeconds).registerHandler(address);
+  }
+
+  /**
+   * Registers a service on the event bus.
+   *
+   * @param clazz   the service class (interface)
+   * @param vertx   the vert.x instance
+   * @param service the service object
+   * @param address the address on which the service is published
+   * @param options the service options
+   * @param <T>     the type of the service interface
+   * @return the consumer used to unregister the service
+   */
+  public static <T> MessageConsumer<JsonObject> registerService(Class<T> clazz, Vertx vertx, T service, String address,
+                                                                ServiceOptions options) {
+    ProxyHandler handler = createHandler(clazz, vertx, service, options);
+    MessageConsumer<JsonObject> consumer = handler.registerHandler(address);
+    Runnable withdraw = options.isInstanceRouting() ? ServiceInstances.registerInstance(vertx, consumer, handler) : null;
+    consumer.endHandler(v -> {
+      if (withdraw != null) {
+        withdraw.run();
+      }
+      handler.closeExecutor();
+    });
+    return consumer;
+  }
+
+  /**
+   * Registers {@link ServiceOptions#getInstances()} instances of a service on the event bus, each one on its own event
+   * loop, and the event bus balances the calls between them.
+   * <p>
+   * The {@code factory} is called once per instance: it can either create a service object per instance, each one
+   * being only called from the event loop of its instance, or always return the same thread-safe service object.
+   * The instances are deployed as a verticle, undeploying it unregisters them.
+   *
+   * @param clazz             the service class (interface)
+   * @param vertx             the vert.x instance
+   * @param factory           the factory of the service objects
+   * @param address           the address on which the service is published
+   * @param options           the service options
+   * @param completionHandler called with the deployment id once all the instances are registered
+   * @param <T>               the type of the service interface
+   */
+  public static <T> void registerService(Class<T> clazz, Vertx vertx, Supplier<T> factory, String address,
+                                         ServiceOptions options, Handler<AsyncResult<String>> completionHandler) {
+    vertx.deployVerticle(new ServiceDeployment<>(clazz, factory, address, options), completionHandler);
+  }
+
+  /**
+   * Registers an instance of a service on the event bus on each of the given contexts, and the event bus balances the
+   * calls between them.
+   * <p>
+   * The {@code factory} is called once per context: it can either create a service object per instance, each one
+   * being only called from the context of its instance, or always return the same thread-safe service object.
+   *
+   * @param clazz             the service class (interface)
+   * @param vertx             the vert.x instance
+   * @param factory           the factory of the service objects
+   * @param address           the address on which the service is published
+   * @param options           the service options
+   * @param contexts          the contexts the instances are registered on
+   * @param completionHandler called with the consumers used to unregister the instances once they are all registered
+   * @param <T>               the type of the service interface
+   */
+  public static <T> void registerService(Class<T> clazz, Vertx vertx, Supplier<T> factory, String address,
+                                         ServiceOptions options, List<Context> contexts,
+                                         Handler<AsyncResult<List<MessageConsumer<JsonObject>>>> completionHandler) {
+    ServiceDeployment.register(clazz, vertx, factory, address, options, contexts, completionHandler);
+  }
+
+  static <T> ProxyHandler createHandler(Class<T> clazz, Vertx vertx, T service, ServiceOptions options) {
+    ProxyHandler handler = createHandler(clazz, vertx, service, options.isTopLevel(), options.getTimeoutSeconds());
+    handler.setServiceOptions(options);
+    return handler;
+  }
+
+  private static <T> ProxyHandler createHandler(Class<T> clazz, Vertx vertx, T service, boolean topLevel,
+                                                long timeoutSeconds) {
     String handlerClassName = clazz.getName() + "VertxProxyHandler";
     Class<?> handlerClass = loadClass(handlerClassName, clazz);
     Constructor constructor = getConstructor(handlerClass, Vertx.class, clazz, boolean.class, long.class);
-    Object instance = createInstance(constructor, vertx, service, topLevel, timeoutSeconds);
-    ProxyHandler handler = (ProxyHandler) instance;
-    return handler.registerHandler(address);
+    ProxyHandler handler = (ProxyHandler) createInstance(constructor, vertx, service, topLevel, timeoutSeconds);
+    handler.setService(service);
+    return handler;
   }
 
   /**
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.eventbus.DeliveryOptions;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Options configuring a service proxy created with {@link ProxyHelper#createProxy(Class, io.vertx.core.Vertx, String, ProxyOptions)}.
+ */
+public class ProxyOptions {
+
+  /**
+   * The default routing strategy = {@link RoutingStrategy#EVENT_BUS}
+   */
+  public static final RoutingStrategy DEFAULT_ROUTING_STRATEGY = RoutingStrategy.EVENT_BUS;
+
+  /**
+   * The default number of points of each instance on the consistent-hash ring = 160
+   */
+  public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+  /**
+   * The default prefer local flag = false
+   */
+  public static final boolean DEFAULT_PREFER_LOCAL = false;
+
+  /**
+   * The default number of outstanding calls above which a local instance overflows to the remote ones = no limit
+   */
+  public static final int DEFAULT_LOCAL_OVERFLOW_THRESHOLD = Integer.MAX_VALUE;
+
+  /**
+   * The default single flight flag = false
+   */
+  public static final boolean DEFAULT_SINGLE_FLIGHT = false;
+
+  /**
+   * The default compression threshold = 0, compression disabled
+   */
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 0;
+
+  /**
+   * The default offload threshold = 0, offloading disabled
+   */
+  public static final int DEFAULT_OFFLOAD_THRESHOLD = 0;
+
+  /**
+   * The default result fields = null, all the fields of the data object results are read
+   */
+  public static final Set<String> DEFAULT_RESULT_FIELDS = null;
+
+  /**
+   * The default protocol = {@link CallProtocol#KEYED}, understood by every service
+   */
+  public static final CallProtocol DEFAULT_PROTOCOL = CallProtocol.KEYED;
+
+  private DeliveryOptions deliveryOptions;
+  private RoutingStrategy routingStrategy;
+  private int virtualNodes;
+  private boolean preferLocal;
+  private int localOverflowThreshold;
+  private boolean singleFlight;
+  private int compressionThreshold;
+  private int offloadThreshold;
+  private Set<String> resultFields;
+  private CallProtocol protocol;
+
+  /**
+   * Default constructor
+   */
+  public ProxyOptions() {
+    routingStrategy = DEFAULT_ROUTING_STRATEGY;
+    virtualNodes = DEFAULT_VIRTUAL_NODES;
+    preferLocal = DEFAULT_PREFER_LOCAL;
+    localOverflowThreshold = DEFAULT_LOCAL_OVERFLOW_THRESHOLD;
+    singleFlight = DEFAULT_SINGLE_FLIGHT;
+    compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    offloadThreshold = DEFAULT_OFFLOAD_THRESHOLD;
+    resultFields = DEFAULT_RESULT_FIELDS;
+    protocol = DEFAULT_PROTOCOL;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the options to copy
+   */
+  public ProxyOptions(ProxyOptions other) {
+    this.deliveryOptions = other.deliveryOptions == null ? null : new DeliveryOptions(other.deliveryOptions);
+    this.routingStrategy = other.routingStrategy;
+    this.virtualNodes = other.virtualNodes;
+    this.preferLocal = other.preferLocal;
+    this.localOverflowThreshold = other.localOverflowThreshold;
+    this.singleFlight = other.singleFlight;
+    this.compressionThreshold = other.compressionThreshold;
+    this.offloadThreshold = other.offloadThreshold;
+    this.resultFields = other.resultFields == null ? null : new LinkedHashSet<>(other.resultFields);
+    this.protocol = other.protocol;
+  }
+
+  /**
+   * @return the delivery options used for every call, or {@code null} to use the event bus defaults
+   */
+  public DeliveryOptions getDeliveryOptions() {
+    return deliveryOptions;
+  }
+
+  /**
+   * Set the delivery options used for every call.
+   *
+   * @param deliveryOptions the delivery options
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setDeliveryOptions(DeliveryOptions deliveryOptions) {
+    this.deliveryOptions = deliveryOptions;
+    return this;
+  }
+
+  /**
+   * @return the strategy picking the service instance receiving a call
+   */
+  public RoutingStrategy getRoutingStrategy() {
+    return routingStrategy;
+  }
+
+  /**
+   * Set the strategy picking the service instance receiving a call.
+   *
+   * @param routingStrategy the routing strategy
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setRoutingStrategy(RoutingStrategy routingStrategy) {
+    if (routingStrategy == null) {
+      throw new IllegalArgumentException("routingStrategy must not be null");
+    }
+    this.routingStrategy = routingStrategy;
+    return this;
+  }
+
+  /**
+   * @return the number of points of each instance on the consistent-hash ring
+   */
+  public int getVirtualNodes() {
+    return virtualNodes;
+  }
+
+  /**
+   * Set the number of points of each instance on the consistent-hash ring used by the
+   * {@link RoutingStrategy#CONSISTENT_HASH} strategy. More points spread the keys more evenly between the instances
+   * at the expense of a larger ring.
+   *
+   * @param virtualNodes the number of virtual nodes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setVirtualNodes(int virtualNodes) {
+    if (virtualNodes < 1) {
+      throw new IllegalArgumentException("virtualNodes must be > 0");
+    }
+    this.virtualNodes = virtualNodes;
+    return this;
+  }
+
+  /**
+   * @return whether calls are sent to an instance registered on the same vert.x instance when there is one
+   */
+  public boolean isPreferLocal() {
+    return preferLocal;
+  }
+
+  /**
+   * Set whether calls are sent to an instance registered on the same vert.x instance when there is one, saving the
+   * serialization and the network hop of a remote call. Remote instances are only used when no local instance is
+   * left, or when the local instances are overloaded, see {@link #setLocalOverflowThreshold(int)}.
+   * <p>
+   * This requires the service to be registered with {@link ServiceOptions#setInstanceRouting(boolean)} enabled.
+   * Remote calls are routed according to the {@link #setRoutingStrategy(RoutingStrategy) routing strategy}. With
+   * {@link RoutingStrategy#CONSISTENT_HASH}, a call having a routing key goes to the instance owning the key, and is
+   * local only when that instance is.
+   *
+   * @param preferLocal the prefer local flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setPreferLocal(boolean preferLocal) {
+    this.preferLocal = preferLocal;
+    return this;
+  }
+
+  /**
+   * @return the number of outstanding calls of a local instance above which calls overflow to the remote instances
+   */
+  public int getLocalOverflowThreshold() {
+    return localOverflowThreshold;
+  }
+
+  /**
+   * Set the number of outstanding calls of a local instance above which calls overflow to the remote instances,
+   * when {@link #setPreferLocal(boolean) prefer local} is enabled.
+   *
+   * @param localOverflowThreshold the threshold
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setLocalOverflowThreshold(int localOverflowThreshold) {
+    if (localOverflowThreshold < 1) {
+      throw new IllegalArgumentException("localOverflowThreshold must be > 0");
+    }
+    this.localOverflowThreshold = localOverflowThreshold;
+    return this;
+  }
+
+  /**
+   * @return whether identical concurrent calls of the {@link SingleFlight} methods share a single call
+   */
+  public boolean isSingleFlight() {
+    return singleFlight;
+  }
+
+  /**
+   * Set whether identical concurrent calls of the {@link SingleFlight} methods share a single call: while a call is
+   * awaiting its reply, the identical calls made with this proxy are not sent and get a copy of its result.
+   *
+   * @param singleFlight the single flight flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setSingleFlight(boolean singleFlight) {
+    this.singleFlight = singleFlight;
+    return this;
+  }
+
+  /**
+   * @return the size in bytes above which the bodies sent between nodes are compressed, {@code 0} when disabled
+   */
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Set the size in bytes above which the calls sent to the services of other nodes are compressed, for the methods
+   * having large arguments when the network is the bottleneck. The calls smaller than the threshold, and the calls to
+   * the services of the same node, are never compressed. The replies are compressed by the services according to
+   * their own {@link ServiceOptions#setCompressionThreshold(int) threshold}.
+   *
+   * @param compressionThreshold the threshold, {@code 0} to disable compression
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setCompressionThreshold(int compressionThreshold) {
+    if (compressionThreshold < 0) {
+      throw new IllegalArgumentException("compressionThreshold must be >= 0");
+    }
+    this.compressionThreshold = compressionThreshold;
+    return this;
+  }
+
+  /**
+   * @return the number of elements from which the collections of data objects are converted on a worker thread,
+   * {@code 0} when disabled
+   */
+  public int getOffloadThreshold() {
+    return offloadThreshold;
+  }
+
+  /**
+   * Set the number of elements from which the collections of data objects received by the proxy are converted
+   * from and to json on a worker thread instead of the event loop, so that a few huge results do not stall the other
+   * calls: a collection is offloaded when it has at least {@code offloadThreshold} elements. The largest collections
+   * are also converted in parallel, see {@link OffloadedConversion}.
+   *
+   * @param offloadThreshold the threshold, {@code 0} to disable offloading
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setOffloadThreshold(int offloadThreshold) {
+    if (offloadThreshold < 0) {
+      throw new IllegalArgumentException("offloadThreshold must be >= 0");
+    }
+    this.offloadThreshold = offloadThreshold;
+    return this;
+  }
+
+  /**
+   * @return the fields of the data object results read by the proxy, or {@code null} for all the fields
+   */
+  public Set<String> getResultFields() {
+    return resultFields;
+  }
+
+  /**
+   * Set the fields of the data object results read by the proxy, for the callers needing a few fields of large data
+   * objects: the services reply the data objects, and the collections of data objects, with these fields only, and
+   * the proxy creates the data objects from their partial json. The fields are the top-level keys of the json of the
+   * data objects.
+   * <p>
+   * The partial data objects are sent as json, even to a proxy reading the data objects in binary. Their json
+   * constructor must accept the json missing the other fields: a call whose result cannot be created from its partial
+   * json fails with the exception thrown by the constructor.
+   *
+   * @param resultFields the fields, or {@code null} for all the fields
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setResultFields(Set<String> resultFields) {
+    if (resultFields != null) {
+      for (String field : resultFields) {
+        if (field == null || field.isEmpty() || field.indexOf(',') >= 0) {
+          throw new IllegalArgumentException("Invalid result field " + field);
+        }
+      }
+    }
+    this.resultFields = resultFields;
+    return this;
+  }
+
+  /**
+   * @return how the proxy encodes the arguments of its calls
+   */
+  public CallProtocol getProtocol() {
+    return protocol;
+  }
+
+  /**
+   * Set how the proxy encodes the arguments of its calls. The encodings more compact than {@link CallProtocol#KEYED}
+   * are only understood by the services generated by this version of the service proxies or a later one.
+   * <p>
+   * The calls having {@link io.vertx.core.buffer.Buffer} arguments are always sent with the positional encoding, which
+   * carries the buffers as is.
+   *
+   * @param protocol the protocol
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ProxyOptions setProtocol(CallProtocol protocol) {
+    if (protocol == null) {
+      throw new IllegalArgumentException("protocol must not be null");
+    }
+    this.protocol = protocol;
+    return this;
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The cache of the results of a {@link Cacheable} method in a proxy: a least recently used map of the results keyed
+ * by the arguments of the call, bounded by the total estimated encoded size of the results.
+ */
+public class ResultCache {
+
+  /**
+   * Returned by {@link #get(String)} when no live result is cached, as {@code null} is a valid result.
+   */
+  static final Object MISS = new Object();
+
+  // Rough per entry overhead, so that tiny results are not free
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private static final ClassValue<Map<String, Cacheable>> CACHEABLE_METHODS = new ClassValue<Map<String, Cacheable>>() {
+    @Override
+    protected Map<String, Cacheable> computeValue(Class<?> type) {
+      Map<String, Cacheable> methods = new HashMap<>();
+      for (Method method : type.getMethods()) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable != null && !Modifier.isStatic(method.getModifiers())) {
+          methods.put(method.getName(), cacheable);
+        }
+      }
+      return methods.isEmpty() ? Collections.emptyMap() : methods;
+    }
+  };
+
+  private static final class Entry {
+
+    final Object value;
+    final long weight;
+    final long expiresAt;
+
+    Entry(Object value, long weight, long expiresAt) {
+      this.value = value;
+      this.weight = weight;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final long ttlNanos;
+  private final long maxSize;
+  private final String invalidationAddress;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+  private long generation;
+
+  ResultCache(Cacheable cacheable) {
+    this.ttlNanos = cacheable.timeUnit().toNanos(cacheable.ttl());
+    this.maxSize = cacheable.maxSize();
+    this.invalidationAddress = cacheable.invalidationAddress().isEmpty() ? null : cacheable.invalidationAddress();
+  }
+
+  /**
+   * @return the {@link Cacheable} methods of the service interface, by name
+   */
+  static Map<String, Cacheable> cacheableMethods(Class<?> clazz) {
+    return CACHEABLE_METHODS.get(clazz);
+  }
+
+  String invalidationAddress() {
+    return invalidationAddress;
+  }
+
+  static String key(JsonArray args) {
+    return ArgumentKeys.key(args);
+  }
+
+  /**
+   * @return a copy of the cached result, or {@link #MISS}
+   */
+  synchronized Object get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return MISS;
+    }
+    if (System.nanoTime() - entry.expiresAt >= 0) {
+      entries.remove(key);
+      size -= entry.weight;
+      return MISS;
+    }
+    return copy(entry.value);
+  }
+
+  /**
+   * @return the current generation of the cache, changed by each invalidation
+   */
+  synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Cache the result of a call sent at {@code generation}, unless the cache was invalidated since then as the
+   * result may be stale.
+   */
+  synchronized void put(String key, Object value, long generation) {
+    long weight = weigh(key, value);
+    if (weight > maxSize || generation != this.generation) {
+      return;
+    }
+    Entry previous = entries.put(key, new Entry(copy(value), weight, System.nanoTime() + ttlNanos));
+    if (previous != null) {
+      size -= previous.weight;
+    }
+    size += weight;
+    // The iteration order is the access order, the eldest entries are the least recently used
+    Iterator<Entry> it = entries.values().iterator();
+    while (size > maxSize && it.hasNext()) {
+      size -= it.next().weight;
+      it.remove();
+    }
+  }
+
+  synchronized void invalidate(String key) {
+    generation++;
+    if (key == null) {
+      entries.clear();
+      size = 0;
+    } else {
+      Entry entry = entries.remove(key);
+      if (entry != null) {
+        size -= entry.weight;
+      }
+    }
+  }
+
+  private static long weigh(String key, Object value) {
+    return ENTRY_OVERHEAD + key.length() + estimate(value);
+  }
+
+  /**
+   * @return the approximate encoded size of a result, walked as is rather than encoded
+   */
+  private static long estimate(Object value) {
+    if (value instanceof JsonObject) {
+      value = ((JsonObject) value).getMap();
+    } else if (value instanceof JsonArray) {
+      value = ((JsonArray) value).getList();
+    }
+    if (value instanceof Map) {
+      long size = 2;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        size += String.valueOf(entry.getKey()).length() + 4 + estimate(entry.getValue());
+      }
+      return size;
+    } else if (value instanceof List) {
+      long size = 2;
+      for (Object element : (List<?>) value) {
+        size += 1 + estimate(element);
+      }
+      return size;
+    } else if (value instanceof String) {
+      return ((String) value).length() + 2;
+    } else if (value instanceof Buffer) {
+      return ((Buffer) value).length();
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    }
+    return value == null ? 4 : 8;
+  }
+
+  static Object copy(Object value) {
+    // Results are mutable json or buffers, each caller must get its own copy
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    } else if (value instanceof Buffer) {
+      return ((Buffer) value).copy();
+    }
+    return value;
+  }
+
+  /**
+   * Evict the cached results of every method using {@code invalidationAddress}, in all the proxies.
+   *
+   * @param vertx               the vert.x instance
+   * @param invalidationAddress the invalidation address of the {@link Cacheable} methods
+   */
+  public static void invalidate(Vertx vertx, String invalidationAddress) {
+    vertx.eventBus().publish(invalidationAddress, new JsonObject());
+  }
+
+  /**
+   * Evict the cached results of the {@code action} method, in all the proxies.
+   *
+   * @param vertx               the vert.x instance
+   * @param invalidationAddress the invalidation address of the {@link Cacheable} method
+   * @param action              the name of the method
+   */
+  public static void invalidate(Vertx vertx, String invalidationAddress, String action) {
+    vertx.eventBus().publish(invalidationAddress, new JsonObject().put("action", action));
+  }
+
+  /**
+   * Evict the cached result of the {@code action} method for the given arguments, in all the proxies. The arguments
+   * are one field per parameter, named after the parameter, in any order, each field being the json encoding of the
+   * argument: a data object is its {@code toJson()}, an enum its name and a character its code. The numbers match
+   * whatever their type, {@code 1}, {@code 1L} and {@code 1.0} being the same argument.
+   * <p>
+   * The proxies using {@link CallProtocol#PACKED} or {@link CallProtocol#BINARY} send the numeric collections and the
+   * {@link BinaryEncoded} data objects as buffers: their cached results are only evicted by
+   * {@link #invalidate(Vertx, String, String)}.
+   *
+   * @param vertx               the vert.x instance
+   * @param invalidationAddress the invalidation address of the {@link Cacheable} method
+   * @param action              the name of the method
+   * @param args                the arguments of the call
+   */
+  public static void invalidate(Vertx vertx, String invalidationAddress, String action, JsonObject args) {
+    vertx.eventBus().publish(invalidationAddress, new JsonObject().put("action", action).put("args", args));
+  }
+}
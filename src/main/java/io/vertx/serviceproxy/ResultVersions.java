@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Implemented by a service whose {@link Conditional} methods know the version of their result before computing it,
+ * e.g. from a revision counter or the last modification time of the data they read.
+ * <p>
+ * The service handler asks the version of the result before invoking the method: when the caller already has the
+ * result of this version, the handler replies that the result is not modified without invoking the method, nor
+ * converting or hashing its result. Otherwise the result is tagged with the version. The results whose version is
+ * unknown are tagged with a digest of their json instead.
+ * <p>
+ * The version is asked on the event loop, before the call is handed over to the workers of the service, so it must
+ * not block. As it is asked before the result is computed, a result is never tagged with a version newer than its
+ * own.
+ */
+public interface ResultVersions {
+
+  /**
+   * @param action the name of the called method
+   * @param args   the arguments of the call keyed by the names of the parameters, as received: the collections and
+   *               the data objects may still be encoded
+   * @return the version of the result of the call, or {@code null} when it is unknown
+   */
+  String resultVersion(String action, JsonObject args);
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of a service method whose value routes the call when the proxy uses the
+ * {@link RoutingStrategy#CONSISTENT_HASH} strategy: calls having the same routing key are sent to the same service
+ * instance, as long as the set of instances does not change.
+ * <p>
+ * At most one parameter of a method can be annotated, the {@code toString()} of its value is the routing key.
+ * Calls of methods without routing key, or with a {@code null} routing key, are sent to the instance having the
+ * fewest outstanding calls.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface RoutingKey {
+}
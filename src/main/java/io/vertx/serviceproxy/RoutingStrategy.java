@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+/**
+ * How a proxy picks the service instance receiving a call.
+ * <p>
+ * Every strategy but {@link #EVENT_BUS} requires the service to be registered with
+ * {@link ServiceOptions#setInstanceRouting(boolean)} enabled, so that each instance is also reachable on its own
+ * address. Until the proxy has discovered at least one instance, calls are sent to the shared service address.
+ */
+public enum RoutingStrategy {
+
+  /**
+   * Calls are sent to the shared service address and the event bus round-robins them between the instances.
+   */
+  EVENT_BUS,
+
+  /**
+   * Calls are sent to the instance having the fewest calls awaiting a reply from this proxy.
+   */
+  LEAST_OUTSTANDING,
+
+  /**
+   * Two instances are picked at random and the call is sent to the one having the fewest calls awaiting a reply
+   * from this proxy.
+   */
+  POWER_OF_TWO_CHOICES,
+
+  /**
+   * Calls are sent to the instance owning the value of their {@link RoutingKey} parameter on a consistent-hash ring,
+   * so that calls having the same routing key land on the same instance. Calls without routing key are routed as
+   * with {@link #LEAST_OUTSTANDING}.
+   */
+  CONSISTENT_HASH
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The deployment of the {@link ServiceOptions#getInstances()} instances of a service registered with
+ * {@link ProxyHelper#registerService(Class, Vertx, Supplier, String, ServiceOptions, Handler)}.
+ * <p>
+ * Each instance is deployed as a child verticle, so that vert.x gives it its own context on the next event loop, and
+ * registers its own consumer on the service address, so that the event bus round-robins the calls between the
+ * instances. Undeploying this verticle undeploys the instances and unregisters their consumers.
+ * <p>
+ * The instances of a {@link ServiceOptions#isKeyOrdered() key ordered} service have no consumer of their own: a
+ * single consumer registered on the context of this verticle hands the calls to the instances with a
+ * {@link KeyDispatcher}.
+ *
+ * @param <T> the type of the service interface
+ */
+class ServiceDeployment<T> extends AbstractVerticle {
+
+  private final Class<T> clazz;
+  private final Supplier<T> factory;
+  private final String address;
+  private final ServiceOptions options;
+  private MessageConsumer<JsonObject> dispatcher;
+
+  ServiceDeployment(Class<T> clazz, Supplier<T> factory, String address, ServiceOptions options) {
+    this.clazz = clazz;
+    this.factory = factory;
+    this.address = address;
+    this.options = new ServiceOptions(options);
+  }
+
+  @Override
+  public void start(Future<Void> startFuture) {
+    List<Instance> instances = new ArrayList<>();
+    List<Future> deployments = new ArrayList<>();
+    for (int i = 0; i < options.getInstances(); i++) {
+      Instance instance = new Instance();
+      Future<String> deployment = Future.future();
+      vertx.deployVerticle(instance, deployment.completer());
+      instances.add(instance);
+      deployments.add(deployment);
+    }
+    CompositeFuture.all(deployments).setHandler(ar -> {
+      if (ar.failed()) {
+        startFuture.fail(ar.cause());
+      } else if (options.isKeyOrdered()) {
+        List<ProxyHandler> handlers = new ArrayList<>();
+        List<Context> contexts = new ArrayList<>();
+        for (Instance instance : instances) {
+          handlers.add(instance.handler);
+          contexts.add(instance.context());
+        }
+        dispatcher = registerDispatcher(clazz, vertx, address, options, handlers, contexts);
+        dispatcher.completionHandler(startFuture.completer());
+      } else {
+        startFuture.complete();
+      }
+    });
+  }
+
+  @Override
+  public void stop() {
+    if (dispatcher != null) {
+      dispatcher.unregister();
+    }
+  }
+
+  /**
+   * Register an instance of the service on each of the {@code contexts}.
+   *
+   * @param clazz             the service class (interface)
+   * @param vertx             the vert.x instance
+   * @param factory           the factory of the service objects, called once per context
+   * @param address           the address on which the service is published
+   * @param options           the service options
+   * @param contexts          the contexts of the instances
+   * @param completionHandler called with the consumers of the service once they are all registered
+   * @param <T>               the type of the service interface
+   */
+  @SuppressWarnings("unchecked")
+  static <T> void register(Class<T> clazz, Vertx vertx, Supplier<T> factory, String address, ServiceOptions options,
+                           List<Context> contexts,
+                           Handler<AsyncResult<List<MessageConsumer<JsonObject>>>> completionHandler) {
+    boolean keyOrdered = options.isKeyOrdered();
+    Context caller = vertx.getOrCreateContext();
+    // Each slot is written once on the context of its instance, the completion of the futures publishes them
+    MessageConsumer<JsonObject>[] consumers = new MessageConsumer[contexts.size()];
+    ProxyHandler[] handlers = new ProxyHandler[contexts.size()];
+    List<Future> registrations = new ArrayList<>();
+    for (int i = 0; i < consumers.length; i++) {
+      int index = i;
+      Future<Void> registration = Future.future();
+      registrations.add(registration);
+      contexts.get(i).runOnContext(v -> {
+        try {
+          if (keyOrdered) {
+            handlers[index] = ProxyHelper.createHandler(clazz, vertx, factory.get(), options);
+            registration.complete();
+          } else {
+            consumers[index] = ProxyHelper.registerService(clazz, vertx, factory.get(), address, options);
+            consumers[index].completionHandler(registration.completer());
+          }
+        } catch (Exception e) {
+          registration.fail(e);
+        }
+      });
+    }
+    CompositeFuture.all(registrations).setHandler(ar -> {
+      if (ar.failed()) {
+        for (MessageConsumer<JsonObject> consumer : consumers) {
+          if (consumer != null) {
+            ProxyHelper.unregisterService(consumer);
+          }
+        }
+        for (ProxyHandler handler : handlers) {
+          if (handler != null) {
+            handler.closeExecutor();
+          }
+        }
+        completionHandler.handle(Future.failedFuture(ar.cause()));
+      } else if (keyOrdered) {
+        caller.runOnContext(v -> {
+          MessageConsumer<JsonObject> consumer = registerDispatcher(clazz, vertx, address, options,
+            Arrays.asList(handlers), contexts);
+          consumer.completionHandler(registered -> {
+            if (registered.succeeded()) {
+              completionHandler.handle(Future.succeededFuture(Collections.singletonList(consumer)));
+            } else {
+              completionHandler.handle(Future.failedFuture(registered.cause()));
+            }
+          });
+        });
+      } else {
+        completionHandler.handle(Future.succeededFuture(Arrays.asList(consumers)));
+      }
+    });
+  }
+
+  /**
+   * Register the single consumer of a {@link ServiceOptions#isKeyOrdered() key ordered} service, dispatching the
+   * calls between its instances.
+   */
+  private static MessageConsumer<JsonObject> registerDispatcher(Class<?> clazz, Vertx vertx, String address,
+                                                                ServiceOptions options, List<ProxyHandler> handlers,
+                                                                List<Context> contexts) {
+    KeyDispatcher dispatcher = new KeyDispatcher(clazz, handlers, contexts);
+    MessageConsumer<JsonObject> consumer = vertx.eventBus().<JsonObject>consumer(address).handler(dispatcher);
+    Runnable withdraw = options.isInstanceRouting() ? ServiceInstances.registerInstance(vertx, consumer, dispatcher) : null;
+    consumer.endHandler(v -> {
+      if (withdraw != null) {
+        withdraw.run();
+      }
+      for (int i = 0; i < handlers.size(); i++) {
+        ProxyHandler handler = handlers.get(i);
+        // On the context of the instance, as closing flushes the calls waiting for their batch to the service
+        contexts.get(i).runOnContext(v2 -> {
+          handler.close();
+          handler.closeExecutor();
+        });
+      }
+    });
+    return consumer;
+  }
+
+  private class Instance extends AbstractVerticle {
+
+    private MessageConsumer<JsonObject> consumer;
+    private ProxyHandler handler;
+
+    Context context() {
+      return context;
+    }
+
+    @Override
+    public void start(Future<Void> startFuture) {
+      if (options.isKeyOrdered()) {
+        // The calls are handed to the instance by the dispatcher, the instance has no consumer of its own
+        handler = ProxyHelper.createHandler(clazz, vertx, factory.get(), options);
+        startFuture.complete();
+      } else {
+        consumer = ProxyHelper.registerService(clazz, vertx, factory.get(), address, options);
+        consumer.completionHandler(startFuture.completer());
+      }
+    }
+
+    @Override
+    public void stop() {
+      if (consumer != null) {
+        ProxyHelper.unregisterService(consumer);
+      }
+      if (handler != null) {
+        handler.close();
+      }
+    }
+  }
+}
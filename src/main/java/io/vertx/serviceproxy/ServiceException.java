@@ -6,6 +6,8 @@ import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Collections;
+
 /**
  * An Exception to be returned from Service implementations.
  *
@@ -13,7 +15,17 @@ import io.vertx.core.json.JsonObject;
  */
 public class ServiceException extends ReplyException {
 
+  /**
+   * The debug info of the {@link #stackless(int, String) stackless} and {@link #coded(int, Object...) coded}
+   * exceptions created without debug info, shared and immutable. The exceptions received from the event bus have
+   * their own debug info.
+   */
+  static final JsonObject NO_DEBUG_INFO = new JsonObject(Collections.emptyMap());
+
   private final JsonObject debugInfo;
+  private final Object[] parameters;
+  private boolean writableStackTrace;
+  private volatile String message;
 
   /**
    * Create a ServiceException.
@@ -26,9 +38,106 @@ public class ServiceException extends ReplyException {
   }
 
   public ServiceException(int failureCode, String message, JsonObject debugInfo) {
+    this(failureCode, message, debugInfo, null, true);
+  }
+
+  private ServiceException(int failureCode, String message, JsonObject debugInfo, Object[] parameters,
+                           boolean writableStackTrace) {
     super(ReplyFailure.RECIPIENT_FAILURE, failureCode, message);
     this.debugInfo = debugInfo;
+    this.parameters = parameters;
+    // The stack trace is not filled in by the super constructor, this field being still false when it is called
+    this.writableStackTrace = writableStackTrace;
+    fillInStackTrace();
+  }
+
+  /**
+   * Create a ServiceException without stack trace, for the failures that are expected results of the service, like
+   * validation failures. The exception does not capture the stack of the caller, and since it cannot be modified it can
+   * also be created once and kept in a constant to fail all the calls with the same failure.
+   *
+   * @param failureCode The failure code.
+   * @param message The failure message.
+   * @return The ServiceException.
+   */
+  public static ServiceException stackless(int failureCode, String message) {
+    return new ServiceException(failureCode, message, NO_DEBUG_INFO, null, false);
+  }
+
+  /**
+   * Create a ServiceException without stack trace, see {@link #stackless(int, String)}.
+   *
+   * @param failureCode The failure code.
+   * @param message The failure message.
+   * @param debugInfo The debug info.
+   * @return The ServiceException.
+   */
+  public static ServiceException stackless(int failureCode, String message, JsonObject debugInfo) {
+    return new ServiceException(failureCode, message, debugInfo, null, false);
+  }
+
+  /**
+   * Create a ServiceException for a failure code declared in {@link FailureCodes}. The exception is sent as its
+   * failure code and parameters only, and its message is formatted from the template of the code when it is read.
+   * Like the {@link #stackless(int, String) stackless} exceptions, it has no stack trace and no debug info.
+   *
+   * @param failureCode The failure code.
+   * @param parameters The parameters of the message template, strings, integers, longs, doubles or booleans, the
+   *                   other values being converted to strings.
+   * @return The ServiceException.
+   */
+  public static ServiceException coded(int failureCode, Object... parameters) {
+    if (parameters.length > 255) {
+      throw new IllegalArgumentException("Too many parameters: " + parameters.length);
+    }
+    Object[] values = new Object[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      Object parameter = parameters[i];
+      if (parameter instanceof Integer || parameter instanceof Long || parameter instanceof Double
+        || parameter instanceof Boolean || parameter == null) {
+        values[i] = parameter;
+      } else {
+        values[i] = parameter.toString();
+      }
+    }
+    return new ServiceException(failureCode, null, NO_DEBUG_INFO, values, false);
+  }
+
+  /**
+   * @return a coded exception received from the event bus, its {@code parameters} being already converted, with its
+   * own empty debug info
+   */
+  static ServiceException decoded(int failureCode, Object[] parameters) {
+    return new ServiceException(failureCode, null, new JsonObject(), parameters, false);
+  }
+
+  /**
+   * @return the parameters of the exceptions created with {@link #coded(int, Object...)}, {@code null} otherwise
+   */
+  Object[] parameters() {
+    return parameters;
+  }
+
+  @Override
+  public String getMessage() {
+    if (parameters == null) {
+      return super.getMessage();
+    }
+    String formatted = message;
+    if (formatted == null) {
+      formatted = FailureCodes.format(failureCode(), parameters);
+      message = formatted;
+    }
+    return formatted;
+  }
 
+  /**
+   * Fill in the stack trace, unless the exception was created by {@link #stackless(int, String)} or
+   * {@link #coded(int, Object...)}.
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return writableStackTrace ? super.fillInStackTrace() : this;
   }
 
   /**
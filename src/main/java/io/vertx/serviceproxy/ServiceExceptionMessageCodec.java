@@ -12,9 +12,24 @@ import io.vertx.core.json.JsonObject;
  */
 public class ServiceExceptionMessageCodec implements MessageCodec<ServiceException, ServiceException> {
 
+  private static final byte[] EMPTY_JSON = {'{', '}'};
+  private static final byte CODED = 2;
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INT = 2;
+  private static final byte LONG = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte BOOLEAN = 5;
+
   @Override
   public void encodeToWire(Buffer buffer, ServiceException body) {
     buffer.appendInt(body.failureCode());
+    if (body.parameters() != null) {
+      // The message is formatted from the template of the code by the receiver
+      buffer.appendByte(CODED);
+      writeParameters(buffer, body.parameters());
+      return;
+    }
     if (body.getMessage() == null) {
       buffer.appendByte((byte)0);
     } else {
@@ -23,14 +38,25 @@ public class ServiceExceptionMessageCodec implements MessageCodec<ServiceExcepti
       buffer.appendInt(encoded.length);
       buffer.appendBytes(encoded);
     }
-    body.getDebugInfo().writeToBuffer(buffer);
+    JsonObject debugInfo = body.getDebugInfo();
+    if (debugInfo.isEmpty()) {
+      // Most failures have no debug info, write its encoding as is
+      buffer.appendInt(EMPTY_JSON.length);
+      buffer.appendBytes(EMPTY_JSON);
+    } else {
+      debugInfo.writeToBuffer(buffer);
+    }
   }
 
   @Override
   public ServiceException decodeFromWire(int pos, Buffer buffer) {
     int failureCode = buffer.getInt(pos);
     pos += 4;
-    boolean isNull = buffer.getByte(pos) == (byte)0;
+    byte kind = buffer.getByte(pos);
+    if (kind == CODED) {
+      return ServiceException.decoded(failureCode, readParameters(pos + 1, buffer));
+    }
+    boolean isNull = kind == (byte)0;
     pos++;
     String message;
     if (!isNull) {
@@ -42,9 +68,71 @@ public class ServiceExceptionMessageCodec implements MessageCodec<ServiceExcepti
     } else {
       message = null;
     }
+    // The receiver may add to the debug info, it is not shared with the other exceptions
     JsonObject debugInfo = new JsonObject();
-    debugInfo.readFromBuffer(pos, buffer);
-    return new ServiceException(failureCode, message, debugInfo);
+    if (!isEmptyJson(pos, buffer)) {
+      debugInfo.readFromBuffer(pos, buffer);
+    }
+    // The stack of the decoding thread would not tell where the failure happened
+    return ServiceException.stackless(failureCode, message, debugInfo);
+  }
+
+  private static void writeParameters(Buffer buffer, Object[] parameters) {
+    buffer.appendByte((byte) parameters.length);
+    for (Object parameter : parameters) {
+      if (parameter == null) {
+        buffer.appendByte(NULL);
+      } else if (parameter instanceof Integer) {
+        buffer.appendByte(INT).appendInt((Integer) parameter);
+      } else if (parameter instanceof Long) {
+        buffer.appendByte(LONG).appendLong((Long) parameter);
+      } else if (parameter instanceof Double) {
+        buffer.appendByte(DOUBLE).appendDouble((Double) parameter);
+      } else if (parameter instanceof Boolean) {
+        buffer.appendByte(BOOLEAN).appendByte((Boolean) parameter ? (byte) 1 : (byte) 0);
+      } else {
+        byte[] encoded = parameter.toString().getBytes(CharsetUtil.UTF_8);
+        buffer.appendByte(STRING).appendInt(encoded.length).appendBytes(encoded);
+      }
+    }
+  }
+
+  private static Object[] readParameters(int pos, Buffer buffer) {
+    Object[] parameters = new Object[buffer.getByte(pos++) & 0xFF];
+    for (int i = 0; i < parameters.length; i++) {
+      byte type = buffer.getByte(pos++);
+      switch (type) {
+        case INT:
+          parameters[i] = buffer.getInt(pos);
+          pos += 4;
+          break;
+        case LONG:
+          parameters[i] = buffer.getLong(pos);
+          pos += 8;
+          break;
+        case DOUBLE:
+          parameters[i] = buffer.getDouble(pos);
+          pos += 8;
+          break;
+        case BOOLEAN:
+          parameters[i] = buffer.getByte(pos++) != 0;
+          break;
+        case STRING:
+          int length = buffer.getInt(pos);
+          pos += 4;
+          parameters[i] = new String(buffer.getBytes(pos, pos + length), CharsetUtil.UTF_8);
+          pos += length;
+          break;
+        default:
+          parameters[i] = null;
+      }
+    }
+    return parameters;
+  }
+
+  private static boolean isEmptyJson(int pos, Buffer buffer) {
+    return buffer.getInt(pos) == EMPTY_JSON.length && buffer.getByte(pos + 4) == EMPTY_JSON[0]
+      && buffer.getByte(pos + 5) == EMPTY_JSON[1];
   }
 
   @Override
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Invokes the service methods of a service handler according to their {@link ExecutionMode}.
+ */
+final class ServiceExecutor {
+
+  /**
+   * The failure code of the calls rejected because too many calls are waiting for a worker.
+   */
+  static final int QUEUE_FULL = 503;
+
+  private static final ClassValue<Map<String, ExecutionMode>> BLOCKING_METHODS = new ClassValue<Map<String, ExecutionMode>>() {
+    @Override
+    protected Map<String, ExecutionMode> computeValue(Class<?> type) {
+      Map<String, ExecutionMode> methods = new HashMap<>();
+      for (Method method : type.getMethods()) {
+        if (Modifier.isStatic(method.getModifiers())) {
+          continue;
+        }
+        Blocking blocking = method.getAnnotation(Blocking.class);
+        if (blocking == null) {
+          blocking = method.getDeclaringClass().getAnnotation(Blocking.class);
+        }
+        if (blocking == null) {
+          blocking = type.getAnnotation(Blocking.class);
+        }
+        if (blocking != null) {
+          methods.put(method.getName(), blocking.ordered() ? ExecutionMode.ORDERED_WORKER : ExecutionMode.WORKER);
+        }
+      }
+      return methods.isEmpty() ? Collections.emptyMap() : methods;
+    }
+  };
+
+  private final Vertx vertx;
+  private final boolean keyOrdered;
+  private final Map<String, ExecutionMode> modes;
+  private final ExecutionMode defaultMode;
+  private final WorkerExecutor workerExecutor;
+  private final ExecutorService virtualThreads;
+  private final int maxQueuedCalls;
+  private final AtomicInteger queuedCalls = new AtomicInteger();
+
+  ServiceExecutor(Vertx vertx, Class<?> clazz, ServiceOptions options) {
+    this.vertx = vertx;
+    this.modes = BLOCKING_METHODS.get(clazz);
+    this.maxQueuedCalls = options.getMaxQueuedCalls();
+    this.keyOrdered = options.isKeyOrdered();
+    ExecutionMode mode = keyOrdered ? ordered(options.getExecutionMode()) : options.getExecutionMode();
+    this.virtualThreads = mode == ExecutionMode.VIRTUAL_THREAD ? virtualThreadExecutor() : null;
+    if (mode == ExecutionMode.VIRTUAL_THREAD && virtualThreads == null) {
+      mode = ExecutionMode.WORKER;
+    }
+    this.defaultMode = mode;
+    boolean workers = mode == ExecutionMode.WORKER || mode == ExecutionMode.ORDERED_WORKER || !modes.isEmpty();
+    if (workers && options.getWorkerPoolName() != null) {
+      this.workerExecutor = vertx.createSharedWorkerExecutor(options.getWorkerPoolName(), options.getWorkerPoolSize());
+    } else {
+      this.workerExecutor = null;
+    }
+  }
+
+  /**
+   * @return the mode keeping the order of the calls of an instance of a key ordered service
+   */
+  private static ExecutionMode ordered(ExecutionMode mode) {
+    return mode == ExecutionMode.WORKER || mode == ExecutionMode.VIRTUAL_THREAD ? ExecutionMode.ORDERED_WORKER : mode;
+  }
+
+  /**
+   * @return an executor starting a virtual thread per task, or {@code null} when the runtime has no virtual threads
+   */
+  private static ExecutorService virtualThreadExecutor() {
+    try {
+      // Looked up reflectively as the module targets runtimes without virtual threads
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Invoke the service method called by {@code msg} with the {@code handler}.
+   */
+  void execute(String action, Message<JsonObject> msg, ProxyHandler handler) {
+    ExecutionMode mode = action == null ? defaultMode : modes.getOrDefault(action, defaultMode);
+    if (keyOrdered) {
+      mode = ordered(mode);
+    }
+    if (mode == ExecutionMode.EVENT_LOOP) {
+      handler.invoke(msg);
+      return;
+    }
+    if (queuedCalls.incrementAndGet() > maxQueuedCalls) {
+      queuedCalls.decrementAndGet();
+      msg.reply(new ServiceException(QUEUE_FULL, "Too many calls waiting for a worker"));
+      return;
+    }
+    if (mode == ExecutionMode.VIRTUAL_THREAD) {
+      Context context = vertx.getOrCreateContext();
+      virtualThreads.execute(() -> {
+        try {
+          handler.invoke(new ContextMessage(context, msg));
+        } catch (Throwable ignore) {
+          // Already replied by the handler
+        } finally {
+          queuedCalls.decrementAndGet();
+        }
+      });
+      return;
+    }
+    boolean ordered = mode == ExecutionMode.ORDERED_WORKER;
+    Handler<Future<Void>> task = future -> {
+      handler.invoke(msg);
+      future.complete();
+    };
+    Handler<AsyncResult<Void>> done = ar -> queuedCalls.decrementAndGet();
+    if (workerExecutor != null) {
+      workerExecutor.executeBlocking(task, ordered, done);
+    } else {
+      vertx.executeBlocking(task, ordered, done);
+    }
+  }
+
+  /**
+   * Release the worker pool.
+   */
+  void close() {
+    if (workerExecutor != null) {
+      workerExecutor.close();
+    }
+    if (virtualThreads != null) {
+      virtualThreads.shutdown();
+    }
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The set of instances of a service, as learnt by a proxy from the announcements of the instances registered with
+ * {@link ServiceOptions#setInstanceRouting(boolean)}.
+ * <p>
+ * Instances announce themselves on an announcement address derived from the service address: they publish a
+ * {@code join} message when registered and each time a proxy publishes a {@code discover} message, and a
+ * {@code leave} message when unregistered. Announcements carry an identifier of the vert.x instance the service
+ * instance is registered on, so that proxies can tell the local instances from the remote ones.
+ * <p>
+ * The proxies of a vert.x instance share a single view of the instances of each service address, so that the
+ * announcements are consumed, and the instances discovered, once whatever the number of proxies.
+ */
+public class ServiceInstances {
+
+  static final String JOIN = "join";
+  static final String LEAVE = "leave";
+  static final String DISCOVER = "discover";
+
+  private static final Instance[] NO_INSTANCES = new Instance[0];
+
+  private static final String SHARED_MAP = "__vertx.serviceproxy.instances";
+  private static final Object SHARED_LOCK = new Object();
+
+  /**
+   * The view of the instances shared by the proxies of a service address, and the number of proxies using it.
+   */
+  private static final class Shared implements Shareable {
+
+    final ServiceInstances instances;
+    int references;
+
+    Shared(ServiceInstances instances) {
+      this.instances = instances;
+    }
+  }
+
+  /**
+   * An instance of the service and the number of calls awaiting its reply.
+   */
+  static final class Instance {
+
+    final String address;
+    final boolean local;
+    final AtomicInteger outstanding = new AtomicInteger();
+
+    Instance(String address, boolean local) {
+      this.address = address;
+      this.local = local;
+    }
+  }
+
+  private final MessageConsumer<JsonObject> consumer;
+  private volatile Instance[] instances = NO_INSTANCES;
+  private volatile Instance[] locals = NO_INSTANCES;
+  private volatile Instance[] remotes = NO_INSTANCES;
+
+  /**
+   * Start tracking the instances of the service published on {@code address}.
+   *
+   * @param vertx   the vert.x instance
+   * @param address the service address
+   */
+  public ServiceInstances(Vertx vertx, String address) {
+    EventBus eventBus = vertx.eventBus();
+    String announceAddress = announceAddress(address);
+    String nodeId = nodeId(vertx);
+    consumer = eventBus.<JsonObject>consumer(announceAddress).handler(msg -> {
+      JsonObject body = msg.body();
+      String type = body.getString("type");
+      if (JOIN.equals(type)) {
+        add(body.getString("address"), nodeId.equals(body.getString("node")));
+      } else if (LEAVE.equals(type)) {
+        remove(body.getString("address"));
+      }
+    });
+    // Only ask once registered, otherwise the announcements could be missed in a cluster
+    consumer.completionHandler(ar -> eventBus.publish(announceAddress, new JsonObject().put("type", DISCOVER)));
+  }
+
+  /**
+   * @return the addresses of the instances known so far
+   */
+  public String[] addresses() {
+    Instance[] current = instances;
+    String[] addresses = new String[current.length];
+    for (int i = 0; i < current.length; i++) {
+      addresses[i] = current[i].address;
+    }
+    return addresses;
+  }
+
+  /**
+   * Stop tracking the instances.
+   */
+  public void close() {
+    consumer.unregister();
+  }
+
+  /**
+   * @return the instances of the service published on {@code address}, shared by the proxies of the vert.x instance
+   * until each of them {@link #release(Vertx, String) releases} them
+   */
+  static ServiceInstances acquire(Vertx vertx, String address) {
+    LocalMap<String, Shared> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+    synchronized (SHARED_LOCK) {
+      Shared shared = map.get(address);
+      if (shared == null) {
+        shared = new Shared(new ServiceInstances(vertx, address));
+        map.put(address, shared);
+      }
+      shared.references++;
+      return shared.instances;
+    }
+  }
+
+  /**
+   * Release the instances acquired with {@link #acquire(Vertx, String)}, the tracking stopping once all the proxies
+   * released them.
+   */
+  static void release(Vertx vertx, String address) {
+    LocalMap<String, Shared> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+    synchronized (SHARED_LOCK) {
+      Shared shared = map.get(address);
+      if (shared != null && --shared.references == 0) {
+        map.remove(address);
+        shared.instances.close();
+      }
+    }
+  }
+
+  Instance[] instances() {
+    return instances;
+  }
+
+  /**
+   * @return the instances registered on the same vert.x instance as this proxy
+   */
+  Instance[] locals() {
+    return locals;
+  }
+
+  /**
+   * @return the instances registered on other vert.x instances of the cluster
+   */
+  Instance[] remotes() {
+    return remotes;
+  }
+
+  synchronized void add(String address, boolean local) {
+    Instance[] current = instances;
+    for (Instance instance : current) {
+      if (instance.address.equals(address)) {
+        return;
+      }
+    }
+    Instance[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = new Instance(address, local);
+    update(updated);
+  }
+
+  synchronized void remove(String address) {
+    Instance[] current = instances;
+    for (int i = 0; i < current.length; i++) {
+      if (current[i].address.equals(address)) {
+        Instance[] updated = new Instance[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, i);
+        System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+        update(updated);
+        return;
+      }
+    }
+  }
+
+  private void update(Instance[] updated) {
+    int localCount = 0;
+    for (Instance instance : updated) {
+      if (instance.local) {
+        localCount++;
+      }
+    }
+    Instance[] updatedLocals = new Instance[localCount];
+    Instance[] updatedRemotes = new Instance[updated.length - localCount];
+    int l = 0;
+    int r = 0;
+    for (Instance instance : updated) {
+      if (instance.local) {
+        updatedLocals[l++] = instance;
+      } else {
+        updatedRemotes[r++] = instance;
+      }
+    }
+    locals = updatedLocals;
+    remotes = updatedRemotes;
+    instances = updated;
+  }
+
+  /**
+   * @return an identifier of the vert.x instance, shared by all the proxies and services of this instance
+   */
+  static String nodeId(Vertx vertx) {
+    LocalMap<String, String> map = vertx.sharedData().getLocalMap("__vertx.serviceproxy");
+    String nodeId = map.get("nodeId");
+    if (nodeId == null) {
+      String candidate = UUID.randomUUID().toString();
+      nodeId = map.putIfAbsent("nodeId", candidate);
+      if (nodeId == null) {
+        nodeId = candidate;
+      }
+    }
+    return nodeId;
+  }
+
+  static String announceAddress(String address) {
+    return address + ".instances";
+  }
+
+  /**
+   * Register {@code handler} on a new instance address and announce it to the proxies of the service address the
+   * {@code serviceConsumer} is registered on.
+   *
+   * @param vertx           the vert.x instance
+   * @param serviceConsumer the consumer registered on the service address
+   * @param handler         the service handler
+   * @return the action withdrawing the instance, to run when the {@code serviceConsumer} is unregistered
+   */
+  static Runnable registerInstance(Vertx vertx, MessageConsumer<JsonObject> serviceConsumer,
+                                   Handler<Message<JsonObject>> handler) {
+    EventBus eventBus = vertx.eventBus();
+    String announceAddress = announceAddress(serviceConsumer.address());
+    String instanceAddress = serviceConsumer.address() + "." + UUID.randomUUID().toString();
+    JsonObject join = new JsonObject().put("type", JOIN).put("address", instanceAddress).put("node", nodeId(vertx));
+    MessageConsumer<JsonObject> instanceConsumer = eventBus.<JsonObject>consumer(instanceAddress).handler(handler);
+    MessageConsumer<JsonObject> announcer = eventBus.<JsonObject>consumer(announceAddress).handler(msg -> {
+      if (DISCOVER.equals(msg.body().getString("type"))) {
+        eventBus.publish(announceAddress, join);
+      }
+    });
+    announcer.completionHandler(ar -> eventBus.publish(announceAddress, join));
+    return () -> {
+      eventBus.publish(announceAddress, new JsonObject().put("type", LEAVE).put("address", instanceAddress));
+      announcer.unregister();
+      instanceConsumer.unregister();
+    };
+  }
+}
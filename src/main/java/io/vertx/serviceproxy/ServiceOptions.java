@@ -0,0 +1,398 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+/**
+ * Options configuring a service registered with
+ * {@link ProxyHelper#registerService(Class, io.vertx.core.Vertx, Object, String, ServiceOptions)}.
+ */
+public class ServiceOptions {
+
+  /**
+   * The default connection timeout in seconds = 5 minutes
+   */
+  public static final long DEFAULT_TIMEOUT_SECONDS = ProxyHelper.DEFAULT_CONNECTION_TIMEOUT;
+
+  /**
+   * The default top level flag = true
+   */
+  public static final boolean DEFAULT_TOP_LEVEL = true;
+
+  /**
+   * The default instance routing flag = false
+   */
+  public static final boolean DEFAULT_INSTANCE_ROUTING = false;
+
+  /**
+   * The default execution mode = {@link ExecutionMode#EVENT_LOOP}
+   */
+  public static final ExecutionMode DEFAULT_EXECUTION_MODE = ExecutionMode.EVENT_LOOP;
+
+  /**
+   * The default worker pool name = {@code null}, the vert.x worker pool
+   */
+  public static final String DEFAULT_WORKER_POOL_NAME = null;
+
+  /**
+   * The default worker pool size = 20
+   */
+  public static final int DEFAULT_WORKER_POOL_SIZE = 20;
+
+  /**
+   * The default maximum number of calls waiting for a worker = no limit
+   */
+  public static final int DEFAULT_MAX_QUEUED_CALLS = Integer.MAX_VALUE;
+
+  /**
+   * The default number of instances = 1
+   */
+  public static final int DEFAULT_INSTANCES = 1;
+
+  /**
+   * The default key ordered flag = false
+   */
+  public static final boolean DEFAULT_KEY_ORDERED = false;
+
+  /**
+   * The default compression threshold = 0, compression disabled
+   */
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 0;
+
+  /**
+   * The default offload threshold = 0, offloading disabled
+   */
+  public static final int DEFAULT_OFFLOAD_THRESHOLD = 0;
+
+  /**
+   * The default lazy arguments flag = false
+   */
+  public static final boolean DEFAULT_LAZY_ARGUMENTS = false;
+
+  private long timeoutSeconds;
+  private boolean topLevel;
+  private boolean instanceRouting;
+  private ExecutionMode executionMode;
+  private String workerPoolName;
+  private int workerPoolSize;
+  private int maxQueuedCalls;
+  private int instances;
+  private boolean keyOrdered;
+  private int compressionThreshold;
+  private int offloadThreshold;
+  private boolean lazyArguments;
+
+  /**
+   * Default constructor
+   */
+  public ServiceOptions() {
+    timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    topLevel = DEFAULT_TOP_LEVEL;
+    instanceRouting = DEFAULT_INSTANCE_ROUTING;
+    executionMode = DEFAULT_EXECUTION_MODE;
+    workerPoolName = DEFAULT_WORKER_POOL_NAME;
+    workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+    maxQueuedCalls = DEFAULT_MAX_QUEUED_CALLS;
+    instances = DEFAULT_INSTANCES;
+    keyOrdered = DEFAULT_KEY_ORDERED;
+    compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    offloadThreshold = DEFAULT_OFFLOAD_THRESHOLD;
+    lazyArguments = DEFAULT_LAZY_ARGUMENTS;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the options to copy
+   */
+  public ServiceOptions(ServiceOptions other) {
+    this.timeoutSeconds = other.timeoutSeconds;
+    this.topLevel = other.topLevel;
+    this.instanceRouting = other.instanceRouting;
+    this.executionMode = other.executionMode;
+    this.workerPoolName = other.workerPoolName;
+    this.workerPoolSize = other.workerPoolSize;
+    this.maxQueuedCalls = other.maxQueuedCalls;
+    this.instances = other.instances;
+    this.keyOrdered = other.keyOrdered;
+    this.compressionThreshold = other.compressionThreshold;
+    this.offloadThreshold = other.offloadThreshold;
+    this.lazyArguments = other.lazyArguments;
+  }
+
+  /**
+   * @return the number of seconds after which an idle non top level service is closed
+   */
+  public long getTimeoutSeconds() {
+    return timeoutSeconds;
+  }
+
+  /**
+   * Set the number of seconds after which an idle non top level service is closed, {@code -1} disables the timeout.
+   *
+   * @param timeoutSeconds the timeout in seconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setTimeoutSeconds(long timeoutSeconds) {
+    this.timeoutSeconds = timeoutSeconds;
+    return this;
+  }
+
+  /**
+   * @return whether the service is a top level service, top level services never time out
+   */
+  public boolean isTopLevel() {
+    return topLevel;
+  }
+
+  /**
+   * Set whether the service is a top level service, top level services never time out.
+   *
+   * @param topLevel the top level flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setTopLevel(boolean topLevel) {
+    this.topLevel = topLevel;
+    return this;
+  }
+
+  /**
+   * @return whether the service is also registered on its own instance address
+   */
+  public boolean isInstanceRouting() {
+    return instanceRouting;
+  }
+
+  /**
+   * Set whether the service is also registered on its own instance address. The instance announces itself to the
+   * proxies of the service address, so that proxies using a {@link RoutingStrategy} other than
+   * {@link RoutingStrategy#EVENT_BUS} can send their calls to this specific instance.
+   *
+   * @param instanceRouting the instance routing flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setInstanceRouting(boolean instanceRouting) {
+    this.instanceRouting = instanceRouting;
+    return this;
+  }
+
+  /**
+   * @return where the methods which are not annotated with {@link Blocking} are invoked
+   */
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  /**
+   * Set where the methods which are not annotated with {@link Blocking} are invoked.
+   *
+   * @param executionMode the execution mode
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setExecutionMode(ExecutionMode executionMode) {
+    if (executionMode == null) {
+      throw new IllegalArgumentException("executionMode must not be null");
+    }
+    this.executionMode = executionMode;
+    return this;
+  }
+
+  /**
+   * @return the name of the worker pool executing the blocking methods, or {@code null} for the vert.x worker pool
+   */
+  public String getWorkerPoolName() {
+    return workerPoolName;
+  }
+
+  /**
+   * Set the name of the worker pool executing the blocking methods. Named pools are shared by the services using the
+   * same name, so that blocking services do not compete with the other users of the vert.x worker pool.
+   *
+   * @param workerPoolName the worker pool name, or {@code null} for the vert.x worker pool
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setWorkerPoolName(String workerPoolName) {
+    this.workerPoolName = workerPoolName;
+    return this;
+  }
+
+  /**
+   * @return the number of threads of the named worker pool
+   */
+  public int getWorkerPoolSize() {
+    return workerPoolSize;
+  }
+
+  /**
+   * Set the number of threads of the named worker pool, when the pool is created by this service.
+   *
+   * @param workerPoolSize the worker pool size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setWorkerPoolSize(int workerPoolSize) {
+    if (workerPoolSize < 1) {
+      throw new IllegalArgumentException("workerPoolSize must be > 0");
+    }
+    this.workerPoolSize = workerPoolSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of blocking calls waiting for a worker or being executed
+   */
+  public int getMaxQueuedCalls() {
+    return maxQueuedCalls;
+  }
+
+  /**
+   * Set the maximum number of blocking calls waiting for a worker or being executed. Calls received above it are
+   * not queued, they fail with a {@link ServiceException} having the failure code {@code 503}.
+   *
+   * @param maxQueuedCalls the maximum number of queued calls
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setMaxQueuedCalls(int maxQueuedCalls) {
+    if (maxQueuedCalls < 1) {
+      throw new IllegalArgumentException("maxQueuedCalls must be > 0");
+    }
+    this.maxQueuedCalls = maxQueuedCalls;
+    return this;
+  }
+
+  /**
+   * @return the number of instances of the service deployed by
+   * {@link ProxyHelper#registerService(Class, io.vertx.core.Vertx, java.util.function.Supplier, String, ServiceOptions, io.vertx.core.Handler)}
+   */
+  public int getInstances() {
+    return instances;
+  }
+
+  /**
+   * Set the number of instances of the service deployed by
+   * {@link ProxyHelper#registerService(Class, io.vertx.core.Vertx, java.util.function.Supplier, String, ServiceOptions, io.vertx.core.Handler)},
+   * each instance being registered on its own event loop. Using as many instances as event loops lets a service use
+   * every core of the node.
+   *
+   * @param instances the number of instances
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setInstances(int instances) {
+    if (instances < 1) {
+      throw new IllegalArgumentException("instances must be > 0");
+    }
+    this.instances = instances;
+    return this;
+  }
+
+  /**
+   * @return whether the calls having the same routing key are executed in order by the same instance
+   */
+  public boolean isKeyOrdered() {
+    return keyOrdered;
+  }
+
+  /**
+   * Set whether the calls having the same value for their {@link RoutingKey} parameter are executed in order by the
+   * same instance, when the service is registered as several instances. A single consumer receives the calls and
+   * hands each of them to the instance owning its routing key, so calls about the same entity never run concurrently
+   * while calls about different entities run on all the instances. Calls without routing key are handed to the
+   * instances in turn.
+   * <p>
+   * The methods of a key ordered service which would be executed on workers or on virtual threads, by the
+   * {@link #setExecutionMode(ExecutionMode) execution mode} or by {@link Blocking}, are executed on ordered workers
+   * instead, so that the order of the calls is kept whatever their execution mode.
+   *
+   * @param keyOrdered the key ordered flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setKeyOrdered(boolean keyOrdered) {
+    this.keyOrdered = keyOrdered;
+    return this;
+  }
+
+  /**
+   * @return the size in bytes above which the bodies sent between nodes are compressed, {@code 0} when disabled
+   */
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Set the size in bytes above which the replies sent to the proxies of other nodes are compressed, for the services
+   * replying large results when the network is the bottleneck. The replies smaller than the threshold, and the
+   * replies to the proxies of the same node, are never compressed. The calls are compressed by the proxies according
+   * to their own {@link ProxyOptions#setCompressionThreshold(int) threshold}.
+   *
+   * @param compressionThreshold the threshold, {@code 0} to disable compression
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setCompressionThreshold(int compressionThreshold) {
+    if (compressionThreshold < 0) {
+      throw new IllegalArgumentException("compressionThreshold must be >= 0");
+    }
+    this.compressionThreshold = compressionThreshold;
+    return this;
+  }
+
+  /**
+   * @return the number of elements from which the collections of data objects are converted on a worker thread,
+   * {@code 0} when disabled
+   */
+  public int getOffloadThreshold() {
+    return offloadThreshold;
+  }
+
+  /**
+   * Set the number of elements from which the collections of data objects replied by the service are converted
+   * from and to json on a worker thread instead of the event loop, so that a few huge results do not stall the other
+   * calls: a collection is offloaded when it has at least {@code offloadThreshold} elements. The largest collections
+   * are also converted in parallel, see {@link OffloadedConversion}.
+   *
+   * @param offloadThreshold the threshold, {@code 0} to disable offloading
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setOffloadThreshold(int offloadThreshold) {
+    if (offloadThreshold < 0) {
+      throw new IllegalArgumentException("offloadThreshold must be >= 0");
+    }
+    this.offloadThreshold = offloadThreshold;
+    return this;
+  }
+
+  /**
+   * @return whether the list, set and map arguments are decoded on their first access
+   */
+  public boolean isLazyArguments() {
+    return lazyArguments;
+  }
+
+  /**
+   * Set whether the list, set and map arguments of the calls are passed to the service as views decoding the
+   * argument on their first access, instead of being decoded before the service is called. The implementations
+   * failing fast, before looking at their large arguments, then save their decoding.
+   * <p>
+   * The lists and sets of data objects are lazy as well, but a single data object argument is still decoded before
+   * the call, by its json constructor or by its {@link DataObjectCodec} when it is {@link BinaryEncoded}: the service
+   * method takes the data object class itself, which a view decoding it on its first access cannot stand for.
+   *
+   * @param lazyArguments the lazy arguments flag
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ServiceOptions setLazyArguments(boolean lazyArguments) {
+    this.lazyArguments = lazyArguments;
+    return this;
+  }
+}
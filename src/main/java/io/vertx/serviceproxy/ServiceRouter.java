@@ -0,0 +1,503 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Sends the calls of a generated proxy, picking the receiving service instance according to the
+ * {@link RoutingStrategy} of the proxy.
+ */
+public class ServiceRouter {
+
+  private final Vertx vertx;
+  private final String address;
+  private final RoutingStrategy strategy;
+  private final ServiceInstances instances;
+  private final ToIntFunction<String> routingKeys;
+  private final int virtualNodes;
+  private final boolean preferLocal;
+  private final int localOverflowThreshold;
+  private final int compressionThreshold;
+  private final int offloadThreshold;
+  private final String resultFields;
+  private final CallProtocol protocol;
+  private final Function<String, String[]> parameterNames;
+  private final Map<String, ResultCache> caches;
+  private final Map<String, VersionTags> versionTags;
+  private final Set<String> invalidationAddresses;
+  private final Set<String> singleFlightMethods;
+  private final InFlightCalls<Handler<AsyncResult<Object>>> inFlightCalls;
+  private volatile ConsistentHashRing ring;
+
+  public ServiceRouter(Vertx vertx, Class<?> clazz, String address, ProxyOptions options) {
+    this(vertx, clazz, address, options, action -> null);
+  }
+
+  /**
+   * @param parameterNames the names of the parameters of each method, needed by the {@link CallProtocol#KEYED}
+   *                       encoding, the calls of the methods without names being sent positionally
+   */
+  public ServiceRouter(Vertx vertx, Class<?> clazz, String address, ProxyOptions options,
+                       Function<String, String[]> parameterNames) {
+    this(vertx, clazz, address, options, parameterNames, null);
+  }
+
+  /**
+   * @param parameterNames the names of the parameters of each method, needed by the {@link CallProtocol#KEYED}
+   *                       encoding, the calls of the methods without names being sent positionally
+   * @param routingKeys    the position of the {@link RoutingKey} parameter of each method, {@code -1} for the methods
+   *                       without routing key, as generated with the proxy, or {@code null} to find them with
+   *                       reflection
+   */
+  public ServiceRouter(Vertx vertx, Class<?> clazz, String address, ProxyOptions options,
+                       Function<String, String[]> parameterNames, ToIntFunction<String> routingKeys) {
+    this.vertx = vertx;
+    this.address = address;
+    this.strategy = options.getRoutingStrategy();
+    this.preferLocal = options.isPreferLocal();
+    this.localOverflowThreshold = options.getLocalOverflowThreshold();
+    this.instances = strategy == RoutingStrategy.EVENT_BUS && !preferLocal ? null
+      : ServiceInstances.acquire(vertx, address);
+    if (strategy != RoutingStrategy.CONSISTENT_HASH) {
+      this.routingKeys = action -> -1;
+    } else if (routingKeys != null) {
+      this.routingKeys = routingKeys;
+    } else {
+      Map<String, Integer> keys = routingKeys(clazz);
+      this.routingKeys = action -> keys.getOrDefault(action, -1);
+    }
+    this.virtualNodes = options.getVirtualNodes();
+    this.compressionThreshold = options.getCompressionThreshold();
+    this.offloadThreshold = options.getOffloadThreshold();
+    this.resultFields = options.getResultFields() == null ? null : String.join(",", options.getResultFields());
+    this.protocol = options.getProtocol();
+    this.parameterNames = parameterNames;
+    try {
+      vertx.eventBus().registerCodec(new CompressedMessageCodec());
+    } catch (IllegalStateException ex) {}
+    this.singleFlightMethods = options.isSingleFlight()
+      ? InFlightCalls.singleFlightMethods(clazz) : Collections.emptySet();
+    this.inFlightCalls = singleFlightMethods.isEmpty() ? null : new InFlightCalls<>();
+    Map<String, Conditional> conditional = VersionTags.conditionalMethods(clazz);
+    if (conditional.isEmpty()) {
+      this.versionTags = Collections.emptyMap();
+    } else {
+      this.versionTags = new HashMap<>();
+      conditional.forEach((action, annotation) -> versionTags.put(action, new VersionTags(annotation)));
+    }
+    Map<String, Cacheable> cacheable = ResultCache.cacheableMethods(clazz);
+    if (cacheable.isEmpty()) {
+      this.caches = Collections.emptyMap();
+      this.invalidationAddresses = Collections.emptySet();
+    } else {
+      this.caches = new HashMap<>();
+      this.invalidationAddresses = new HashSet<>();
+      cacheable.forEach((action, annotation) -> {
+        ResultCache cache = new ResultCache(annotation);
+        caches.put(action, cache);
+        if (cache.invalidationAddress() != null) {
+          invalidationAddresses.add(cache.invalidationAddress());
+        }
+      });
+      // One consumer per address is shared by all the proxies of the vert.x instance
+      for (String invalidationAddress : invalidationAddresses) {
+        CacheInvalidations.register(vertx, invalidationAddress, this);
+      }
+    }
+  }
+
+  /**
+   * @return whether the numeric collections of the arguments are packed with {@link PackedCollections}
+   */
+  public boolean isPacked() {
+    return protocol.compareTo(CallProtocol.PACKED) >= 0;
+  }
+
+  /**
+   * @return whether the data objects of the arguments are written by their {@link DataObjectCodec}
+   */
+  public boolean isBinary() {
+    return protocol == CallProtocol.BINARY;
+  }
+
+  /**
+   * Send a call expecting a result, the result being served from the cache of the proxy when the method is
+   * {@link Cacheable}, shared with the identical calls in flight when the method is {@link SingleFlight}, and not sent
+   * again by the service when it is not modified and the method is {@link Conditional}.
+   *
+   * @param action        the action of the call
+   * @param body          the call arguments, in the declaration order of the parameters
+   * @param options       the delivery options of the call
+   * @param resultHandler the result handler
+   * @param <T>           the type of the result
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public <T> void call(String action, JsonArray body, DeliveryOptions options, Handler<AsyncResult<T>> resultHandler) {
+    ResultCache cache = caches.get(action);
+    boolean shared = inFlightCalls != null && singleFlightMethods.contains(action);
+    VersionTags tags = versionTags.get(action);
+    if (cache == null && !shared && tags == null) {
+      this.<T>send(action, body, options, ar -> {
+        if (ar.succeeded()) {
+          resultHandler.handle(Future.succeededFuture(ar.result().body()));
+        } else {
+          resultHandler.handle(Future.failedFuture(ar.cause()));
+        }
+      });
+      return;
+    }
+    String key = cache == null && tags == null ? null : ResultCache.key(body);
+    if (cache != null) {
+      Object cached = cache.get(key);
+      if (cached != ResultCache.MISS) {
+        resultHandler.handle(Future.succeededFuture((T) cached));
+        return;
+      }
+    }
+    String flightKey = shared ? InFlightCalls.key(action, body) : null;
+    if (shared && inFlightCalls.join(flightKey, (Handler) resultHandler)) {
+      return;
+    }
+    long generation = cache == null ? 0 : cache.generation();
+    VersionTags.Entry last = tags == null ? null : tags.get(key);
+    if (last != null) {
+      options.addHeader(ProxyHandler.IF_NONE_MATCH_HEADER, last.tag);
+    }
+    this.<T>send(action, body, options, ar -> {
+      T result = ar.succeeded() ? ar.result().body() : null;
+      if (tags != null && ar.succeeded()) {
+        String tag = ar.result().headers().get(ProxyHandler.VERSION_TAG_HEADER);
+        if (last != null && last.tag.equals(ar.result().headers().get(ProxyHandler.NOT_MODIFIED_HEADER))) {
+          result = (T) ResultCache.copy(last.value);
+        } else if (tag != null) {
+          tags.put(key, tag, result);
+        } else {
+          tags.remove(key);
+        }
+      }
+      if (cache != null && ar.succeeded()) {
+        cache.put(key, result, generation);
+      }
+      if (shared) {
+        // Each caller gets its own copy of the result, as json is mutable
+        for (Handler<AsyncResult<Object>> waiter : inFlightCalls.complete(flightKey)) {
+          if (ar.succeeded()) {
+            waiter.handle(Future.succeededFuture(ResultCache.copy(result)));
+          } else {
+            waiter.handle(Future.failedFuture(ar.cause()));
+          }
+        }
+      }
+      if (ar.succeeded()) {
+        resultHandler.handle(Future.succeededFuture(result));
+      } else {
+        resultHandler.handle(Future.failedFuture(ar.cause()));
+      }
+    });
+  }
+
+  /**
+   * Send a call expecting a reply.
+   *
+   * @param action       the action of the call
+   * @param body         the call arguments, in the declaration order of the parameters
+   * @param options      the delivery options of the call
+   * @param replyHandler the reply handler
+   * @param <T>          the type of the reply body
+   */
+  public <T> void send(String action, JsonArray body, DeliveryOptions options,
+                       Handler<AsyncResult<Message<T>>> replyHandler) {
+    if (resultFields != null) {
+      options.addHeader(ProxyHandler.FIELDS_HEADER, resultFields);
+    }
+    send(action, body, compressible(encode(action, body, options), options), options, replyHandler);
+  }
+
+  private <T> void send(String action, JsonArray body, Object message, DeliveryOptions options,
+                        Handler<AsyncResult<Message<T>>> replyHandler) {
+    ServiceInstances.Instance target = select(action, body);
+    if (target == null) {
+      vertx.eventBus().send(address, message, options, replyHandler);
+      return;
+    }
+    target.outstanding.incrementAndGet();
+    vertx.eventBus().<T>send(target.address, message, options, ar -> {
+      target.outstanding.decrementAndGet();
+      if (ar.failed() && isNoHandlers(ar.cause())) {
+        // The instance is gone without saying goodbye, the call was never delivered so it can be sent again
+        instances.remove(target.address);
+        send(action, body, message, options, replyHandler);
+      } else {
+        replyHandler.handle(ar);
+      }
+    });
+  }
+
+  /**
+   * Send a call not expecting any reply.
+   *
+   * @param action  the action of the call
+   * @param body    the call arguments, in the declaration order of the parameters
+   * @param options the delivery options of the call
+   */
+  public void send(String action, JsonArray body, DeliveryOptions options) {
+    ServiceInstances.Instance target = select(action, body);
+    vertx.eventBus().send(target == null ? address : target.address, compressible(encode(action, body, options),
+      options), options);
+  }
+
+  /**
+   * @return the arguments encoded according to the protocol of the proxy, the protocol header being set on
+   * {@code options}
+   */
+  @SuppressWarnings("unchecked")
+  private Object encode(String action, JsonArray body, DeliveryOptions options) {
+    List<Object> args = body.getList();
+    for (Object arg : args) {
+      if (arg instanceof Buffer) {
+        // Only the positional encoding carries the buffers as is
+        options.addHeader(ProxyHandler.PROTOCOL_HEADER, protocol == CallProtocol.KEYED
+          ? ProxyHandler.POSITIONAL_PROTOCOL : protocol.header);
+        options.setCodecName(BufferArgumentsMessageCodec.NAME);
+        return body;
+      }
+    }
+    if (protocol == CallProtocol.KEYED) {
+      String[] names = parameterNames.apply(action);
+      if (names != null && names.length >= args.size()) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (int i = 0; i < args.size(); i++) {
+          json.put(names[i], args.get(i));
+        }
+        return new JsonObject(json);
+      }
+      options.addHeader(ProxyHandler.PROTOCOL_HEADER, ProxyHandler.POSITIONAL_PROTOCOL);
+      return body;
+    }
+    options.addHeader(ProxyHandler.PROTOCOL_HEADER, protocol.header);
+    return body;
+  }
+
+  /**
+   * @return the body to send, set to be compressed on the wire when the proxy compresses its calls
+   */
+  private Object compressible(Object body, DeliveryOptions options) {
+    CompressedMessageCodec.Compressible compressible = CompressedMessageCodec.compressible(body,
+      options.getCodecName(), compressionThreshold);
+    if (compressible == null) {
+      return body;
+    }
+    options.setCodecName(CompressedMessageCodec.NAME);
+    return compressible;
+  }
+
+  /**
+   * Convert the json objects of a collection result, on a worker thread when the collection is at least as large as
+   * the {@link ProxyOptions#setOffloadThreshold(int) offload threshold} of the proxy.
+   *
+   * @param array     the json objects
+   * @param converter the conversion of a json object
+   * @param handler   the handler of the converted elements, called on the context of the caller
+   * @param <R>       the type of the converted elements
+   */
+  public <R> void convert(JsonArray array, Function<JsonObject, R> converter, Handler<AsyncResult<List<R>>> handler) {
+    OffloadedConversion.mapJsonObjects(vertx, offloadThreshold, array, converter, handler);
+  }
+
+  /**
+   * Stop tracking the service instances.
+   */
+  public void close() {
+    if (instances != null) {
+      ServiceInstances.release(vertx, address);
+    }
+    for (String invalidationAddress : invalidationAddresses) {
+      CacheInvalidations.unregister(vertx, invalidationAddress, this);
+    }
+  }
+
+  /**
+   * Evict the cached results of the methods using {@code invalidationAddress}, as published on the address.
+   */
+  void invalidate(String invalidationAddress, JsonObject msg) {
+    String action = msg.getString("action");
+    JsonObject args = msg.getJsonObject("args");
+    caches.forEach((name, cache) -> {
+      if (invalidationAddress.equals(cache.invalidationAddress()) && (action == null || action.equals(name))) {
+        cache.invalidate(args == null ? null : ResultCache.key(positional(name, args)));
+      }
+    });
+  }
+
+  /**
+   * @return the arguments of an invalidation, keyed by the parameter names, in the declaration order of the parameters
+   */
+  private JsonArray positional(String action, JsonObject args) {
+    String[] names = parameterNames.apply(action);
+    if (names == null) {
+      return new JsonArray(new ArrayList<>(args.getMap().values()));
+    }
+    // The last parameter of a cacheable method is its result handler
+    List<Object> values = new ArrayList<>(names.length - 1);
+    for (int i = 0; i < names.length - 1; i++) {
+      values.add(args.getValue(names[i]));
+    }
+    return new JsonArray(values);
+  }
+
+  private ServiceInstances.Instance select(String action, JsonArray body) {
+    if (instances == null) {
+      return null;
+    }
+    if (strategy == RoutingStrategy.CONSISTENT_HASH) {
+      Object key = routingKey(action, body);
+      if (key != null) {
+        // The ring spans all the instances so that the proxies of every node agree on the owner of a key: the call
+        // stays local only when a local instance owns the key
+        return ring(instances.instances()).lookup(key.toString());
+      }
+    }
+    ServiceInstances.Instance[] candidates;
+    if (preferLocal) {
+      ServiceInstances.Instance local = leastOutstanding(instances.locals());
+      if (local != null && local.outstanding.get() < localOverflowThreshold) {
+        return local;
+      }
+      // No local instance or all of them are overloaded
+      candidates = instances.remotes();
+      if (local != null && candidates.length == 0) {
+        return local;
+      }
+    } else {
+      candidates = instances.instances();
+    }
+    if (strategy == RoutingStrategy.EVENT_BUS) {
+      return null;
+    }
+    int size = candidates.length;
+    if (size == 0) {
+      return null;
+    }
+    if (size == 1) {
+      return candidates[0];
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (strategy == RoutingStrategy.POWER_OF_TWO_CHOICES) {
+      int first = random.nextInt(size);
+      int second = random.nextInt(size - 1);
+      if (second >= first) {
+        second++;
+      }
+      ServiceInstances.Instance a = candidates[first];
+      ServiceInstances.Instance b = candidates[second];
+      return b.outstanding.get() < a.outstanding.get() ? b : a;
+    }
+    return leastOutstanding(candidates);
+  }
+
+  private static ServiceInstances.Instance leastOutstanding(ServiceInstances.Instance[] candidates) {
+    int size = candidates.length;
+    if (size == 0) {
+      return null;
+    }
+    if (size == 1) {
+      return candidates[0];
+    }
+    // Start from a random instance so that ties do not always go to the same one
+    int start = ThreadLocalRandom.current().nextInt(size);
+    ServiceInstances.Instance best = candidates[start];
+    int bestOutstanding = best.outstanding.get();
+    for (int i = 1; i < size && bestOutstanding > 0; i++) {
+      ServiceInstances.Instance candidate = candidates[(start + i) % size];
+      int outstanding = candidate.outstanding.get();
+      if (outstanding < bestOutstanding) {
+        best = candidate;
+        bestOutstanding = outstanding;
+      }
+    }
+    return best;
+  }
+
+  private ConsistentHashRing ring(ServiceInstances.Instance[] all) {
+    ConsistentHashRing current = ring;
+    // The instance set is copied on write, so a new array means instances joined or left
+    if (current == null || current.source != all) {
+      current = new ConsistentHashRing(all, virtualNodes);
+      ring = current;
+    }
+    return current;
+  }
+
+  private Object routingKey(String action, JsonArray body) {
+    int index = routingKeys.applyAsInt(action);
+    return index < 0 || index >= body.size() ? null : body.getValue(index);
+  }
+
+  /**
+   * Resolve the position of the {@link RoutingKey} parameter of each method of the service interface with reflection,
+   * for the proxies created without the positions generated with them and for the {@link KeyDispatcher}.
+   */
+  static Map<String, Integer> routingKeys(Class<?> clazz) {
+    Map<String, Integer> keys = new HashMap<>();
+    for (Method method : clazz.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      Annotation[][] annotations = method.getParameterAnnotations();
+      for (int i = 0; i < annotations.length; i++) {
+        for (Annotation annotation : annotations[i]) {
+          if (annotation instanceof RoutingKey) {
+            if (keys.put(method.getName(), i) != null) {
+              throw new IllegalStateException("Method " + method.getName() + " has more than one @RoutingKey parameter");
+            }
+          }
+        }
+      }
+    }
+    return keys;
+  }
+
+  private static boolean isNoHandlers(Throwable cause) {
+    return cause instanceof ReplyException && ((ReplyException) cause).failureType() == ReplyFailure.NO_HANDLERS;
+  }
+}
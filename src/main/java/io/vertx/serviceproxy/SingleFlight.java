@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that concurrent calls of a service method with the same arguments can share a single invocation of the
+ * service: while a call is in flight, the identical calls received by the service handler wait for its result instead
+ * of invoking the service again, and the result or the failure is replied to all of them.
+ * <p>
+ * Calls are identical when they have the same method name and the same encoded arguments. The method should return
+ * data and not have side effects, as the callers joining an in-flight call do not trigger any invocation of their own.
+ * Proxies created with {@link ProxyOptions#setSingleFlight(boolean)} also share identical calls before sending them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SingleFlight {
+}
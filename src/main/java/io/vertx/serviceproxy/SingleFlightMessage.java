@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The message of a call of a {@link SingleFlight} method performed by the service handler: the reply, or the failure,
+ * is sent to this message and to all the identical calls that joined it while it was in flight.
+ */
+final class SingleFlightMessage implements Message<JsonObject> {
+
+  private final Message<JsonObject> msg;
+  private final String key;
+  private final InFlightCalls<Message<JsonObject>> calls;
+
+  SingleFlightMessage(Message<JsonObject> msg, String key, InFlightCalls<Message<JsonObject>> calls) {
+    this.msg = msg;
+    this.key = key;
+    this.calls = calls;
+  }
+
+  @Override
+  public String address() {
+    return msg.address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return msg.headers();
+  }
+
+  @Override
+  public JsonObject body() {
+    return msg.body();
+  }
+
+  @Override
+  public String replyAddress() {
+    return msg.replyAddress();
+  }
+
+  @Override
+  public boolean isSend() {
+    return msg.isSend();
+  }
+
+  @Override
+  public void reply(Object message) {
+    for (Message<JsonObject> waiter : calls.complete(key)) {
+      waiter.reply(message);
+    }
+    msg.reply(message);
+  }
+
+  @Override
+  public <R> void reply(Object message, Handler<AsyncResult<Message<R>>> replyHandler) {
+    for (Message<JsonObject> waiter : calls.complete(key)) {
+      waiter.reply(message);
+    }
+    msg.reply(message, replyHandler);
+  }
+
+  @Override
+  public void reply(Object message, DeliveryOptions options) {
+    for (Message<JsonObject> waiter : calls.complete(key)) {
+      waiter.reply(message, options);
+    }
+    msg.reply(message, options);
+  }
+
+  @Override
+  public <R> void reply(Object message, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+    for (Message<JsonObject> waiter : calls.complete(key)) {
+      waiter.reply(message, options);
+    }
+    msg.reply(message, options, replyHandler);
+  }
+
+  @Override
+  public void fail(int failureCode, String message) {
+    for (Message<JsonObject> waiter : calls.complete(key)) {
+      waiter.fail(failureCode, message);
+    }
+    msg.fail(failureCode, message);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A call of a service proxy awaited by the calling thread, used by the generated synchronous proxies.
+ * <p>
+ * The call is its own result handler: the calling thread parks until the reply arrives, so awaiting a call costs a
+ * single allocation, and parking a virtual thread releases its carrier thread. The event loops must never block,
+ * awaiting a call on one of them fails.
+ * <p>
+ * The reply of a call is handled on the context the call is made from. A call awaited on a worker thread, e.g. by a
+ * worker verticle or a blocking task of a verticle, is therefore made from a thread outside of vert.x, so that its
+ * reply is not queued behind the task awaiting it on the worker context.
+ *
+ * @param <T> the type of the result
+ */
+public final class SyncCall<T> implements Handler<AsyncResult<T>> {
+
+  // Only sends the calls, which never block: the idle threads are released after a minute
+  private static final ExecutorService SENDERS = Executors.newCachedThreadPool(task -> {
+    Thread thread = new Thread(task, "vertx-sync-call-sender");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Make a call of a service proxy and wait for its result.
+   *
+   * @param call the call, given the result handler to pass to the proxy
+   * @param <T>  the type of the result
+   * @return the result of the call
+   * @throws ServiceException      when the call fails, or when the thread is interrupted while waiting
+   * @throws IllegalStateException when called on an event loop thread
+   */
+  public static <T> T await(Consumer<Handler<AsyncResult<T>>> call) {
+    if (Context.isOnEventLoopThread()) {
+      throw new IllegalStateException("Cannot block an event loop thread, call the asynchronous proxy instead");
+    }
+    SyncCall<T> syncCall = new SyncCall<>();
+    if (Context.isOnWorkerThread()) {
+      SENDERS.execute(() -> syncCall.send(call));
+    } else {
+      call.accept(syncCall);
+    }
+    return syncCall.await();
+  }
+
+  private final Thread waiter = Thread.currentThread();
+  private volatile AsyncResult<T> result;
+
+  private SyncCall() {
+  }
+
+  @Override
+  public void handle(AsyncResult<T> ar) {
+    result = ar;
+    LockSupport.unpark(waiter);
+  }
+
+  private void send(Consumer<Handler<AsyncResult<T>>> call) {
+    try {
+      call.accept(this);
+    } catch (RuntimeException e) {
+      handle(Future.failedFuture(e));
+    }
+  }
+
+  private T await() {
+    AsyncResult<T> ar;
+    while ((ar = result) == null) {
+      LockSupport.park(this);
+      if (Thread.interrupted()) {
+        // Keep the interrupt status for the caller, the proxy still handles the reply when it arrives
+        Thread.currentThread().interrupt();
+        throw new ServiceException(-1, "Interrupted while waiting for the reply");
+      }
+    }
+    if (ar.succeeded()) {
+      return ar.result();
+    }
+    throw serviceException(ar.cause());
+  }
+
+  private static ServiceException serviceException(Throwable cause) {
+    if (cause instanceof ServiceException) {
+      return (ServiceException) cause;
+    }
+    ServiceException failure;
+    if (cause instanceof ReplyException) {
+      ReplyException reply = (ReplyException) cause;
+      failure = new ServiceException(reply.failureCode(), reply.getMessage(),
+        new JsonObject().put("failureType", reply.failureType().name()));
+    } else {
+      failure = new ServiceException(-1, cause.getMessage());
+    }
+    failure.initCause(cause);
+    return failure;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Adapts a synchronous implementation to a service interface, for services invoked on worker or virtual threads, see
+ * {@link ExecutionMode}.
+ * <p>
+ * Each method of the service interface is implemented by the public method of the implementation having the same name
+ * and the same parameters, without the result handler: the value it returns is the result of the call, and the
+ * exception it throws, typically a {@link ServiceException}, is the failure of the call.
+ * <p>
+ * An implementation method can also return a {@link Future} or a {@link CompletionStage}, the call being replied
+ * when it completes, so that asynchronous implementations can be composed with futures instead of result handlers.
+ * The generated handlers cannot call such methods directly: the code generator rejects the proxy methods returning a
+ * future, so they are not part of the service interface the handlers are generated from.
+ */
+public class SyncServiceAdapter implements InvocationHandler {
+
+  /**
+   * Create a service calling the synchronous {@code implementation}.
+   *
+   * @param clazz          the service interface
+   * @param implementation the synchronous implementation
+   * @param <T>            the type of the service interface
+   * @return the service
+   */
+  public static <T> T create(Class<T> clazz, Object implementation) {
+    SyncServiceAdapter adapter = new SyncServiceAdapter(clazz, implementation);
+    return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, adapter));
+  }
+
+  private final Object implementation;
+  private final Map<Method, Method> targets = new HashMap<>();
+
+  private SyncServiceAdapter(Class<?> clazz, Object implementation) {
+    this.implementation = implementation;
+    for (Method method : clazz.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      Class<?>[] types = method.getParameterTypes();
+      if (hasResultHandler(method)) {
+        types = Arrays.copyOf(types, types.length - 1);
+      }
+      try {
+        Method target = implementation.getClass().getMethod(method.getName(), types);
+        // The implementation class may not be public
+        target.setAccessible(true);
+        targets.put(method, target);
+      } catch (NoSuchMethodException e) {
+        // The calls of this method will fail
+      }
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "SyncServiceAdapter[" + implementation + "]";
+      }
+    }
+    Method target = targets.get(method);
+    if (!hasResultHandler(method)) {
+      if (target == null) {
+        throw new UnsupportedOperationException(method.getName());
+      }
+      call(target, args);
+      return fluent(proxy, method);
+    }
+    Handler<AsyncResult<Object>> resultHandler = (Handler<AsyncResult<Object>>) args[args.length - 1];
+    if (target == null) {
+      resultHandler.handle(Future.failedFuture(new UnsupportedOperationException(method.getName())));
+      return fluent(proxy, method);
+    }
+    Object result;
+    try {
+      result = call(target, Arrays.copyOf(args, args.length - 1));
+    } catch (Throwable t) {
+      resultHandler.handle(Future.failedFuture(t));
+      return fluent(proxy, method);
+    }
+    if (result instanceof Future) {
+      ((Future<Object>) result).setHandler(resultHandler);
+    } else if (result instanceof CompletionStage) {
+      ((CompletionStage<Object>) result).whenComplete((value, err) -> {
+        if (err == null) {
+          resultHandler.handle(Future.succeededFuture(value));
+        } else {
+          // Dependent stages wrap the failure of the stage they depend on
+          resultHandler.handle(Future.failedFuture(err instanceof CompletionException && err.getCause() != null
+            ? err.getCause() : err));
+        }
+      });
+    } else {
+      resultHandler.handle(Future.succeededFuture(result));
+    }
+    return fluent(proxy, method);
+  }
+
+  private Object call(Method target, Object[] args) throws Throwable {
+    try {
+      return target.invoke(implementation, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static Object fluent(Object proxy, Method method) {
+    return method.getReturnType().isInstance(proxy) ? proxy : null;
+  }
+
+  private static boolean hasResultHandler(Method method) {
+    Class<?>[] types = method.getParameterTypes();
+    return types.length > 0 && types[types.length - 1] == Handler.class;
+  }
+}
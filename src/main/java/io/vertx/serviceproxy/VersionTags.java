@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.serviceproxy;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The last results of a {@link Conditional} method in a proxy, with their version tags: a least recently used map of
+ * the results keyed by the {@link ArgumentKeys arguments} of the call.
+ * <p>
+ * The tags are computed by the service handlers: the version supplied by a service implementing
+ * {@link ResultVersions}, or else a 128-bit SHA-256 digest of the reply walked as is, so that tagging a result does not
+ * encode it.
+ */
+final class VersionTags {
+
+  private static final ClassValue<Map<String, Conditional>> CONDITIONAL_METHODS = new ClassValue<Map<String, Conditional>>() {
+    @Override
+    protected Map<String, Conditional> computeValue(Class<?> type) {
+      Map<String, Conditional> methods = new HashMap<>();
+      for (Method method : type.getMethods()) {
+        Conditional conditional = method.getAnnotation(Conditional.class);
+        if (conditional != null && !Modifier.isStatic(method.getModifiers())) {
+          methods.put(method.getName(), conditional);
+        }
+      }
+      return methods.isEmpty() ? Collections.emptyMap() : methods;
+    }
+  };
+
+  /**
+   * The last result of a call and its tag.
+   */
+  static final class Entry {
+
+    final String tag;
+    final Object value;
+
+    Entry(String tag, Object value) {
+      this.tag = tag;
+      this.value = value;
+    }
+  }
+
+  private final LinkedHashMap<String, Entry> entries;
+
+  VersionTags(Conditional conditional) {
+    int maxEntries = conditional.maxEntries();
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * @return the {@link Conditional} methods of the service interface, by name
+   */
+  static Map<String, Conditional> conditionalMethods(Class<?> clazz) {
+    return CONDITIONAL_METHODS.get(clazz);
+  }
+
+  /**
+   * @return the last result of the calls with the arguments {@code key}, or {@code null}
+   */
+  synchronized Entry get(String key) {
+    return entries.get(key);
+  }
+
+  synchronized void put(String key, String tag, Object value) {
+    entries.put(key, new Entry(tag, ResultCache.copy(value)));
+  }
+
+  synchronized void remove(String key) {
+    entries.remove(key);
+  }
+
+  /**
+   * @return the version tag of a result whose version is supplied by the service, see {@link ResultVersions}
+   */
+  static String versionTag(String version) {
+    return 'v' + version;
+  }
+
+  /**
+   * @return the version tag of a reply, or {@code null} when the reply is a failure
+   */
+  static String tag(Object reply) {
+    if (reply instanceof Throwable) {
+      return null;
+    }
+    Digest digest = new Digest();
+    digest(digest, reply);
+    // 128 bits of the digest, so that two results never share their tag
+    return 'h' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.finish(), 16));
+  }
+
+  private static void digest(Digest digest, Object value) {
+    if (value == null) {
+      digest.put(0);
+    } else if (value instanceof JsonObject) {
+      digest(digest, ((JsonObject) value).getMap());
+    } else if (value instanceof JsonArray) {
+      digest(digest, ((JsonArray) value).getList());
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      digest.put(1);
+      digest.putInt(map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        digest(digest, entry.getKey());
+        digest(digest, entry.getValue());
+      }
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      digest.put(2);
+      digest.putInt(list.size());
+      for (Object element : list) {
+        digest(digest, element);
+      }
+    } else if (value instanceof CharSequence) {
+      CharSequence chars = (CharSequence) value;
+      digest.put(3);
+      digest.putInt(chars.length());
+      for (int i = 0; i < chars.length(); i++) {
+        digest.put(chars.charAt(i) >>> 8);
+        digest.put(chars.charAt(i));
+      }
+    } else if (value instanceof Buffer) {
+      digest(digest, ((Buffer) value).getBytes());
+    } else if (value instanceof byte[]) {
+      byte[] bytes = (byte[]) value;
+      digest.put(4);
+      digest.putInt(bytes.length);
+      digest.put(bytes);
+    } else if (value instanceof Double || value instanceof Float) {
+      digest.put(5);
+      digest.putLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+    } else if (value instanceof Number) {
+      digest.put(6);
+      digest.putLong(((Number) value).longValue());
+    } else if (value instanceof Boolean) {
+      digest.put((Boolean) value ? 7 : 8);
+    } else {
+      digest.put(9);
+      digest(digest, value.toString());
+    }
+  }
+
+  /**
+   * A SHA-256 digest fed through a small buffer rather than byte by byte.
+   */
+  private static final class Digest {
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[256];
+    private int position;
+
+    Digest() {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        // Every Java platform implements SHA-256
+        throw new IllegalStateException(e);
+      }
+    }
+
+    void put(int octet) {
+      if (position == buffer.length) {
+        flush();
+      }
+      buffer[position++] = (byte) octet;
+    }
+
+    void putInt(int value) {
+      put(value >>> 24);
+      put(value >>> 16);
+      put(value >>> 8);
+      put(value);
+    }
+
+    void putLong(long value) {
+      putInt((int) (value >>> 32));
+      putInt((int) value);
+    }
+
+    void put(byte[] bytes) {
+      flush();
+      digest.update(bytes);
+    }
+
+    byte[] finish() {
+      flush();
+      return digest.digest();
+    }
+
+    private void flush() {
+      digest.update(buffer, 0, position);
+      position = 0;
+    }
+  }
+}
@@ -209,6 +209,13 @@
  * - The service proxy: a compile time generated proxy that uses the `EventBus` to interact with the service via messages
  * - The service handler: a compile time generated `EventBus` handler that reacts to events sent by the proxy
  *
+ * The services also annotated with {@link io.vertx.serviceproxy.ProxyFacades} get facades of the service proxy:
+ *
+ * - The synchronous proxy, with `sync = true`: a compile time generated facade of the service proxy blocking the
+ * calling thread until the result arrives
+ * - The future proxy, with `future = true`: a compile time generated facade of the service proxy returning the future
+ * of the result
+ *
  * Generated proxies and handlers are named after the service class, for example if the service is named `MyService`
  * the handler is called `MyServiceProxyHandler` and the proxy is called `MyServiceEBProxy`.
  *
@@ -283,6 +290,100 @@
  * {@link examples.Examples#unregister(io.vertx.core.Vertx)}
  * ----
  *
+ === Blocking services
+ *
+ * By default the service methods are invoked on the event loop of the service, so they must not block. Services
+ * wrapping JDBC or file I/O, such as `SomeDatabaseService`, can annotate their blocking methods, or the whole
+ * interface, with {@link io.vertx.serviceproxy.Blocking}: these methods are invoked on a worker thread with
+ * `executeBlocking`, and the event loop stays available to the other services.
+ *
+ * [source,java]
+ * ----
+ * &#64;ProxyGen
+ * &#64;Blocking
+ * public interface SomeDatabaseService {
+ *
+ *  // Calls are executed one at a time, in the order they were received
+ *  &#64;Blocking(ordered = true)
+ *  void save(String collection, JsonObject document, Handler<AsyncResult<Void>> result);
+ *
+ *  // Calls are executed in parallel
+ *  void findOne(String collection, JsonObject query, Handler<AsyncResult<JsonObject>> result);
+ * }
+ * ----
+ *
+ * The worker pool is configured when the service is registered with
+ * {@link io.vertx.serviceproxy.ServiceOptions}, which can also run all the methods on workers without annotations:
+ *
+ * [source,java]
+ * ----
+ * ProxyHelper.registerService(SomeDatabaseService.class, vertx, service, "database-service-address",
+ *   new ServiceOptions()
+ *     .setExecutionMode(ExecutionMode.WORKER)
+ *     .setWorkerPoolName("database-pool")
+ *     .setWorkerPoolSize(10)
+ *     .setMaxQueuedCalls(1000));
+ * ----
+ *
+ * A named pool is shared by the services using the same name, so that blocking services do not starve the vert.x
+ * worker pool. Once `maxQueuedCalls` calls are waiting for a worker or being executed, new calls fail immediately
+ * with a {@link io.vertx.serviceproxy.ServiceException} having the failure code `503`.
+ *
+ * On runtimes having virtual threads, the {@link io.vertx.serviceproxy.ExecutionMode#VIRTUAL_THREAD} execution mode
+ * invokes each call on a virtual thread of its own instead of a sized worker pool, and sends its reply from the
+ * context of the service. Other runtimes fall back to worker threads. Such blocking implementations can be written
+ * synchronously and adapted to the service interface with {@link io.vertx.serviceproxy.SyncServiceAdapter}: each
+ * method returns its result, or throws a {@link io.vertx.serviceproxy.ServiceException}, instead of calling a result
+ * handler.
+ *
+ * [source,java]
+ * ----
+ * public class SyncDatabaseService {
+ *
+ *  public JsonObject findOne(String collection, JsonObject query) {
+ *    // blocking JDBC code
+ *  }
+ * }
+ *
+ * SomeDatabaseService service = SyncServiceAdapter.create(SomeDatabaseService.class, new SyncDatabaseService());
+ * ProxyHelper.registerService(SomeDatabaseService.class, vertx, service, "database-service-address",
+ *   new ServiceOptions().setExecutionMode(ExecutionMode.VIRTUAL_THREAD));
+ * ----
+ *
+ * === Using every core
+ *
+ * A service registered with `registerService` runs on a single event loop, so a CPU bound service uses a single
+ * core. Several instances of the service can be registered on the same address, each one on its own event loop, and
+ * the event bus round-robins the calls between them:
+ *
+ * [source,java]
+ * ----
+ * ProxyHelper.registerService(SomeDatabaseService.class, vertx, SomeDatabaseServiceImpl::new,
+ *   "database-service-address", new ServiceOptions().setInstances(4), ar -> {
+ *     if (ar.succeeded()) {
+ *       // Undeploying the instances unregisters them
+ *       String deploymentID = ar.result();
+ *     }
+ *   });
+ * ----
+ *
+ * The factory is called once per instance. It creates either a service object per instance, which is only called
+ * from the event loop of its instance, or always returns the same thread-safe service object. Another variant
+ * registers the instances on a given list of {@link io.vertx.core.Context}.
+ *
+ * Calls about the same entity often have to be executed in order. With
+ * {@link io.vertx.serviceproxy.ServiceOptions#setKeyOrdered(boolean)} a single consumer receives the calls and hands
+ * each of them to the instance owning the value of its {@link io.vertx.serviceproxy.RoutingKey} parameter. The calls
+ * having the same routing key are executed one after the other by the same instance, in the order they were received,
+ * and the calls having different keys are executed in parallel by all the instances. The methods which would be
+ * executed on workers are executed on ordered workers:
+ *
+ * [source,java]
+ * ----
+ * ProxyHelper.registerService(AccountService.class, vertx, AccountServiceImpl::new, "account-service-address",
+ *   new ServiceOptions().setInstances(4).setKeyOrdered(true), ar -> {});
+ * ----
+ *
  * == Proxy creation
  *
  * Now that the service is exposed, you probably want to consume it. For this, you need to create a proxy. The proxy
@@ -316,6 +417,363 @@
  *}
  * ----
  *
+ * === Synchronous proxies
+ *
+ * Code running on worker threads, such as batch jobs, can call a service with the generated synchronous proxy,
+ * named after the _service interface_ followed by `VertxSyncProxy`, generated for the services annotated with
+ * `&#64;ProxyFacades(sync = true)`. Its methods take the same parameters without
+ * the result handler, and they return the result of the call or throw a {@link io.vertx.serviceproxy.ServiceException}:
+ *
+ * [source,java]
+ * ----
+ * SomeDatabaseServiceVertxSyncProxy database = new SomeDatabaseServiceVertxSyncProxy(vertx, "database-service-address");
+ * JsonObject document = database.findOne("users", new JsonObject().put("name", "julien"));
+ * ----
+ *
+ * The calling thread parks until the reply arrives, which on a virtual thread releases its carrier thread. The event
+ * loops must never block, so calling a synchronous proxy on an event loop throws an `IllegalStateException`. It can
+ * be called from a worker verticle or a blocking task of a verticle: the calls made on a worker thread are sent from a
+ * thread outside of vert.x, so that their replies are not queued on the worker context the caller is blocking.
+ *
+ * === Future proxies
+ *
+ * Calls returning a {@link io.vertx.core.Future} are easier to compose than result handlers. The generated future
+ * proxy, named after the _service interface_ followed by `VertxFutureProxy` and generated for the services annotated
+ * with `&#64;ProxyFacades(future = true)`, has the same methods as the
+ * synchronous proxy, each one returning the future of its result. It wraps the event bus proxy, passing the future
+ * as the result handler of each call. The calls keep the routing, caching and encodings of the proxy options, and
+ * they cost the same as the calls with a result handler, the future proxy only changing the shape of the API:
+ *
+ * [source,java]
+ * ----
+ * SomeDatabaseServiceVertxFutureProxy database = new SomeDatabaseServiceVertxFutureProxy(vertx, "database-service-address");
+ * database.findOne("users", new JsonObject().put("name", "julien"))
+ *   .compose(user -> database.save("visits", new JsonObject().put("user", user.getString("_id"))))
+ *   .setHandler(ar -> {
+ *     // ...
+ *   });
+ * ----
+ *
+ * On the service side, an implementation whose methods return a {@link io.vertx.core.Future} or a
+ * {@link java.util.concurrent.CompletionStage} instead of calling a result handler can be adapted to the service
+ * interface with {@link io.vertx.serviceproxy.SyncServiceAdapter}: the call is replied when the returned future
+ * completes. `CompletionStage` is only accepted there: the future proxy returns vert.x futures.
+ *
+ * Neither side removes the result handler of the service interface. The code generator only accepts proxy methods
+ * returning `void` or the interface itself, so the interface cannot declare methods returning a future, and the
+ * generated handler, which only knows the interface, calls the methods taking a result handler. The adapter finds
+ * the methods returning a future reflectively, once, and invokes them with a reflective call.
+ *
+ * === Binary payloads
+ *
+ * The generated code sends {@link io.vertx.core.buffer.Buffer} arguments and results without base64 encoding them in
+ * json. The calls having buffer arguments are sent with the
+ * {@link io.vertx.serviceproxy.BufferArgumentsMessageCodec}, which writes the buffers as length-prefixed bytes next to
+ * the json of the other arguments, and buffer results are replied with the
+ * {@link io.vertx.serviceproxy.BufferResultMessageCodec}. Between nodes the buffers are read as slices of the received
+ * frame, and on the same node the buffer sent is the buffer received: it must not be modified once sent.
+ *
+ * Data objects can be sent in binary as well. For each concrete data object annotated with `&#64;BinaryEncoded`, the
+ * code generator creates a {@link io.vertx.serviceproxy.DataObjectCodec} named after the data object followed by
+ * `BinaryCodec`, which writes the properties from their getters and reads them back with their setters instead of
+ * building the json form of the data object. Nested data objects keep their json form, and the data objects having properties without getter or
+ * setter, or no empty constructor, get a codec writing their json form. The binary form starts with a version and a
+ * fingerprint of the properties, so that a data object written by another version of its class is rejected instead
+ * of being read wrongly.
+ *
+ * The codec is only used for the data objects annotated with {@link io.vertx.serviceproxy.BinaryEncoded}, which
+ * declares that their properties are their whole state, and by the proxies created with the
+ * {@link io.vertx.serviceproxy.CallProtocol#BINARY} protocol: such a proxy sends the binary form of the data object
+ * arguments and the handlers reply it the binary form of the data object results, the other callers being sent and
+ * replied the json form as before.
+ *
+ * [source,java]
+ * ----
+ * &#64;DataObject
+ * &#64;BinaryEncoded
+ * public class Measure {
+ *   // ...
+ * }
+ *
+ * ProxyOptions options = new ProxyOptions().setProtocol(CallProtocol.BINARY);
+ * ----
+ *
+ * === Compression
+ *
+ * When methods send or return large payloads between the nodes of a cluster, the network can become the bottleneck.
+ * A proxy created with {@link io.vertx.serviceproxy.ProxyOptions#setCompressionThreshold(int)} compresses the calls
+ * whose encoding is at least as large as the threshold, and a service registered with
+ * {@link io.vertx.serviceproxy.ServiceOptions#setCompressionThreshold(int)} compresses its replies likewise:
+ *
+ * [source,java]
+ * ----
+ * ProxyHelper.registerService(SomeDatabaseService.class, vertx, service, "database-service-address",
+ *   new ServiceOptions().setCompressionThreshold(64 * 1024));
+ *
+ * SomeDatabaseService proxy = ProxyHelper.createProxy(SomeDatabaseService.class, vertx, "database-service-address",
+ *   new ProxyOptions().setCompressionThreshold(64 * 1024));
+ * ----
+ *
+ * The bodies are compressed with DEFLATE at its fastest level by the {@link io.vertx.serviceproxy.CompressedMessageCodec},
+ * which flags the compressed bodies in the frame. The bodies smaller than the threshold are never compressed, the size
+ * of the json bodies being estimated without encoding them, and neither are the calls between the proxies and the
+ * services of the same node, which are not encoded at all: their json is copied as the default codecs copy it, and
+ * their buffers are passed as is.
+ *
+ * === Offloading large conversions
+ *
+ * Converting a collection of many data objects to json, or back, takes long enough to stall the event loop and the
+ * other calls it serves. A service registered with {@link io.vertx.serviceproxy.ServiceOptions#setOffloadThreshold(int)}
+ * converts the lists and sets of data objects it replies on a worker thread when they have at least as many
+ * elements as the threshold, and a proxy created with {@link io.vertx.serviceproxy.ProxyOptions#setOffloadThreshold(int)}
+ * likewise converts the lists and sets of data objects it receives. The largest collections are converted in
+ * parallel on the fork/join common pool, and the reply is sent, or the result handled, on the original context once
+ * the conversion is done, see {@link io.vertx.serviceproxy.OffloadedConversion}.
+ *
+ * === Lazy arguments
+ *
+ * The handler decodes the arguments of a call before calling the service, even when the implementation returns
+ * before looking at some of them, typically when validating the other arguments fails. A service registered with
+ * {@link io.vertx.serviceproxy.ServiceOptions#setLazyArguments(boolean)} is instead called with views of its list, set
+ * and map arguments that decode the argument on their first access, so that the calls failing fast do not pay for
+ * the decoding of their large arguments. The lists and sets of data objects are lazy too, while a single data object
+ * argument is still decoded before the call, as the method takes the data object class itself.
+ *
+ * === Conditional calls
+ *
+ * A method polled by its callers, whose result rarely changes between two calls, can be annotated with
+ * {@link io.vertx.serviceproxy.Conditional}: the service handler tags each result with its version, the
+ * proxy keeps the last result of the calls with the same arguments and sends its tag with the next call, and the
+ * handler replies an empty message instead of the result when the new result has the same tag, the proxy then
+ * serving a copy of the result it kept.
+ *
+ * [source,java]
+ * ----
+ * &#64;Conditional
+ * void getStatus(String region, Handler<AsyncResult<Status>> resultHandler);
+ * ----
+ *
+ * A service knowing the version of a result before computing it, e.g. from a revision counter of its data,
+ * implements {@link io.vertx.serviceproxy.ResultVersions}: the handler asks the version before invoking the method, and
+ * does not invoke it when the caller already has the result of this version.
+ *
+ * [source,java]
+ * ----
+ * public class StatusServiceImpl implements StatusService, ResultVersions {
+ *
+ *   &#64;Override
+ *   public String resultVersion(String action, JsonObject args) {
+ *     return String.valueOf(revisions.get(args.getString("region")));
+ *   }
+ *   ...
+ * }
+ * ----
+ *
+ * The results of the other services are tagged with a 128-bit digest of their json: the service still computes the
+ * result of each call, only its encoding and its transfer are saved.
+ *
+ * === Result fields
+ *
+ * A caller needing a few fields of large data object results can create its proxy with
+ * {@link io.vertx.serviceproxy.ProxyOptions#setResultFields(java.util.Set)}: the fields are sent with each call in the
+ * {@code fields} header, and the service replies its data objects, and its collections of data objects, with these
+ * top-level fields only. The proxy creates the data objects from their partial json, so their json constructor must
+ * accept the json missing the other fields, e.g. by reading the missing fields as their default values. A call whose
+ * result cannot be created from its partial json fails with the exception thrown by the constructor.
+ *
+ * [source,java]
+ * ----
+ * ProxyOptions options = new ProxyOptions().setResultFields(new HashSet<>(Arrays.asList("name", "status")));
+ * SomeDatabaseService summaries = ProxyHelper.createProxy(SomeDatabaseService.class, vertx, "database-service-address", options);
+ * ----
+ *
+ * === Forwarding calls
+ *
+ * A relay receiving the calls of a service on its address, to forward them to another address after inspecting
+ * them, can do so with a {@link io.vertx.serviceproxy.ForwardedCall} instead of decoding the call with a generated
+ * handler and encoding it again with a generated proxy. The call gives the action and the arguments as received,
+ * {@link io.vertx.serviceproxy.ForwardedCall#argument(int, java.lang.String)} peeking at an argument without decoding
+ * it, and {@link io.vertx.serviceproxy.ForwardedCall#forward(io.vertx.core.Vertx, java.lang.String)} sends the
+ * received arguments and headers to the service and replies the caller with the reply or the failure of the service:
+ *
+ * [source,java]
+ * ----
+ * vertx.eventBus().consumer("gateway", msg -> {
+ *   ForwardedCall call = ForwardedCall.of(msg);
+ *   String region = (String) call.argument(0, "region");
+ *   call.forward(vertx, "service." + region);
+ * });
+ * ----
+ *
+ * When the service is on the same node the buffer arguments are handed over without being copied, so the relay must
+ * not use them once the call is forwarded.
+ *
+ * == Routing calls between service instances
+ *
+ * When the same service is registered several times on an address, by several verticles or on several nodes, the
+ * event bus round-robins the calls between the registrations regardless of how busy they are, so a slow instance
+ * receives as many calls as a fast one.
+ *
+ * Instead, each instance can also register on its own _instance address_ and announce itself to the proxies, by
+ * enabling {@link io.vertx.serviceproxy.ServiceOptions#setInstanceRouting(boolean)} when registering the service:
+ *
+ * [source,java]
+ * ----
+ * ProxyHelper.registerService(SomeDatabaseService.class, vertx, service, "database-service-address",
+ *   new ServiceOptions().setInstanceRouting(true));
+ * ----
+ *
+ * A proxy created with a {@link io.vertx.serviceproxy.RoutingStrategy} learns the set of instances and sends each call
+ * to a specific instance:
+ *
+ * [source,java]
+ * ----
+ * SomeDatabaseService service = ProxyHelper.createProxy(SomeDatabaseService.class, vertx, "database-service-address",
+ *   new ProxyOptions().setRoutingStrategy(RoutingStrategy.LEAST_OUTSTANDING));
+ * ----
+ *
+ * * `LEAST_OUTSTANDING` sends the call to the instance having the fewest calls awaiting a reply from this proxy
+ * * `POWER_OF_TWO_CHOICES` picks two instances at random and sends the call to the least busy of the two
+ *
+ * `CONSISTENT_HASH` keeps the calls about the same key on the same instance, so that its local caches stay hot and
+ * each instance only caches its share of the keys. The parameter carrying the key is marked with
+ * {@link io.vertx.serviceproxy.RoutingKey}:
+ *
+ * [source,java]
+ * ----
+ * &#64;ProxyGen
+ * public interface SomeDatabaseService {
+ *
+ *  void findOne(String collection, &#64;RoutingKey String id,
+ *    Handler<AsyncResult<JsonObject>> result);
+ * }
+ * ----
+ *
+ * Each instance is placed at several points of a consistent-hash ring
+ * ({@link io.vertx.serviceproxy.ProxyOptions#setVirtualNodes(int)}), and a call goes to the instance owning the hash
+ * of its routing key. When instances join or leave, the ring is rebuilt and only the keys of the changed instances
+ * move. Calls without routing key are sent to the instance having the fewest outstanding calls.
+ *
+ * In a cluster, a call sent to the shared address may be delivered to a remote node even when the service is also
+ * registered on the calling node, paying the serialization and the network hop. With
+ * {@link io.vertx.serviceproxy.ProxyOptions#setPreferLocal(boolean)}, the proxy sends its calls to an instance
+ * registered on the same vert.x instance when there is one. Remote instances are used only when no local instance is
+ * left, or as overflow once each local instance has
+ * {@link io.vertx.serviceproxy.ProxyOptions#setLocalOverflowThreshold(int)} calls awaiting a reply. With
+ * `CONSISTENT_HASH`, the ring spans the local and the remote instances: a call having a routing key goes to the
+ * owner of the key, which is local only for the share of the keys owned by the local instances:
+ *
+ * [source,java]
+ * ----
+ * SomeDatabaseService service = ProxyHelper.createProxy(SomeDatabaseService.class, vertx, "database-service-address",
+ *   new ProxyOptions().setPreferLocal(true).setLocalOverflowThreshold(100));
+ * ----
+ *
+ * Until the first instance is discovered, calls are sent to the shared address. An instance that disappeared without
+ * announcing it is forgotten as soon as a call to it fails with `NO_HANDLERS`, and the call is sent again.
+ * The routing proxies of a vert.x instance share a single view of the instances of each address, which keeps
+ * listening to the instance announcements until all of them are closed.
+ *
+ * == Caching results on the client side
+ *
+ * Methods which are pure reads can be annotated with {@link io.vertx.serviceproxy.Cacheable}. The proxy then serves
+ * repeated calls with the same arguments from a bounded in-memory cache, without sending them to the service:
+ *
+ * [source,java]
+ * ----
+ * &#64;ProxyGen
+ * public interface SomeDatabaseService {
+ *
+ *  &#64;Cacheable(ttl = 30, maxSize = 10 * 1024 * 1024, invalidationAddress = "database-service-invalidations")
+ *  void findOne(String collection, JsonObject query,
+ *    Handler<AsyncResult<JsonObject>> result);
+ * }
+ * ----
+ *
+ * Results are keyed on the arguments of the call and are served for `ttl` (seconds by default). Only
+ * successful results are cached, and the least recently used results are evicted once the total encoded size of the
+ * results of the method exceeds `maxSize` bytes. A cached result is delivered synchronously to the result handler.
+ *
+ * When an `invalidationAddress` is declared, the service can evict the results cached by all the proxies with
+ * {@link io.vertx.serviceproxy.ResultCache#invalidate(io.vertx.core.Vertx, java.lang.String, java.lang.String)}:
+ *
+ * [source,java]
+ * ----
+ * ResultCache.invalidate(vertx, "database-service-invalidations", "findOne");
+ * ----
+ *
+ * A single result is evicted by passing the arguments of its call, named after the parameters, in any order:
+ *
+ * [source,java]
+ * ----
+ * ResultCache.invalidate(vertx, "database-service-invalidations", "findOne",
+ *   new JsonObject().put("query", query).put("collection", "users"));
+ * ----
+ *
+ * The proxies using the packed or binary protocols send some arguments as buffers, the results of these calls are
+ * only evicted by method.
+ *
+ * Each proxy has its own cache, so the proxy should be created once and reused. The proxies of a vert.x instance
+ * share a single consumer of each invalidation address, and a proxy dropped without being closed does not keep it or
+ * its cache alive.
+ *
+ * == Sharing identical calls in flight
+ *
+ * When many callers ask for the same thing at the same time, for instance on a cache miss, methods annotated with
+ * {@link io.vertx.serviceproxy.SingleFlight} let them share a single invocation of the service. While a call is in
+ * flight, the identical calls received by the service handler do not invoke the service: they wait for the result of
+ * the call in flight, and its result or failure is replied to all of them.
+ *
+ * [source,java]
+ * ----
+ * &#64;ProxyGen
+ * public interface SomeDatabaseService {
+ *
+ *  &#64;SingleFlight
+ *  void findOne(String collection, JsonObject query,
+ *    Handler<AsyncResult<JsonObject>> result);
+ * }
+ * ----
+ *
+ * Two calls are identical when they call the same method with the same encoded arguments. As the callers joining a
+ * call in flight do not trigger any invocation of their own, only methods returning data without side effects should
+ * be annotated.
+ *
+ * Proxies created with {@link io.vertx.serviceproxy.ProxyOptions#setSingleFlight(boolean)} also share the identical
+ * calls made through them before sending them, each caller getting its own copy of the result:
+ *
+ * [source,java]
+ * ----
+ * SomeDatabaseService service = ProxyHelper.createProxy(SomeDatabaseService.class, vertx, "database-service-address",
+ *   new ProxyOptions().setSingleFlight(true));
+ * ----
+ *
+ * == Batching calls into bulk methods
+ *
+ * Point lookups like `getUser(id)` often arrive as many separate calls, each one becoming a separate query in the
+ * service implementation. A single item method can be paired with a bulk method of the service with
+ * {@link io.vertx.serviceproxy.Batched}:
+ *
+ * [source,java]
+ * ----
+ * &#64;ProxyGen
+ * public interface UserService {
+ *
+ *  &#64;Batched(method = "getUsers", maxSize = 50, maxDelay = 5)
+ *  void getUser(String id, Handler<AsyncResult<JsonObject>> result);
+ *
+ *  void getUsers(List<String> ids, Handler<AsyncResult<List<JsonObject>>> result);
+ * }
+ * ----
+ *
+ * The service handler collects the `getUser` calls received within `maxDelay` (milliseconds by default) of the first
+ * one, or until `maxSize` calls are collected, and invokes `getUsers` once with the list of their arguments. The n-th
+ * result of the bulk method is replied to the n-th call, and a failure of the bulk method is replied to all the calls
+ * of the batch. The callers use `getUser` as usual.
+ *
+ * The single item method must have exactly one parameter besides its result handler, and the bulk method must return
+ * exactly one result per argument, in the same order.
+ *
  * == Error Handling
  *
  * Service methods may return errors to the client by passing a failed `Future` containing a {@link io.vertx.serviceproxy.ServiceException}
@@ -348,6 +806,35 @@
  * }
  * ----
  *
+ * When failures are expected results of the service, like validation failures, capturing the stack trace of each
+ * `ServiceException` is wasted work. The {@link io.vertx.serviceproxy.ServiceException#stackless} factory methods
+ * create a `ServiceException` without stack trace, and since it cannot be modified, the same instance can fail all the
+ * calls failing for the same reason:
+ *
+ * [source,java]
+ * ----
+ * private static final ServiceException BAD_SHOE_SIZE_FAILURE = ServiceException.stackless(BAD_SHOE_SIZE,
+ *   "The shoe size must be 9!");
+ *
+ * resultHandler.handle(Future.failedFuture(BAD_SHOE_SIZE_FAILURE));
+ * ----
+ *
+ * The stackless exceptions created without debug info share the same empty and immutable debug info. The exceptions
+ * received from another node have no stack trace either, and each of them has its own debug info, which the receiver
+ * can add to.
+ *
+ * Clients often only look at the failure code. The failure codes can be declared with a message template in
+ * {@link io.vertx.serviceproxy.FailureCodes}, on the service side and on the client side, and the failures created
+ * with {@link io.vertx.serviceproxy.ServiceException#coded} are then sent as their failure code and the parameters of
+ * the template only. The message is formatted from the template when it is read:
+ *
+ * [source,java]
+ * ----
+ * FailureCodes.register(BAD_SHOE_SIZE, "The shoe size must be 9, not {0}");
+ *
+ * resultHandler.handle(Future.failedFuture(ServiceException.coded(BAD_SHOE_SIZE, shoeSize)));
+ * ----
+ *
  * The client side can then check if the `Throwable` it receives from a failed `AsyncResult` is a `ServiceException`,
  * and if so, check the specific error code inside. It can use this information to differentiate business logic
  * errors from system errors (like the service not being registered with the Event Bus), and to determine exactly
@@ -556,6 +1043,38 @@
  * In the case where service proxies are used the "action" value should map to the name of an action method in the
  * service interface and each `[key, value]` in the body should map to a `[arg_name, arg_value]` in the action method.
  *
+ * The generated Java proxies can use a more compact positional encoding, flagged by a `protocol` header having the
+ * value `2`: the body is a `JsonArray` of the arguments in the declaration order of the parameters, so that the names
+ * of the parameters are not repeated in every call. The generated handlers accept both encodings:
+ *
+ * ----
+ * Headers:
+ *     "action": "save"
+ *     "protocol": "2"
+ * Body:
+ *     [ "mycollection", { "name": "tim" } ]
+ * ----
+ *
+ * With the protocol `3`, the lists and sets of `Integer`, `Long`, `Double` and
+ * `Character` are packed: an argument is a {@link io.vertx.core.buffer.Buffer} of the big-endian primitive values
+ * instead of a `JsonArray` of numbers, sent like the other buffer arguments, and a result is replied as the `byte[]` of
+ * these values. The receiving side reads them into primitive arrays exposed as lists and sets, which box a value only
+ * when it is accessed, so that large numeric collections are neither parsed nor allocated number by number. The first
+ * modification of such a collection copies it into an `ArrayList` or a `HashSet`. Collections having `null` elements
+ * keep the json encoding, and the handlers reply the json encoding to the callers of the other protocols.
+ *
+ * The generated Java proxies use the keyed encoding unless their {@link io.vertx.serviceproxy.ProxyOptions} say
+ * otherwise, so that a new proxy can call the services of the previous versions. Once every instance of a service
+ * understands them, the proxies can switch to the compact encodings:
+ *
+ * [source,java]
+ * ----
+ * ProxyOptions options = new ProxyOptions().setProtocol(CallProtocol.PACKED);
+ * SomeDatabaseService service = ProxyHelper.createProxy(SomeDatabaseService.class, vertx, "database-service-address", options);
+ * ----
+ *
+ * The calls having `Buffer` arguments are always sent positionally, whatever the protocol of the proxy.
+ *
  * For return values the service should use the `message.reply(...)` method to send back a return value - this can be of
  * any type supported by the event bus. To signal a failure the method `message.fail(...)` should be used.
  *
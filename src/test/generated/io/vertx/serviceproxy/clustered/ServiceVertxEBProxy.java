@@ -29,7 +29,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.function.Function;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
+import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceRouter;
 import io.vertx.serviceproxy.ServiceException;
 import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
 import io.vertx.serviceproxy.testmodel.SomeEnum;
@@ -53,20 +60,56 @@ public class ServiceVertxEBProxy implements Service {
   private Vertx _vertx;
   private String _address;
   private DeliveryOptions _options;
+  private ServiceRouter _router;
   private boolean closed;
 
   public ServiceVertxEBProxy(Vertx vertx, String address) {
-    this(vertx, address, null);
+    this(vertx, address, (DeliveryOptions) null);
   }
 
   public ServiceVertxEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, new ProxyOptions().setDeliveryOptions(options));
+  }
+
+  public ServiceVertxEBProxy(Vertx vertx, String address, ProxyOptions options) {
     this._vertx = vertx;
     this._address = address;
-    this._options = options;
+    this._options = options.getDeliveryOptions();
+    this._router = new ServiceRouter(vertx, Service.class, address, options,
+        ServiceVertxEBProxy::parameterNames, ServiceVertxEBProxy::routingKey);
     try {
       this._vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
+  }
+
+  private static String[] parameterNames(String action) {
+    switch (action) {
+      case "hello": return new String[] {"name", "result"};
+      case "methodUsingEnum": return new String[] {"e", "result"};
+      case "methodReturningEnum": return new String[] {"result"};
+      case "methodReturningVertxEnum": return new String[] {"result"};
+      case "methodWithJsonObject": return new String[] {"json", "result"};
+      case "methodWithJsonArray": return new String[] {"json", "result"};
+      case "methodWithList": return new String[] {"list", "result"};
+      case "methodWithDataObject": return new String[] {"data", "result"};
+      case "methodWithListOfDataObject": return new String[] {"list", "result"};
+      case "methodWithListOfJsonObject": return new String[] {"list", "result"};
+      case "methodWthFailingResult": return new String[] {"input", "result"};
+      default: return null;
+    }
+  }
+
+  private static int routingKey(String action) {
+    switch (action) {
+      default: return -1;
+    }
   }
 
   public Service hello(String name, Handler<AsyncResult<String>> result) {
@@ -74,15 +117,15 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("name", name);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(name);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "hello");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("hello", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body()));
+        result.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -93,15 +136,15 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("e", e == null ? null : e.toString());
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(e == null ? null : e.toString());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodUsingEnum");
-    _vertx.eventBus().<Boolean>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Boolean>call("methodUsingEnum", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body()));
+        result.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -112,14 +155,14 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodReturningEnum");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("methodReturningEnum", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body() == null ? null : SomeEnum.valueOf(res.result().body())));
+        result.handle(Future.succeededFuture(res.result() == null ? null : SomeEnum.valueOf(res.result())));
       }
     });
     return this;
@@ -130,14 +173,14 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodReturningVertxEnum");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("methodReturningVertxEnum", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body() == null ? null : SomeVertxEnum.valueOf(res.result().body())));
+        result.handle(Future.succeededFuture(res.result() == null ? null : SomeVertxEnum.valueOf(res.result())));
       }
     });
     return this;
@@ -148,15 +191,15 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("json", json);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(json);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWithJsonObject");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonObject>call("methodWithJsonObject", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body()));
+        result.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -167,15 +210,15 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("json", json);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(json);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWithJsonArray");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("methodWithJsonArray", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body()));
+        result.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -186,15 +229,15 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("list", new JsonArray(list));
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(new JsonArray(list));
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWithList");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("methodWithList", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        result.handle(Future.succeededFuture(res.result().getList()));
       }
     });
     return this;
@@ -205,15 +248,22 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("data", data == null ? null : data.toJson());
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(_router.isBinary() ? DataObjectCodec.encode(TestDataObject.class, data, TestDataObject::toJson) : data == null ? null : data.toJson());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWithDataObject");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("methodWithDataObject", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body() == null ? null : new TestDataObject(res.result().body())));
+        TestDataObject _result;
+        try {
+          _result = DataObjectCodec.decode(TestDataObject.class, res.result(), TestDataObject::new);
+        } catch (RuntimeException _e) {
+          result.handle(Future.failedFuture(_e));
+          return;
+        }
+        result.handle(Future.succeededFuture(_result));
                       }
     });
     return this;
@@ -224,19 +274,21 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("list", new JsonArray(list.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(new JsonArray(list.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWithListOfDataObject");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("methodWithListOfDataObject", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body().stream()
-            .map(o -> { if (o == null) return null;
-                        return o instanceof Map ? new TestDataObject(new JsonObject((Map) o)) : new TestDataObject((JsonObject) o);
-                 })
-            .collect(Collectors.toList())));
+        _router.convert(res.result(), _element -> _element == null ? null : new TestDataObject(_element), _converted -> {
+          if (_converted.failed()) {
+            result.handle(Future.failedFuture(_converted.cause()));
+          } else {
+            result.handle(Future.succeededFuture(_converted.result()));
+          }
+        });
       }
     });
     return this;
@@ -247,15 +299,20 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("list", new JsonArray(list));
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(new JsonArray(list));
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWithListOfJsonObject");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("methodWithListOfJsonObject", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        JsonArray _array = res.result();
+        List<JsonObject> _result = new ArrayList<>(_array.size());
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getJsonObject(_i));
+        }
+        result.handle(Future.succeededFuture(_result));
       }
     });
     return this;
@@ -266,78 +323,18 @@ public class ServiceVertxEBProxy implements Service {
     result.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("input", input);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(input);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "methodWthFailingResult");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonObject>call("methodWthFailingResult", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         result.handle(Future.failedFuture(res.cause()));
       } else {
-        result.handle(Future.succeededFuture(res.result().body()));
+        result.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
   }
 
-
-  private List<Character> convertToListChar(JsonArray arr) {
-    List<Character> list = new ArrayList<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      list.add((char)(int)jobj);
-    }
-    return list;
-  }
-
-  private Set<Character> convertToSetChar(JsonArray arr) {
-    Set<Character> set = new HashSet<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      set.add((char)(int)jobj);
-    }
-    return set;
-  }
-
-  private <T> Map<String, T> convertMap(Map map) {
-    if (map.isEmpty()) { 
-      return (Map<String, T>) map; 
-    } 
-     
-    Object elem = map.values().stream().findFirst().get(); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (Map<String, T>) map; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return ((Map<String, T>) map).entrySet() 
-       .stream() 
-       .collect(Collectors.toMap(Map.Entry::getKey, converter::apply)); 
-    } 
-  }
-  private <T> List<T> convertList(List list) {
-    if (list.isEmpty()) { 
-          return (List<T>) list; 
-        } 
-     
-    Object elem = list.get(0); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (List<T>) list; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return (List<T>) list.stream().map(converter).collect(Collectors.toList()); 
-    } 
-  }
-  private <T> Set<T> convertSet(List list) {
-    return new HashSet<T>(convertList(list));
-  }
 }
\ No newline at end of file
@@ -34,7 +34,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
 import io.vertx.serviceproxy.ProxyHelper;
 import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ServiceException;
@@ -74,6 +79,7 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
   }
 
   public ServiceVertxProxyHandler(Vertx vertx, Service service, boolean topLevel, long timeoutSeconds) {
+    super(vertx, Service.class);
     this.vertx = vertx;
     this.service = service;
     this.timeoutSeconds = timeoutSeconds;
@@ -81,6 +87,12 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
       this.vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this.vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this.vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
     if (timeoutSeconds != -1 && !topLevel) {
       long period = timeoutSeconds * 1000 / 2;
       if (period > 10000) {
@@ -118,7 +130,26 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
     this.lastAccessed = System.nanoTime();
   }
 
-  public void handle(Message<JsonObject> msg) {
+  @Override
+  protected String[] parameterNames(String action) {
+    switch (action) {
+      case "hello": return new String[] {"name", "result"};
+      case "methodUsingEnum": return new String[] {"e", "result"};
+      case "methodReturningEnum": return new String[] {"result"};
+      case "methodReturningVertxEnum": return new String[] {"result"};
+      case "methodWithJsonObject": return new String[] {"json", "result"};
+      case "methodWithJsonArray": return new String[] {"json", "result"};
+      case "methodWithList": return new String[] {"list", "result"};
+      case "methodWithDataObject": return new String[] {"data", "result"};
+      case "methodWithListOfDataObject": return new String[] {"list", "result"};
+      case "methodWithListOfJsonObject": return new String[] {"list", "result"};
+      case "methodWthFailingResult": return new String[] {"input", "result"};
+      default: return null;
+    }
+  }
+
+  @Override
+  protected void invoke(Message<JsonObject> msg) {
     try {
       JsonObject json = msg.body();
       String action = msg.headers().get("action");
@@ -153,39 +184,19 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "methodWithList": {
-          service.methodWithList(convertList(json.getJsonArray("list").getList()), createListHandler(msg));
+          service.methodWithList(lazyList(json, "list", () -> convertList(json.getJsonArray("list").getList())), createListHandler(msg));
           break;
         }
         case "methodWithDataObject": {
-          service.methodWithDataObject(json.getJsonObject("data") == null ? null : new io.vertx.serviceproxy.testmodel.TestDataObject(json.getJsonObject("data")), res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(res.result() == null ? null : res.result().toJson());
-            }
-         });
+          service.methodWithDataObject(DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, json.getValue("data"), io.vertx.serviceproxy.testmodel.TestDataObject::new), createDataObjectHandler(msg, TestDataObject.class, TestDataObject::toJson));
           break;
         }
         case "methodWithListOfDataObject": {
-          service.methodWithListOfDataObject(json.getJsonArray("list").stream().map(o -> new TestDataObject((JsonObject)o)).collect(Collectors.toList()), res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(new JsonArray(res.result().stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
-            }
-         });
+          service.methodWithListOfDataObject(lazyList(json, "list", () -> json.getJsonArray("list").stream().map(o -> DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, o, io.vertx.serviceproxy.testmodel.TestDataObject::new)).collect(Collectors.toList())), createDataObjectsHandler(msg, TestDataObject::toJson));
           break;
         }
         case "methodWithListOfJsonObject": {
-          service.methodWithListOfJsonObject(convertList(json.getJsonArray("list").getList()), createListHandler(msg));
+          service.methodWithListOfJsonObject(lazyList(json, "list", () -> convertList(json.getJsonArray("list").getList())), createListHandler(msg));
           break;
         }
         case "methodWthFailingResult": {
@@ -213,6 +224,8 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
       } else {
         if (res.result() != null  && res.result().getClass().isEnum()) {
           msg.reply(((Enum) res.result()).name());
+        } else if (res.result() instanceof io.vertx.core.buffer.Buffer) {
+          msg.reply(res.result(), new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
         } else {
           msg.reply(res.result());
         }
@@ -248,7 +261,8 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
     };
   }
 
-  private Handler<AsyncResult<List<Character>>> createListCharHandler(Message msg) {
+  private <T> Handler<AsyncResult<T>> createDataObjectHandler(Message msg, Class<T> type, Function<T, JsonObject> toJson) {
+    String[] fields = resultFields(msg);
     return res -> {
       if (res.failed()) {
         if (res.cause() instanceof ServiceException) {
@@ -256,17 +270,21 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
         } else {
           msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
-      } else {
-        JsonArray arr = new JsonArray();
-        for (Character chr: res.result()) {
-          arr.add((int) chr);
+      } else if (isBinary(msg) && fields == null) {
+        Object encoded = DataObjectCodec.encode(type, res.result(), toJson);
+        if (encoded instanceof io.vertx.core.buffer.Buffer) {
+          msg.reply(encoded, new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
+        } else {
+          msg.reply(encoded);
         }
-        msg.reply(arr);
+      } else {
+        msg.reply(res.result() == null ? null : project(toJson.apply(res.result()), fields));
       }
     };
   }
 
-  private Handler<AsyncResult<Set<Character>>> createSetCharHandler(Message msg) {
+  private <T, C extends Collection<T>> Handler<AsyncResult<C>> createDataObjectsHandler(Message msg, Function<T, JsonObject> toJson) {
+    String[] fields = resultFields(msg);
     return res -> {
       if (res.failed()) {
         if (res.cause() instanceof ServiceException) {
@@ -275,11 +293,29 @@ public class ServiceVertxProxyHandler extends ProxyHandler {
           msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
       } else {
-        JsonArray arr = new JsonArray();
-        for (Character chr: res.result()) {
-          arr.add((int) chr);
+        convert(res.result(), r -> r == null ? null : project(toJson.apply(r), fields), converted -> {
+          if (converted.failed()) {
+            msg.reply(new ServiceException(-1, converted.cause().getMessage()));
+          } else {
+            msg.reply(new JsonArray(converted.result()));
+          }
+        });
+      }
+    };
+  }
+
+  private <T extends Collection<?>> Handler<AsyncResult<T>> createPackedHandler(Message msg, Function<T, Object> packer) {
+    return res -> {
+      if (res.failed()) {
+        if (res.cause() instanceof ServiceException) {
+          msg.reply(res.cause());
+        } else {
+          msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
-        msg.reply(arr);
+      } else if (isPacked(msg)) {
+        msg.reply(packer.apply(res.result()));
+      } else {
+        msg.reply(PackedCollections.toJsonArray(res.result()));
       }
     };
   }
@@ -29,7 +29,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.function.Function;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
+import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceRouter;
 import io.vertx.serviceproxy.ServiceException;
 import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
 
@@ -43,90 +50,56 @@ public class TestBaseImportsServiceVertxEBProxy implements TestBaseImportsServic
   private Vertx _vertx;
   private String _address;
   private DeliveryOptions _options;
+  private ServiceRouter _router;
   private boolean closed;
 
   public TestBaseImportsServiceVertxEBProxy(Vertx vertx, String address) {
-    this(vertx, address, null);
+    this(vertx, address, (DeliveryOptions) null);
   }
 
   public TestBaseImportsServiceVertxEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, new ProxyOptions().setDeliveryOptions(options));
+  }
+
+  public TestBaseImportsServiceVertxEBProxy(Vertx vertx, String address, ProxyOptions options) {
     this._vertx = vertx;
     this._address = address;
-    this._options = options;
+    this._options = options.getDeliveryOptions();
+    this._router = new ServiceRouter(vertx, TestBaseImportsService.class, address, options,
+        TestBaseImportsServiceVertxEBProxy::parameterNames, TestBaseImportsServiceVertxEBProxy::routingKey);
     try {
       this._vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
   }
 
-  public void m() {
-    if (closed) {
-    throw new IllegalStateException("Proxy is closed");
-  }
-    JsonObject _json = new JsonObject();
-    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
-    _deliveryOptions.addHeader("action", "m");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
-  }
-
-
-  private List<Character> convertToListChar(JsonArray arr) {
-    List<Character> list = new ArrayList<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      list.add((char)(int)jobj);
+  private static String[] parameterNames(String action) {
+    switch (action) {
+      case "m": return new String[] {};
+      default: return null;
     }
-    return list;
   }
 
-  private Set<Character> convertToSetChar(JsonArray arr) {
-    Set<Character> set = new HashSet<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      set.add((char)(int)jobj);
+  private static int routingKey(String action) {
+    switch (action) {
+      default: return -1;
     }
-    return set;
   }
 
-  private <T> Map<String, T> convertMap(Map map) {
-    if (map.isEmpty()) { 
-      return (Map<String, T>) map; 
-    } 
-     
-    Object elem = map.values().stream().findFirst().get(); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (Map<String, T>) map; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return ((Map<String, T>) map).entrySet() 
-       .stream() 
-       .collect(Collectors.toMap(Map.Entry::getKey, converter::apply)); 
-    } 
-  }
-  private <T> List<T> convertList(List list) {
-    if (list.isEmpty()) { 
-          return (List<T>) list; 
-        } 
-     
-    Object elem = list.get(0); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (List<T>) list; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return (List<T>) list.stream().map(converter).collect(Collectors.toList()); 
-    } 
+  public void m() {
+    if (closed) {
+    throw new IllegalStateException("Proxy is closed");
   }
-  private <T> Set<T> convertSet(List list) {
-    return new HashSet<T>(convertList(list));
+    List<Object> _args = new ArrayList<>(0);
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "m");
+    _router.send("m", new JsonArray(_args), _deliveryOptions);
   }
+
 }
\ No newline at end of file
@@ -29,7 +29,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.function.Function;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
+import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceRouter;
 import io.vertx.serviceproxy.ServiceException;
 import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
 import io.vertx.core.json.JsonObject;
@@ -47,20 +54,50 @@ public class TestConnectionVertxEBProxy implements TestConnection {
   private Vertx _vertx;
   private String _address;
   private DeliveryOptions _options;
+  private ServiceRouter _router;
   private boolean closed;
 
   public TestConnectionVertxEBProxy(Vertx vertx, String address) {
-    this(vertx, address, null);
+    this(vertx, address, (DeliveryOptions) null);
   }
 
   public TestConnectionVertxEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, new ProxyOptions().setDeliveryOptions(options));
+  }
+
+  public TestConnectionVertxEBProxy(Vertx vertx, String address, ProxyOptions options) {
     this._vertx = vertx;
     this._address = address;
-    this._options = options;
+    this._options = options.getDeliveryOptions();
+    this._router = new ServiceRouter(vertx, TestConnection.class, address, options,
+        TestConnectionVertxEBProxy::parameterNames, TestConnectionVertxEBProxy::routingKey);
     try {
       this._vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
+  }
+
+  private static String[] parameterNames(String action) {
+    switch (action) {
+      case "startTransaction": return new String[] {"resultHandler"};
+      case "insert": return new String[] {"name", "data", "resultHandler"};
+      case "commit": return new String[] {"resultHandler"};
+      case "rollback": return new String[] {"resultHandler"};
+      case "close": return new String[] {};
+      default: return null;
+    }
+  }
+
+  private static int routingKey(String action) {
+    switch (action) {
+      default: return -1;
+    }
   }
 
   public TestConnection startTransaction(Handler<AsyncResult<String>> resultHandler) {
@@ -68,14 +105,14 @@ public class TestConnectionVertxEBProxy implements TestConnection {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "startTransaction");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("startTransaction", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -86,16 +123,16 @@ public class TestConnectionVertxEBProxy implements TestConnection {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("name", name);
-    _json.put("data", data);
+    List<Object> _args = new ArrayList<>(2);
+    _args.add(name);
+    _args.add(data);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "insert");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("insert", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -106,14 +143,14 @@ public class TestConnectionVertxEBProxy implements TestConnection {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "commit");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("commit", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -124,14 +161,14 @@ public class TestConnectionVertxEBProxy implements TestConnection {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "rollback");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("rollback", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -142,70 +179,11 @@ public class TestConnectionVertxEBProxy implements TestConnection {
     throw new IllegalStateException("Proxy is closed");
   }
     closed = true;
-  JsonObject _json = new JsonObject();
+    _router.close();
+  List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "close");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
-  }
-
-
-  private List<Character> convertToListChar(JsonArray arr) {
-    List<Character> list = new ArrayList<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      list.add((char)(int)jobj);
-    }
-    return list;
+    _router.send("close", new JsonArray(_args), _deliveryOptions);
   }
 
-  private Set<Character> convertToSetChar(JsonArray arr) {
-    Set<Character> set = new HashSet<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      set.add((char)(int)jobj);
-    }
-    return set;
-  }
-
-  private <T> Map<String, T> convertMap(Map map) {
-    if (map.isEmpty()) { 
-      return (Map<String, T>) map; 
-    } 
-     
-    Object elem = map.values().stream().findFirst().get(); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (Map<String, T>) map; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return ((Map<String, T>) map).entrySet() 
-       .stream() 
-       .collect(Collectors.toMap(Map.Entry::getKey, converter::apply)); 
-    } 
-  }
-  private <T> List<T> convertList(List list) {
-    if (list.isEmpty()) { 
-          return (List<T>) list; 
-        } 
-     
-    Object elem = list.get(0); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (List<T>) list; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return (List<T>) list.stream().map(converter).collect(Collectors.toList()); 
-    } 
-  }
-  private <T> Set<T> convertSet(List list) {
-    return new HashSet<T>(convertList(list));
-  }
 }
\ No newline at end of file
@@ -34,7 +34,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
 import io.vertx.serviceproxy.ProxyHelper;
 import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ServiceException;
@@ -68,6 +73,7 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
   }
 
   public TestConnectionVertxProxyHandler(Vertx vertx, TestConnection service, boolean topLevel, long timeoutSeconds) {
+    super(vertx, TestConnection.class);
     this.vertx = vertx;
     this.service = service;
     this.timeoutSeconds = timeoutSeconds;
@@ -75,6 +81,12 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
       this.vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this.vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this.vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
     if (timeoutSeconds != -1 && !topLevel) {
       long period = timeoutSeconds * 1000 / 2;
       if (period > 10000) {
@@ -113,7 +125,20 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
     this.lastAccessed = System.nanoTime();
   }
 
-  public void handle(Message<JsonObject> msg) {
+  @Override
+  protected String[] parameterNames(String action) {
+    switch (action) {
+      case "startTransaction": return new String[] {"resultHandler"};
+      case "insert": return new String[] {"name", "data", "resultHandler"};
+      case "commit": return new String[] {"resultHandler"};
+      case "rollback": return new String[] {"resultHandler"};
+      case "close": return new String[] {};
+      default: return null;
+    }
+  }
+
+  @Override
+  protected void invoke(Message<JsonObject> msg) {
     try {
       JsonObject json = msg.body();
       String action = msg.headers().get("action");
@@ -164,6 +189,8 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
       } else {
         if (res.result() != null  && res.result().getClass().isEnum()) {
           msg.reply(((Enum) res.result()).name());
+        } else if (res.result() instanceof io.vertx.core.buffer.Buffer) {
+          msg.reply(res.result(), new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
         } else {
           msg.reply(res.result());
         }
@@ -199,7 +226,8 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
     };
   }
 
-  private Handler<AsyncResult<List<Character>>> createListCharHandler(Message msg) {
+  private <T> Handler<AsyncResult<T>> createDataObjectHandler(Message msg, Class<T> type, Function<T, JsonObject> toJson) {
+    String[] fields = resultFields(msg);
     return res -> {
       if (res.failed()) {
         if (res.cause() instanceof ServiceException) {
@@ -207,17 +235,21 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
         } else {
           msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
-      } else {
-        JsonArray arr = new JsonArray();
-        for (Character chr: res.result()) {
-          arr.add((int) chr);
+      } else if (isBinary(msg) && fields == null) {
+        Object encoded = DataObjectCodec.encode(type, res.result(), toJson);
+        if (encoded instanceof io.vertx.core.buffer.Buffer) {
+          msg.reply(encoded, new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
+        } else {
+          msg.reply(encoded);
         }
-        msg.reply(arr);
+      } else {
+        msg.reply(res.result() == null ? null : project(toJson.apply(res.result()), fields));
       }
     };
   }
 
-  private Handler<AsyncResult<Set<Character>>> createSetCharHandler(Message msg) {
+  private <T, C extends Collection<T>> Handler<AsyncResult<C>> createDataObjectsHandler(Message msg, Function<T, JsonObject> toJson) {
+    String[] fields = resultFields(msg);
     return res -> {
       if (res.failed()) {
         if (res.cause() instanceof ServiceException) {
@@ -226,11 +258,29 @@ public class TestConnectionVertxProxyHandler extends ProxyHandler {
           msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
       } else {
-        JsonArray arr = new JsonArray();
-        for (Character chr: res.result()) {
-          arr.add((int) chr);
+        convert(res.result(), r -> r == null ? null : project(toJson.apply(r), fields), converted -> {
+          if (converted.failed()) {
+            msg.reply(new ServiceException(-1, converted.cause().getMessage()));
+          } else {
+            msg.reply(new JsonArray(converted.result()));
+          }
+        });
+      }
+    };
+  }
+
+  private <T extends Collection<?>> Handler<AsyncResult<T>> createPackedHandler(Message msg, Function<T, Object> packer) {
+    return res -> {
+      if (res.failed()) {
+        if (res.cause() instanceof ServiceException) {
+          msg.reply(res.cause());
+        } else {
+          msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
-        msg.reply(arr);
+      } else if (isPacked(msg)) {
+        msg.reply(packer.apply(res.result()));
+      } else {
+        msg.reply(PackedCollections.toJsonArray(res.result()));
       }
     };
   }
@@ -29,7 +29,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.function.Function;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
+import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceRouter;
 import io.vertx.serviceproxy.ServiceException;
 import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
 import io.vertx.core.AsyncResult;
@@ -45,20 +52,47 @@ public class TestConnectionWithCloseFutureVertxEBProxy implements TestConnection
   private Vertx _vertx;
   private String _address;
   private DeliveryOptions _options;
+  private ServiceRouter _router;
   private boolean closed;
 
   public TestConnectionWithCloseFutureVertxEBProxy(Vertx vertx, String address) {
-    this(vertx, address, null);
+    this(vertx, address, (DeliveryOptions) null);
   }
 
   public TestConnectionWithCloseFutureVertxEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, new ProxyOptions().setDeliveryOptions(options));
+  }
+
+  public TestConnectionWithCloseFutureVertxEBProxy(Vertx vertx, String address, ProxyOptions options) {
     this._vertx = vertx;
     this._address = address;
-    this._options = options;
+    this._options = options.getDeliveryOptions();
+    this._router = new ServiceRouter(vertx, TestConnectionWithCloseFuture.class, address, options,
+        TestConnectionWithCloseFutureVertxEBProxy::parameterNames, TestConnectionWithCloseFutureVertxEBProxy::routingKey);
     try {
       this._vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
+  }
+
+  private static String[] parameterNames(String action) {
+    switch (action) {
+      case "close": return new String[] {"handler"};
+      case "someMethod": return new String[] {"resultHandler"};
+      default: return null;
+    }
+  }
+
+  private static int routingKey(String action) {
+    switch (action) {
+      default: return -1;
+    }
   }
 
   public void close(Handler<AsyncResult<Void>> handler) {
@@ -67,14 +101,15 @@ public class TestConnectionWithCloseFutureVertxEBProxy implements TestConnection
       return;
     }
     closed = true;
-  JsonObject _json = new JsonObject();
+    _router.close();
+  List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "close");
-    _vertx.eventBus().<Void>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Void>call("close", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         handler.handle(Future.failedFuture(res.cause()));
       } else {
-        handler.handle(Future.succeededFuture(res.result().body()));
+        handler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -84,76 +119,16 @@ public class TestConnectionWithCloseFutureVertxEBProxy implements TestConnection
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "someMethod");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("someMethod", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
 
-
-  private List<Character> convertToListChar(JsonArray arr) {
-    List<Character> list = new ArrayList<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      list.add((char)(int)jobj);
-    }
-    return list;
-  }
-
-  private Set<Character> convertToSetChar(JsonArray arr) {
-    Set<Character> set = new HashSet<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      set.add((char)(int)jobj);
-    }
-    return set;
-  }
-
-  private <T> Map<String, T> convertMap(Map map) {
-    if (map.isEmpty()) { 
-      return (Map<String, T>) map; 
-    } 
-     
-    Object elem = map.values().stream().findFirst().get(); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (Map<String, T>) map; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return ((Map<String, T>) map).entrySet() 
-       .stream() 
-       .collect(Collectors.toMap(Map.Entry::getKey, converter::apply)); 
-    } 
-  }
-  private <T> List<T> convertList(List list) {
-    if (list.isEmpty()) { 
-          return (List<T>) list; 
-        } 
-     
-    Object elem = list.get(0); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (List<T>) list; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return (List<T>) list.stream().map(converter).collect(Collectors.toList()); 
-    } 
-  }
-  private <T> Set<T> convertSet(List list) {
-    return new HashSet<T>(convertList(list));
-  }
 }
\ No newline at end of file
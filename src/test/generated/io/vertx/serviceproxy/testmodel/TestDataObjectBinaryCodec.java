@@ -0,0 +1,55 @@
+/*
+* Copyright 2014 Red Hat, Inc.
+*
+* Red Hat licenses this file to you under the Apache License, version 2.0
+* (the "License"); you may not use this file except in compliance with the
+* License. You may obtain a copy of the License at:
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+* WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+* License for the specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.vertx.serviceproxy.testmodel;
+
+import io.vertx.serviceproxy.BinaryReader;
+import io.vertx.serviceproxy.BinaryWriter;
+import io.vertx.serviceproxy.DataObjectCodec;
+
+/*
+  Generated Binary Codec code - DO NOT EDIT
+  @author Roger the Robot
+*/
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class TestDataObjectBinaryCodec implements DataObjectCodec<TestDataObject> {
+
+  @Override
+  public int schema() {
+    return 1595582462;
+  }
+
+  @Override
+  public void encode(BinaryWriter writer, TestDataObject value) {
+    writer.writeBoolean(value.isBool());
+    writer.writeInt(value.getNumber());
+    java.lang.String _string = value.getString();
+    if (writer.writePresent(_string)) {
+      writer.writeString(_string);
+    }
+  }
+
+  @Override
+  public TestDataObject decode(BinaryReader reader) {
+    TestDataObject value = new TestDataObject();
+    value.setBool(reader.readBoolean());
+    value.setNumber(reader.readInt());
+    if (reader.readPresent()) {
+      value.setString(reader.readString());
+    }
+    return value;
+  }
+}
@@ -29,7 +29,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.function.Function;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
+import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceRouter;
 import io.vertx.serviceproxy.ServiceException;
 import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
 import io.vertx.serviceproxy.testmodel.TestService;
@@ -56,20 +63,131 @@ public class TestServiceVertxEBProxy implements TestService {
   private Vertx _vertx;
   private String _address;
   private DeliveryOptions _options;
+  private ServiceRouter _router;
   private boolean closed;
 
   public TestServiceVertxEBProxy(Vertx vertx, String address) {
-    this(vertx, address, null);
+    this(vertx, address, (DeliveryOptions) null);
   }
 
   public TestServiceVertxEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, new ProxyOptions().setDeliveryOptions(options));
+  }
+
+  public TestServiceVertxEBProxy(Vertx vertx, String address, ProxyOptions options) {
     this._vertx = vertx;
     this._address = address;
-    this._options = options;
+    this._options = options.getDeliveryOptions();
+    this._router = new ServiceRouter(vertx, TestService.class, address, options,
+        TestServiceVertxEBProxy::parameterNames, TestServiceVertxEBProxy::routingKey);
     try {
       this._vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this._vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
+  }
+
+  private static String[] parameterNames(String action) {
+    switch (action) {
+      case "longDeliverySuccess": return new String[] {"resultHandler"};
+      case "longDeliveryFailed": return new String[] {"resultHandler"};
+      case "createConnection": return new String[] {"str", "resultHandler"};
+      case "createConnectionWithCloseFuture": return new String[] {"resultHandler"};
+      case "noParams": return new String[] {};
+      case "basicTypes": return new String[] {"str", "b", "s", "i", "l", "f", "d", "c", "bool"};
+      case "basicBoxedTypes": return new String[] {"str", "b", "s", "i", "l", "f", "d", "c", "bool"};
+      case "basicBoxedTypesNull": return new String[] {"str", "b", "s", "i", "l", "f", "d", "c", "bool"};
+      case "jsonTypes": return new String[] {"jsonObject", "jsonArray"};
+      case "jsonTypesNull": return new String[] {"jsonObject", "jsonArray"};
+      case "enumType": return new String[] {"someEnum"};
+      case "enumTypeNull": return new String[] {"someEnum"};
+      case "enumTypeAsResult": return new String[] {"someEnum"};
+      case "enumTypeAsResultNull": return new String[] {"someEnum"};
+      case "dataObjectType": return new String[] {"options"};
+      case "dataObjectTypeNull": return new String[] {"options"};
+      case "listParams": return new String[] {"listString", "listByte", "listShort", "listInt", "listLong", "listJsonObject", "listJsonArray", "listDataObject"};
+      case "setParams": return new String[] {"setString", "setByte", "setShort", "setInt", "setLong", "setJsonObject", "setJsonArray", "setDataObject"};
+      case "mapParams": return new String[] {"mapString", "mapByte", "mapShort", "mapInt", "mapLong", "mapJsonObject", "mapJsonArray"};
+      case "stringHandler": return new String[] {"resultHandler"};
+      case "stringNullHandler": return new String[] {"resultHandler"};
+      case "byteHandler": return new String[] {"resultHandler"};
+      case "byteNullHandler": return new String[] {"resultHandler"};
+      case "shortHandler": return new String[] {"resultHandler"};
+      case "shortNullHandler": return new String[] {"resultHandler"};
+      case "intHandler": return new String[] {"resultHandler"};
+      case "intNullHandler": return new String[] {"resultHandler"};
+      case "longHandler": return new String[] {"resultHandler"};
+      case "longNullHandler": return new String[] {"resultHandler"};
+      case "floatHandler": return new String[] {"resultHandler"};
+      case "floatNullHandler": return new String[] {"resultHandler"};
+      case "doubleHandler": return new String[] {"resultHandler"};
+      case "doubleNullHandler": return new String[] {"resultHandler"};
+      case "charHandler": return new String[] {"resultHandler"};
+      case "charNullHandler": return new String[] {"resultHandler"};
+      case "booleanHandler": return new String[] {"resultHandler"};
+      case "booleanNullHandler": return new String[] {"resultHandler"};
+      case "jsonObjectHandler": return new String[] {"resultHandler"};
+      case "jsonObjectNullHandler": return new String[] {"resultHandler"};
+      case "jsonArrayHandler": return new String[] {"resultHandler"};
+      case "jsonArrayNullHandler": return new String[] {"resultHandler"};
+      case "dataObjectHandler": return new String[] {"resultHandler"};
+      case "dataObjectNullHandler": return new String[] {"resultHandler"};
+      case "voidHandler": return new String[] {"resultHandler"};
+      case "fluentMethod": return new String[] {"str", "resultHandler"};
+      case "fluentNoParams": return new String[] {};
+      case "failingMethod": return new String[] {"resultHandler"};
+      case "invokeWithMessage": return new String[] {"object", "str", "i", "chr", "senum", "resultHandler"};
+      case "listStringHandler": return new String[] {"resultHandler"};
+      case "listByteHandler": return new String[] {"resultHandler"};
+      case "listShortHandler": return new String[] {"resultHandler"};
+      case "listIntHandler": return new String[] {"resultHandler"};
+      case "listLongHandler": return new String[] {"resultHandler"};
+      case "listFloatHandler": return new String[] {"resultHandler"};
+      case "listDoubleHandler": return new String[] {"resultHandler"};
+      case "listCharHandler": return new String[] {"resultHandler"};
+      case "listBoolHandler": return new String[] {"resultHandler"};
+      case "listJsonObjectHandler": return new String[] {"resultHandler"};
+      case "listJsonArrayHandler": return new String[] {"resultHandler"};
+      case "listDataObjectHandler": return new String[] {"resultHandler"};
+      case "setStringHandler": return new String[] {"resultHandler"};
+      case "setByteHandler": return new String[] {"resultHandler"};
+      case "setShortHandler": return new String[] {"resultHandler"};
+      case "setIntHandler": return new String[] {"resultHandler"};
+      case "setLongHandler": return new String[] {"resultHandler"};
+      case "setFloatHandler": return new String[] {"resultHandler"};
+      case "setDoubleHandler": return new String[] {"resultHandler"};
+      case "setCharHandler": return new String[] {"resultHandler"};
+      case "setBoolHandler": return new String[] {"resultHandler"};
+      case "setJsonObjectHandler": return new String[] {"resultHandler"};
+      case "setJsonArrayHandler": return new String[] {"resultHandler"};
+      case "setDataObjectHandler": return new String[] {"resultHandler"};
+      case "failingCall": return new String[] {"value", "resultHandler"};
+      case "listDataObjectContainingNullHandler": return new String[] {"resultHandler"};
+      case "setDataObjectContainingNullHandler": return new String[] {"resultHandler"};
+      case "lookup": return new String[] {"key", "resultHandler"};
+      case "lookupAll": return new String[] {"keys", "resultHandler"};
+      case "lookupDataObject": return new String[] {"dataObject", "resultHandler"};
+      case "lookupDataObjects": return new String[] {"dataObjects", "resultHandler"};
+      case "routedFluentMethod": return new String[] {"str", "resultHandler"};
+      case "cachedJsonObjectHandler": return new String[] {"resultHandler"};
+      case "singleFlightJsonArrayHandler": return new String[] {"resultHandler"};
+      case "conditionalDataObjectHandler": return new String[] {"resultHandler"};
+      case "cachedDataObjectArgument": return new String[] {"dataObject", "resultHandler"};
+      case "ignoredMethod": return new String[] {};
+      default: return null;
+    }
+  }
+
+  private static int routingKey(String action) {
+    switch (action) {
+      case "routedFluentMethod": return 0;
+      default: return -1;
+    }
   }
 
   public void longDeliverySuccess(Handler<AsyncResult<String>> resultHandler) {
@@ -77,14 +195,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "longDeliverySuccess");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("longDeliverySuccess", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -94,14 +212,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "longDeliveryFailed");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("longDeliveryFailed", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -111,11 +229,11 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("str", str);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(str);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "createConnection");
-    _vertx.eventBus().<TestConnection>send(_address, _json, _deliveryOptions, res -> {
+    _router.<TestConnection>send("createConnection", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
@@ -130,10 +248,10 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "createConnectionWithCloseFuture");
-    _vertx.eventBus().<TestConnectionWithCloseFuture>send(_address, _json, _deliveryOptions, res -> {
+    _router.<TestConnectionWithCloseFuture>send("createConnectionWithCloseFuture", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
@@ -147,113 +265,113 @@ public class TestServiceVertxEBProxy implements TestService {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "noParams");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("noParams", new JsonArray(_args), _deliveryOptions);
   }
 
   public void basicTypes(String str, byte b, short s, int i, long l, float f, double d, char c, boolean bool) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("str", str);
-    _json.put("b", b);
-    _json.put("s", s);
-    _json.put("i", i);
-    _json.put("l", l);
-    _json.put("f", f);
-    _json.put("d", d);
-    _json.put("c", (int)c);
-    _json.put("bool", bool);
+    List<Object> _args = new ArrayList<>(9);
+    _args.add(str);
+    _args.add(b);
+    _args.add(s);
+    _args.add(i);
+    _args.add(l);
+    _args.add(f);
+    _args.add(d);
+    _args.add((int)c);
+    _args.add(bool);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "basicTypes");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("basicTypes", new JsonArray(_args), _deliveryOptions);
   }
 
   public void basicBoxedTypes(String str, Byte b, Short s, Integer i, Long l, Float f, Double d, Character c, Boolean bool) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("str", str);
-    _json.put("b", b);
-    _json.put("s", s);
-    _json.put("i", i);
-    _json.put("l", l);
-    _json.put("f", f);
-    _json.put("d", d);
-    _json.put("c", c == null ? null : (int)c);
-    _json.put("bool", bool);
+    List<Object> _args = new ArrayList<>(9);
+    _args.add(str);
+    _args.add(b);
+    _args.add(s);
+    _args.add(i);
+    _args.add(l);
+    _args.add(f);
+    _args.add(d);
+    _args.add(c == null ? null : (int)c);
+    _args.add(bool);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "basicBoxedTypes");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("basicBoxedTypes", new JsonArray(_args), _deliveryOptions);
   }
 
   public void basicBoxedTypesNull(String str, Byte b, Short s, Integer i, Long l, Float f, Double d, Character c, Boolean bool) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("str", str);
-    _json.put("b", b);
-    _json.put("s", s);
-    _json.put("i", i);
-    _json.put("l", l);
-    _json.put("f", f);
-    _json.put("d", d);
-    _json.put("c", c == null ? null : (int)c);
-    _json.put("bool", bool);
+    List<Object> _args = new ArrayList<>(9);
+    _args.add(str);
+    _args.add(b);
+    _args.add(s);
+    _args.add(i);
+    _args.add(l);
+    _args.add(f);
+    _args.add(d);
+    _args.add(c == null ? null : (int)c);
+    _args.add(bool);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "basicBoxedTypesNull");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("basicBoxedTypesNull", new JsonArray(_args), _deliveryOptions);
   }
 
   public void jsonTypes(JsonObject jsonObject, JsonArray jsonArray) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("jsonObject", jsonObject);
-    _json.put("jsonArray", jsonArray);
+    List<Object> _args = new ArrayList<>(2);
+    _args.add(jsonObject);
+    _args.add(jsonArray);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "jsonTypes");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("jsonTypes", new JsonArray(_args), _deliveryOptions);
   }
 
   public void jsonTypesNull(JsonObject jsonObject, JsonArray jsonArray) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("jsonObject", jsonObject);
-    _json.put("jsonArray", jsonArray);
+    List<Object> _args = new ArrayList<>(2);
+    _args.add(jsonObject);
+    _args.add(jsonArray);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "jsonTypesNull");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("jsonTypesNull", new JsonArray(_args), _deliveryOptions);
   }
 
   public void enumType(SomeEnum someEnum) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("someEnum", someEnum == null ? null : someEnum.toString());
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(someEnum == null ? null : someEnum.toString());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "enumType");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("enumType", new JsonArray(_args), _deliveryOptions);
   }
 
   public void enumTypeNull(SomeEnum someEnum) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("someEnum", someEnum == null ? null : someEnum.toString());
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(someEnum == null ? null : someEnum.toString());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "enumTypeNull");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("enumTypeNull", new JsonArray(_args), _deliveryOptions);
   }
 
   public void enumTypeAsResult(Handler<AsyncResult<SomeEnum>> someEnum) {
@@ -261,14 +379,14 @@ public class TestServiceVertxEBProxy implements TestService {
     someEnum.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "enumTypeAsResult");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("enumTypeAsResult", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         someEnum.handle(Future.failedFuture(res.cause()));
       } else {
-        someEnum.handle(Future.succeededFuture(res.result().body() == null ? null : SomeEnum.valueOf(res.result().body())));
+        someEnum.handle(Future.succeededFuture(res.result() == null ? null : SomeEnum.valueOf(res.result())));
       }
     });
   }
@@ -278,14 +396,14 @@ public class TestServiceVertxEBProxy implements TestService {
     someEnum.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "enumTypeAsResultNull");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("enumTypeAsResultNull", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         someEnum.handle(Future.failedFuture(res.cause()));
       } else {
-        someEnum.handle(Future.succeededFuture(res.result().body() == null ? null : SomeEnum.valueOf(res.result().body())));
+        someEnum.handle(Future.succeededFuture(res.result() == null ? null : SomeEnum.valueOf(res.result())));
       }
     });
   }
@@ -294,75 +412,75 @@ public class TestServiceVertxEBProxy implements TestService {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("options", options == null ? null : options.toJson());
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(_router.isBinary() ? DataObjectCodec.encode(TestDataObject.class, options, TestDataObject::toJson) : options == null ? null : options.toJson());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "dataObjectType");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("dataObjectType", new JsonArray(_args), _deliveryOptions);
   }
 
   public void dataObjectTypeNull(TestDataObject options) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("options", options == null ? null : options.toJson());
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(_router.isBinary() ? DataObjectCodec.encode(TestDataObject.class, options, TestDataObject::toJson) : options == null ? null : options.toJson());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "dataObjectTypeNull");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("dataObjectTypeNull", new JsonArray(_args), _deliveryOptions);
   }
 
   public void listParams(List<String> listString, List<Byte> listByte, List<Short> listShort, List<Integer> listInt, List<Long> listLong, List<JsonObject> listJsonObject, List<JsonArray> listJsonArray, List<TestDataObject> listDataObject) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("listString", new JsonArray(listString));
-    _json.put("listByte", new JsonArray(listByte));
-    _json.put("listShort", new JsonArray(listShort));
-    _json.put("listInt", new JsonArray(listInt));
-    _json.put("listLong", new JsonArray(listLong));
-    _json.put("listJsonObject", new JsonArray(listJsonObject));
-    _json.put("listJsonArray", new JsonArray(listJsonArray));
-    _json.put("listDataObject", new JsonArray(listDataObject.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
+    List<Object> _args = new ArrayList<>(8);
+    _args.add(new JsonArray(listString));
+    _args.add(new JsonArray(listByte));
+    _args.add(new JsonArray(listShort));
+    _args.add(_router.isPacked() ? PackedCollections.toArgument(PackedCollections.packInts(listInt)) : new JsonArray(listInt));
+    _args.add(_router.isPacked() ? PackedCollections.toArgument(PackedCollections.packLongs(listLong)) : new JsonArray(listLong));
+    _args.add(new JsonArray(listJsonObject));
+    _args.add(new JsonArray(listJsonArray));
+    _args.add(new JsonArray(listDataObject.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listParams");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("listParams", new JsonArray(_args), _deliveryOptions);
   }
 
   public void setParams(Set<String> setString, Set<Byte> setByte, Set<Short> setShort, Set<Integer> setInt, Set<Long> setLong, Set<JsonObject> setJsonObject, Set<JsonArray> setJsonArray, Set<TestDataObject> setDataObject) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("setString", new JsonArray(new ArrayList<>(setString)));
-    _json.put("setByte", new JsonArray(new ArrayList<>(setByte)));
-    _json.put("setShort", new JsonArray(new ArrayList<>(setShort)));
-    _json.put("setInt", new JsonArray(new ArrayList<>(setInt)));
-    _json.put("setLong", new JsonArray(new ArrayList<>(setLong)));
-    _json.put("setJsonObject", new JsonArray(new ArrayList<>(setJsonObject)));
-    _json.put("setJsonArray", new JsonArray(new ArrayList<>(setJsonArray)));
-    _json.put("setDataObject", new JsonArray(setDataObject.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
+    List<Object> _args = new ArrayList<>(8);
+    _args.add(new JsonArray(new ArrayList<>(setString)));
+    _args.add(new JsonArray(new ArrayList<>(setByte)));
+    _args.add(new JsonArray(new ArrayList<>(setShort)));
+    _args.add(_router.isPacked() ? PackedCollections.toArgument(PackedCollections.packInts(setInt)) : new JsonArray(new ArrayList<>(setInt)));
+    _args.add(_router.isPacked() ? PackedCollections.toArgument(PackedCollections.packLongs(setLong)) : new JsonArray(new ArrayList<>(setLong)));
+    _args.add(new JsonArray(new ArrayList<>(setJsonObject)));
+    _args.add(new JsonArray(new ArrayList<>(setJsonArray)));
+    _args.add(new JsonArray(setDataObject.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setParams");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("setParams", new JsonArray(_args), _deliveryOptions);
   }
 
   public void mapParams(Map<String,String> mapString, Map<String,Byte> mapByte, Map<String,Short> mapShort, Map<String,Integer> mapInt, Map<String,Long> mapLong, Map<String,JsonObject> mapJsonObject, Map<String,JsonArray> mapJsonArray) {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
-    _json.put("mapString", new JsonObject(convertMap(mapString)));
-    _json.put("mapByte", new JsonObject(convertMap(mapByte)));
-    _json.put("mapShort", new JsonObject(convertMap(mapShort)));
-    _json.put("mapInt", new JsonObject(convertMap(mapInt)));
-    _json.put("mapLong", new JsonObject(convertMap(mapLong)));
-    _json.put("mapJsonObject", new JsonObject(convertMap(mapJsonObject)));
-    _json.put("mapJsonArray", new JsonObject(convertMap(mapJsonArray)));
+    List<Object> _args = new ArrayList<>(7);
+    _args.add(mapString == null ? null : new JsonObject((Map) mapString));
+    _args.add(mapByte == null ? null : new JsonObject((Map) mapByte));
+    _args.add(mapShort == null ? null : new JsonObject((Map) mapShort));
+    _args.add(mapInt == null ? null : new JsonObject((Map) mapInt));
+    _args.add(mapLong == null ? null : new JsonObject((Map) mapLong));
+    _args.add(mapJsonObject == null ? null : new JsonObject((Map) mapJsonObject));
+    _args.add(mapJsonArray == null ? null : new JsonObject((Map) mapJsonArray));
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "mapParams");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("mapParams", new JsonArray(_args), _deliveryOptions);
   }
 
   public void stringHandler(Handler<AsyncResult<String>> resultHandler) {
@@ -370,14 +488,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "stringHandler");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("stringHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -387,14 +505,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "stringNullHandler");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("stringNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -404,14 +522,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "byteHandler");
-    _vertx.eventBus().<Byte>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Byte>call("byteHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -421,14 +539,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "byteNullHandler");
-    _vertx.eventBus().<Byte>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Byte>call("byteNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -438,14 +556,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "shortHandler");
-    _vertx.eventBus().<Short>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Short>call("shortHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -455,14 +573,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "shortNullHandler");
-    _vertx.eventBus().<Short>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Short>call("shortNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -472,14 +590,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "intHandler");
-    _vertx.eventBus().<Integer>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Integer>call("intHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -489,14 +607,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "intNullHandler");
-    _vertx.eventBus().<Integer>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Integer>call("intNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -506,14 +624,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "longHandler");
-    _vertx.eventBus().<Long>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Long>call("longHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -523,14 +641,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "longNullHandler");
-    _vertx.eventBus().<Long>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Long>call("longNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -540,14 +658,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "floatHandler");
-    _vertx.eventBus().<Float>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Float>call("floatHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -557,14 +675,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "floatNullHandler");
-    _vertx.eventBus().<Float>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Float>call("floatNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -574,14 +692,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "doubleHandler");
-    _vertx.eventBus().<Double>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Double>call("doubleHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -591,14 +709,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "doubleNullHandler");
-    _vertx.eventBus().<Double>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Double>call("doubleNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -608,14 +726,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "charHandler");
-    _vertx.eventBus().<Character>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Character>call("charHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -625,14 +743,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "charNullHandler");
-    _vertx.eventBus().<Character>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Character>call("charNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -642,14 +760,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "booleanHandler");
-    _vertx.eventBus().<Boolean>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Boolean>call("booleanHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -659,14 +777,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "booleanNullHandler");
-    _vertx.eventBus().<Boolean>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Boolean>call("booleanNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -676,14 +794,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "jsonObjectHandler");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonObject>call("jsonObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -693,14 +811,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "jsonObjectNullHandler");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonObject>call("jsonObjectNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -710,14 +828,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "jsonArrayHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("jsonArrayHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -727,14 +845,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "jsonArrayNullHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("jsonArrayNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -744,14 +862,21 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "dataObjectHandler");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("dataObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body() == null ? null : new TestDataObject(res.result().body())));
+        TestDataObject _result;
+        try {
+          _result = DataObjectCodec.decode(TestDataObject.class, res.result(), TestDataObject::new);
+        } catch (RuntimeException _e) {
+          resultHandler.handle(Future.failedFuture(_e));
+          return;
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
                       }
     });
   }
@@ -761,14 +886,21 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "dataObjectNullHandler");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("dataObjectNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body() == null ? null : new TestDataObject(res.result().body())));
+        TestDataObject _result;
+        try {
+          _result = DataObjectCodec.decode(TestDataObject.class, res.result(), TestDataObject::new);
+        } catch (RuntimeException _e) {
+          resultHandler.handle(Future.failedFuture(_e));
+          return;
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
                       }
     });
   }
@@ -778,14 +910,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "voidHandler");
-    _vertx.eventBus().<Void>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Void>call("voidHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -795,15 +927,15 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return this;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("str", str);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(str);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "fluentMethod");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("fluentMethod", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
     return this;
@@ -813,10 +945,10 @@ public class TestServiceVertxEBProxy implements TestService {
     if (closed) {
     throw new IllegalStateException("Proxy is closed");
   }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "fluentNoParams");
-    _vertx.eventBus().send(_address, _json, _deliveryOptions);
+    _router.send("fluentNoParams", new JsonArray(_args), _deliveryOptions);
     return this;
   }
 
@@ -825,14 +957,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "failingMethod");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonObject>call("failingMethod", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -842,19 +974,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("object", object);
-    _json.put("str", str);
-    _json.put("i", i);
-    _json.put("chr", (int)chr);
-    _json.put("senum", senum == null ? null : senum.toString());
+    List<Object> _args = new ArrayList<>(5);
+    _args.add(object);
+    _args.add(str);
+    _args.add(i);
+    _args.add((int)chr);
+    _args.add(senum == null ? null : senum.toString());
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "invokeWithMessage");
-    _vertx.eventBus().<String>send(_address, _json, _deliveryOptions, res -> {
+    _router.<String>call("invokeWithMessage", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -864,14 +996,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listStringHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listStringHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(res.result().getList()));
       }
     });
   }
@@ -881,14 +1013,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listByteHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listByteHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        JsonArray _array = res.result();
+        List<Byte> _result = new ArrayList<>(_array.size());
+        for (int _i = 0; _i < _array.size(); _i++) {
+          Integer _element = _array.getInteger(_i);
+          _result.add(_element == null ? null : _element.byteValue());
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -898,14 +1036,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listShortHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listShortHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        JsonArray _array = res.result();
+        List<Short> _result = new ArrayList<>(_array.size());
+        for (int _i = 0; _i < _array.size(); _i++) {
+          Integer _element = _array.getInteger(_i);
+          _result.add(_element == null ? null : _element.shortValue());
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -915,14 +1059,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listIntHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("listIntHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readIntList(res.result())));
       }
     });
   }
@@ -932,14 +1076,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listLongHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("listLongHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readLongList(res.result())));
       }
     });
   }
@@ -949,14 +1093,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listFloatHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listFloatHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        JsonArray _array = res.result();
+        List<Float> _result = new ArrayList<>(_array.size());
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getFloat(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -966,14 +1115,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listDoubleHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("listDoubleHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readDoubleList(res.result())));
       }
     });
   }
@@ -983,14 +1132,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listCharHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("listCharHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertToListChar(res.result().body())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readCharList(res.result())));
       }
     });
   }
@@ -1000,14 +1149,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listBoolHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listBoolHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(res.result().getList()));
       }
     });
   }
@@ -1017,14 +1166,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listJsonObjectHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listJsonObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        JsonArray _array = res.result();
+        List<JsonObject> _result = new ArrayList<>(_array.size());
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getJsonObject(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1034,14 +1188,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listJsonArrayHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listJsonArrayHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertList(res.result().body().getList())));
+        JsonArray _array = res.result();
+        List<JsonArray> _result = new ArrayList<>(_array.size());
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getJsonArray(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1051,18 +1210,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listDataObjectHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listDataObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body().stream()
-            .map(o -> { if (o == null) return null;
-                        return o instanceof Map ? new TestDataObject(new JsonObject((Map) o)) : new TestDataObject((JsonObject) o);
-                 })
-            .collect(Collectors.toList())));
+        _router.convert(res.result(), _element -> _element == null ? null : new TestDataObject(_element), _converted -> {
+          if (_converted.failed()) {
+            resultHandler.handle(Future.failedFuture(_converted.cause()));
+          } else {
+            resultHandler.handle(Future.succeededFuture(_converted.result()));
+          }
+        });
       }
     });
   }
@@ -1072,14 +1233,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setStringHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setStringHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<String> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getString(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1089,14 +1255,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setByteHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setByteHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<Byte> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          Integer _element = _array.getInteger(_i);
+          _result.add(_element == null ? null : _element.byteValue());
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1106,14 +1278,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setShortHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setShortHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<Short> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          Integer _element = _array.getInteger(_i);
+          _result.add(_element == null ? null : _element.shortValue());
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1123,14 +1301,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setIntHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("setIntHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readIntSet(res.result())));
       }
     });
   }
@@ -1140,14 +1318,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setLongHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("setLongHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readLongSet(res.result())));
       }
     });
   }
@@ -1157,14 +1335,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setFloatHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setFloatHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<Float> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getFloat(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1174,14 +1357,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setDoubleHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("setDoubleHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readDoubleSet(res.result())));
       }
     });
   }
@@ -1191,14 +1374,14 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setCharHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<Object>call("setCharHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertToSetChar(res.result().body())));
+        resultHandler.handle(Future.succeededFuture(PackedCollections.readCharSet(res.result())));
       }
     });
   }
@@ -1208,14 +1391,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setBoolHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setBoolHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<Boolean> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getBoolean(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1225,14 +1413,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setJsonObjectHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setJsonObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<JsonObject> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getJsonObject(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1242,14 +1435,19 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setJsonArrayHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setJsonArrayHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(convertSet(res.result().body().getList())));
+        JsonArray _array = res.result();
+        Set<JsonArray> _result = new HashSet<>(_array.size() * 4 / 3 + 1);
+        for (int _i = 0; _i < _array.size(); _i++) {
+          _result.add(_array.getJsonArray(_i));
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
       }
     });
   }
@@ -1259,18 +1457,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setDataObjectHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setDataObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body().stream()
-            .map(o -> { if (o == null) return null;
-                        return o instanceof Map ? new TestDataObject(new JsonObject((Map) o)) : new TestDataObject((JsonObject) o);
-                })
-            .collect(Collectors.toSet())));
+        _router.convert(res.result(), _element -> _element == null ? null : new TestDataObject(_element), _converted -> {
+          if (_converted.failed()) {
+            resultHandler.handle(Future.failedFuture(_converted.cause()));
+          } else {
+            resultHandler.handle(Future.succeededFuture(new HashSet<>(_converted.result())));
+          }
+        });
       }
     });
   }
@@ -1280,15 +1480,15 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
-    _json.put("value", value);
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(value);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "failingCall");
-    _vertx.eventBus().<JsonObject>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonObject>call("failingCall", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body()));
+        resultHandler.handle(Future.succeededFuture(res.result()));
       }
     });
   }
@@ -1298,18 +1498,20 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "listDataObjectContainingNullHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("listDataObjectContainingNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body().stream()
-            .map(o -> { if (o == null) return null;
-                        return o instanceof Map ? new TestDataObject(new JsonObject((Map) o)) : new TestDataObject((JsonObject) o);
-                 })
-            .collect(Collectors.toList())));
+        _router.convert(res.result(), _element -> _element == null ? null : new TestDataObject(_element), _converted -> {
+          if (_converted.failed()) {
+            resultHandler.handle(Future.failedFuture(_converted.cause()));
+          } else {
+            resultHandler.handle(Future.succeededFuture(_converted.result()));
+          }
+        });
       }
     });
   }
@@ -1319,83 +1521,192 @@ public class TestServiceVertxEBProxy implements TestService {
     resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
       return;
     }
-    JsonObject _json = new JsonObject();
+    List<Object> _args = new ArrayList<>(0);
     DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
     _deliveryOptions.addHeader("action", "setDataObjectContainingNullHandler");
-    _vertx.eventBus().<JsonArray>send(_address, _json, _deliveryOptions, res -> {
+    _router.<JsonArray>call("setDataObjectContainingNullHandler", new JsonArray(_args), _deliveryOptions, res -> {
       if (res.failed()) {
         resultHandler.handle(Future.failedFuture(res.cause()));
       } else {
-        resultHandler.handle(Future.succeededFuture(res.result().body().stream()
-            .map(o -> { if (o == null) return null;
-                        return o instanceof Map ? new TestDataObject(new JsonObject((Map) o)) : new TestDataObject((JsonObject) o);
-                })
-            .collect(Collectors.toSet())));
+        _router.convert(res.result(), _element -> _element == null ? null : new TestDataObject(_element), _converted -> {
+          if (_converted.failed()) {
+            resultHandler.handle(Future.failedFuture(_converted.cause()));
+          } else {
+            resultHandler.handle(Future.succeededFuture(new HashSet<>(_converted.result())));
+          }
+        });
       }
     });
   }
 
-  public void ignoredMethod() {
+  public void lookup(String key, Handler<AsyncResult<String>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(key);
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "lookup");
+    _router.<String>call("lookup", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result()));
+      }
+    });
   }
 
+  public void lookupAll(List<String> keys, Handler<AsyncResult<List<String>>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(new JsonArray(keys));
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "lookupAll");
+    _router.<JsonArray>call("lookupAll", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result().getList()));
+      }
+    });
+  }
+
+  public void lookupDataObject(TestDataObject dataObject, Handler<AsyncResult<String>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(_router.isBinary() ? DataObjectCodec.encode(TestDataObject.class, dataObject, TestDataObject::toJson) : dataObject == null ? null : dataObject.toJson());
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "lookupDataObject");
+    _router.<String>call("lookupDataObject", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result()));
+      }
+    });
+  }
 
-  private List<Character> convertToListChar(JsonArray arr) {
-    List<Character> list = new ArrayList<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      list.add((char)(int)jobj);
-    }
-    return list;
-  }
-
-  private Set<Character> convertToSetChar(JsonArray arr) {
-    Set<Character> set = new HashSet<>();
-    for (Object obj: arr) {
-      Integer jobj = (Integer)obj;
-      set.add((char)(int)jobj);
-    }
-    return set;
-  }
-
-  private <T> Map<String, T> convertMap(Map map) {
-    if (map.isEmpty()) { 
-      return (Map<String, T>) map; 
-    } 
-     
-    Object elem = map.values().stream().findFirst().get(); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (Map<String, T>) map; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return ((Map<String, T>) map).entrySet() 
-       .stream() 
-       .collect(Collectors.toMap(Map.Entry::getKey, converter::apply)); 
-    } 
-  }
-  private <T> List<T> convertList(List list) {
-    if (list.isEmpty()) { 
-          return (List<T>) list; 
-        } 
-     
-    Object elem = list.get(0); 
-    if (!(elem instanceof Map) && !(elem instanceof List)) { 
-      return (List<T>) list; 
-    } else { 
-      Function<Object, T> converter; 
-      if (elem instanceof List) { 
-        converter = object -> (T) new JsonArray((List) object); 
-      } else { 
-        converter = object -> (T) new JsonObject((Map) object); 
-      } 
-      return (List<T>) list.stream().map(converter).collect(Collectors.toList()); 
-    } 
-  }
-  private <T> Set<T> convertSet(List list) {
-    return new HashSet<T>(convertList(list));
+  public void lookupDataObjects(List<TestDataObject> dataObjects, Handler<AsyncResult<List<String>>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(new JsonArray(dataObjects.stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "lookupDataObjects");
+    _router.<JsonArray>call("lookupDataObjects", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result().getList()));
+      }
+    });
   }
+
+  public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return this;
+    }
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(str);
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "routedFluentMethod");
+    _router.<String>call("routedFluentMethod", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result()));
+      }
+    });
+    return this;
+  }
+
+  public void cachedJsonObjectHandler(Handler<AsyncResult<JsonObject>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(0);
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "cachedJsonObjectHandler");
+    _router.<JsonObject>call("cachedJsonObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result()));
+      }
+    });
+  }
+
+  public void singleFlightJsonArrayHandler(Handler<AsyncResult<JsonArray>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(0);
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "singleFlightJsonArrayHandler");
+    _router.<JsonArray>call("singleFlightJsonArrayHandler", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result()));
+      }
+    });
+  }
+
+  public void conditionalDataObjectHandler(Handler<AsyncResult<TestDataObject>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(0);
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "conditionalDataObjectHandler");
+    _router.<Object>call("conditionalDataObjectHandler", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        TestDataObject _result;
+        try {
+          _result = DataObjectCodec.decode(TestDataObject.class, res.result(), TestDataObject::new);
+        } catch (RuntimeException _e) {
+          resultHandler.handle(Future.failedFuture(_e));
+          return;
+        }
+        resultHandler.handle(Future.succeededFuture(_result));
+                      }
+    });
+  }
+
+  public void cachedDataObjectArgument(TestDataObject dataObject, Handler<AsyncResult<String>> resultHandler) {
+    if (closed) {
+    resultHandler.handle(Future.failedFuture(new IllegalStateException("Proxy is closed")));
+      return;
+    }
+    List<Object> _args = new ArrayList<>(1);
+    _args.add(_router.isBinary() ? DataObjectCodec.encode(TestDataObject.class, dataObject, TestDataObject::toJson) : dataObject == null ? null : dataObject.toJson());
+    DeliveryOptions _deliveryOptions = (_options != null) ? new DeliveryOptions(_options) : new DeliveryOptions();
+    _deliveryOptions.addHeader("action", "cachedDataObjectArgument");
+    _router.<String>call("cachedDataObjectArgument", new JsonArray(_args), _deliveryOptions, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      } else {
+        resultHandler.handle(Future.succeededFuture(res.result()));
+      }
+    });
+  }
+
+  public void ignoredMethod() {
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,534 @@
+/*
+* Copyright 2014 Red Hat, Inc.
+*
+* Red Hat licenses this file to you under the Apache License, version 2.0
+* (the "License"); you may not use this file except in compliance with the
+* License. You may obtain a copy of the License at:
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+* WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+* License for the specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.vertx.serviceproxy.testmodel;
+
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.SomeEnum;
+import io.vertx.core.Vertx;
+import java.util.Set;
+import io.vertx.serviceproxy.testmodel.TestConnection;
+import io.vertx.core.json.JsonArray;
+import io.vertx.serviceproxy.testmodel.TestDataObject;
+import java.util.List;
+import java.util.Map;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.AsyncResult;
+import io.vertx.serviceproxy.testmodel.TestConnectionWithCloseFuture;
+import io.vertx.core.Handler;
+
+/*
+  Generated Proxy code - DO NOT EDIT
+  @author Roger the Robot
+*/
+public class TestServiceVertxFutureProxy {
+
+  private final TestService _delegate;
+
+  public TestServiceVertxFutureProxy(Vertx vertx, String address) {
+    this(vertx, address, new ProxyOptions());
+  }
+
+  public TestServiceVertxFutureProxy(Vertx vertx, String address, ProxyOptions options) {
+    this(ProxyHelper.createProxy(TestService.class, vertx, address, options));
+  }
+
+  public TestServiceVertxFutureProxy(TestService delegate) {
+    this._delegate = delegate;
+  }
+
+  public Future<String> longDeliverySuccess() {
+    Future<String> _future = Future.future();
+    _delegate.longDeliverySuccess(_future);
+    return _future;
+  }
+
+  public Future<String> longDeliveryFailed() {
+    Future<String> _future = Future.future();
+    _delegate.longDeliveryFailed(_future);
+    return _future;
+  }
+
+  public Future<TestConnection> createConnection(String str) {
+    Future<TestConnection> _future = Future.future();
+    _delegate.createConnection(str, _future);
+    return _future;
+  }
+
+  public Future<TestConnectionWithCloseFuture> createConnectionWithCloseFuture() {
+    Future<TestConnectionWithCloseFuture> _future = Future.future();
+    _delegate.createConnectionWithCloseFuture(_future);
+    return _future;
+  }
+
+  public void noParams() {
+    _delegate.noParams();
+  }
+
+  public void basicTypes(String str, byte b, short s, int i, long l, float f, double d, char c, boolean bool) {
+    _delegate.basicTypes(str, b, s, i, l, f, d, c, bool);
+  }
+
+  public void basicBoxedTypes(String str, Byte b, Short s, Integer i, Long l, Float f, Double d, Character c, Boolean bool) {
+    _delegate.basicBoxedTypes(str, b, s, i, l, f, d, c, bool);
+  }
+
+  public void basicBoxedTypesNull(String str, Byte b, Short s, Integer i, Long l, Float f, Double d, Character c, Boolean bool) {
+    _delegate.basicBoxedTypesNull(str, b, s, i, l, f, d, c, bool);
+  }
+
+  public void jsonTypes(JsonObject jsonObject, JsonArray jsonArray) {
+    _delegate.jsonTypes(jsonObject, jsonArray);
+  }
+
+  public void jsonTypesNull(JsonObject jsonObject, JsonArray jsonArray) {
+    _delegate.jsonTypesNull(jsonObject, jsonArray);
+  }
+
+  public void enumType(SomeEnum someEnum) {
+    _delegate.enumType(someEnum);
+  }
+
+  public void enumTypeNull(SomeEnum someEnum) {
+    _delegate.enumTypeNull(someEnum);
+  }
+
+  public Future<SomeEnum> enumTypeAsResult() {
+    Future<SomeEnum> _future = Future.future();
+    _delegate.enumTypeAsResult(_future);
+    return _future;
+  }
+
+  public Future<SomeEnum> enumTypeAsResultNull() {
+    Future<SomeEnum> _future = Future.future();
+    _delegate.enumTypeAsResultNull(_future);
+    return _future;
+  }
+
+  public void dataObjectType(TestDataObject options) {
+    _delegate.dataObjectType(options);
+  }
+
+  public void dataObjectTypeNull(TestDataObject options) {
+    _delegate.dataObjectTypeNull(options);
+  }
+
+  public void listParams(List<String> listString, List<Byte> listByte, List<Short> listShort, List<Integer> listInt, List<Long> listLong, List<JsonObject> listJsonObject, List<JsonArray> listJsonArray, List<TestDataObject> listDataObject) {
+    _delegate.listParams(listString, listByte, listShort, listInt, listLong, listJsonObject, listJsonArray, listDataObject);
+  }
+
+  public void setParams(Set<String> setString, Set<Byte> setByte, Set<Short> setShort, Set<Integer> setInt, Set<Long> setLong, Set<JsonObject> setJsonObject, Set<JsonArray> setJsonArray, Set<TestDataObject> setDataObject) {
+    _delegate.setParams(setString, setByte, setShort, setInt, setLong, setJsonObject, setJsonArray, setDataObject);
+  }
+
+  public void mapParams(Map<String,String> mapString, Map<String,Byte> mapByte, Map<String,Short> mapShort, Map<String,Integer> mapInt, Map<String,Long> mapLong, Map<String,JsonObject> mapJsonObject, Map<String,JsonArray> mapJsonArray) {
+    _delegate.mapParams(mapString, mapByte, mapShort, mapInt, mapLong, mapJsonObject, mapJsonArray);
+  }
+
+  public Future<String> stringHandler() {
+    Future<String> _future = Future.future();
+    _delegate.stringHandler(_future);
+    return _future;
+  }
+
+  public Future<String> stringNullHandler() {
+    Future<String> _future = Future.future();
+    _delegate.stringNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Byte> byteHandler() {
+    Future<Byte> _future = Future.future();
+    _delegate.byteHandler(_future);
+    return _future;
+  }
+
+  public Future<Byte> byteNullHandler() {
+    Future<Byte> _future = Future.future();
+    _delegate.byteNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Short> shortHandler() {
+    Future<Short> _future = Future.future();
+    _delegate.shortHandler(_future);
+    return _future;
+  }
+
+  public Future<Short> shortNullHandler() {
+    Future<Short> _future = Future.future();
+    _delegate.shortNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Integer> intHandler() {
+    Future<Integer> _future = Future.future();
+    _delegate.intHandler(_future);
+    return _future;
+  }
+
+  public Future<Integer> intNullHandler() {
+    Future<Integer> _future = Future.future();
+    _delegate.intNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Long> longHandler() {
+    Future<Long> _future = Future.future();
+    _delegate.longHandler(_future);
+    return _future;
+  }
+
+  public Future<Long> longNullHandler() {
+    Future<Long> _future = Future.future();
+    _delegate.longNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Float> floatHandler() {
+    Future<Float> _future = Future.future();
+    _delegate.floatHandler(_future);
+    return _future;
+  }
+
+  public Future<Float> floatNullHandler() {
+    Future<Float> _future = Future.future();
+    _delegate.floatNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Double> doubleHandler() {
+    Future<Double> _future = Future.future();
+    _delegate.doubleHandler(_future);
+    return _future;
+  }
+
+  public Future<Double> doubleNullHandler() {
+    Future<Double> _future = Future.future();
+    _delegate.doubleNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Character> charHandler() {
+    Future<Character> _future = Future.future();
+    _delegate.charHandler(_future);
+    return _future;
+  }
+
+  public Future<Character> charNullHandler() {
+    Future<Character> _future = Future.future();
+    _delegate.charNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Boolean> booleanHandler() {
+    Future<Boolean> _future = Future.future();
+    _delegate.booleanHandler(_future);
+    return _future;
+  }
+
+  public Future<Boolean> booleanNullHandler() {
+    Future<Boolean> _future = Future.future();
+    _delegate.booleanNullHandler(_future);
+    return _future;
+  }
+
+  public Future<JsonObject> jsonObjectHandler() {
+    Future<JsonObject> _future = Future.future();
+    _delegate.jsonObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<JsonObject> jsonObjectNullHandler() {
+    Future<JsonObject> _future = Future.future();
+    _delegate.jsonObjectNullHandler(_future);
+    return _future;
+  }
+
+  public Future<JsonArray> jsonArrayHandler() {
+    Future<JsonArray> _future = Future.future();
+    _delegate.jsonArrayHandler(_future);
+    return _future;
+  }
+
+  public Future<JsonArray> jsonArrayNullHandler() {
+    Future<JsonArray> _future = Future.future();
+    _delegate.jsonArrayNullHandler(_future);
+    return _future;
+  }
+
+  public Future<TestDataObject> dataObjectHandler() {
+    Future<TestDataObject> _future = Future.future();
+    _delegate.dataObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<TestDataObject> dataObjectNullHandler() {
+    Future<TestDataObject> _future = Future.future();
+    _delegate.dataObjectNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Void> voidHandler() {
+    Future<Void> _future = Future.future();
+    _delegate.voidHandler(_future);
+    return _future;
+  }
+
+  public Future<String> fluentMethod(String str) {
+    Future<String> _future = Future.future();
+    _delegate.fluentMethod(str, _future);
+    return _future;
+  }
+
+  public void fluentNoParams() {
+    _delegate.fluentNoParams();
+  }
+
+  public Future<JsonObject> failingMethod() {
+    Future<JsonObject> _future = Future.future();
+    _delegate.failingMethod(_future);
+    return _future;
+  }
+
+  public Future<String> invokeWithMessage(JsonObject object, String str, int i, char chr, SomeEnum senum) {
+    Future<String> _future = Future.future();
+    _delegate.invokeWithMessage(object, str, i, chr, senum, _future);
+    return _future;
+  }
+
+  public Future<List<String>> listStringHandler() {
+    Future<List<String>> _future = Future.future();
+    _delegate.listStringHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Byte>> listByteHandler() {
+    Future<List<Byte>> _future = Future.future();
+    _delegate.listByteHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Short>> listShortHandler() {
+    Future<List<Short>> _future = Future.future();
+    _delegate.listShortHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Integer>> listIntHandler() {
+    Future<List<Integer>> _future = Future.future();
+    _delegate.listIntHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Long>> listLongHandler() {
+    Future<List<Long>> _future = Future.future();
+    _delegate.listLongHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Float>> listFloatHandler() {
+    Future<List<Float>> _future = Future.future();
+    _delegate.listFloatHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Double>> listDoubleHandler() {
+    Future<List<Double>> _future = Future.future();
+    _delegate.listDoubleHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Character>> listCharHandler() {
+    Future<List<Character>> _future = Future.future();
+    _delegate.listCharHandler(_future);
+    return _future;
+  }
+
+  public Future<List<Boolean>> listBoolHandler() {
+    Future<List<Boolean>> _future = Future.future();
+    _delegate.listBoolHandler(_future);
+    return _future;
+  }
+
+  public Future<List<JsonObject>> listJsonObjectHandler() {
+    Future<List<JsonObject>> _future = Future.future();
+    _delegate.listJsonObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<List<JsonArray>> listJsonArrayHandler() {
+    Future<List<JsonArray>> _future = Future.future();
+    _delegate.listJsonArrayHandler(_future);
+    return _future;
+  }
+
+  public Future<List<TestDataObject>> listDataObjectHandler() {
+    Future<List<TestDataObject>> _future = Future.future();
+    _delegate.listDataObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<String>> setStringHandler() {
+    Future<Set<String>> _future = Future.future();
+    _delegate.setStringHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Byte>> setByteHandler() {
+    Future<Set<Byte>> _future = Future.future();
+    _delegate.setByteHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Short>> setShortHandler() {
+    Future<Set<Short>> _future = Future.future();
+    _delegate.setShortHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Integer>> setIntHandler() {
+    Future<Set<Integer>> _future = Future.future();
+    _delegate.setIntHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Long>> setLongHandler() {
+    Future<Set<Long>> _future = Future.future();
+    _delegate.setLongHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Float>> setFloatHandler() {
+    Future<Set<Float>> _future = Future.future();
+    _delegate.setFloatHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Double>> setDoubleHandler() {
+    Future<Set<Double>> _future = Future.future();
+    _delegate.setDoubleHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Character>> setCharHandler() {
+    Future<Set<Character>> _future = Future.future();
+    _delegate.setCharHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<Boolean>> setBoolHandler() {
+    Future<Set<Boolean>> _future = Future.future();
+    _delegate.setBoolHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<JsonObject>> setJsonObjectHandler() {
+    Future<Set<JsonObject>> _future = Future.future();
+    _delegate.setJsonObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<JsonArray>> setJsonArrayHandler() {
+    Future<Set<JsonArray>> _future = Future.future();
+    _delegate.setJsonArrayHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<TestDataObject>> setDataObjectHandler() {
+    Future<Set<TestDataObject>> _future = Future.future();
+    _delegate.setDataObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<JsonObject> failingCall(String value) {
+    Future<JsonObject> _future = Future.future();
+    _delegate.failingCall(value, _future);
+    return _future;
+  }
+
+  public Future<List<TestDataObject>> listDataObjectContainingNullHandler() {
+    Future<List<TestDataObject>> _future = Future.future();
+    _delegate.listDataObjectContainingNullHandler(_future);
+    return _future;
+  }
+
+  public Future<Set<TestDataObject>> setDataObjectContainingNullHandler() {
+    Future<Set<TestDataObject>> _future = Future.future();
+    _delegate.setDataObjectContainingNullHandler(_future);
+    return _future;
+  }
+
+  public Future<String> lookup(String key) {
+    Future<String> _future = Future.future();
+    _delegate.lookup(key, _future);
+    return _future;
+  }
+
+  public Future<List<String>> lookupAll(List<String> keys) {
+    Future<List<String>> _future = Future.future();
+    _delegate.lookupAll(keys, _future);
+    return _future;
+  }
+
+  public Future<String> lookupDataObject(TestDataObject dataObject) {
+    Future<String> _future = Future.future();
+    _delegate.lookupDataObject(dataObject, _future);
+    return _future;
+  }
+
+  public Future<List<String>> lookupDataObjects(List<TestDataObject> dataObjects) {
+    Future<List<String>> _future = Future.future();
+    _delegate.lookupDataObjects(dataObjects, _future);
+    return _future;
+  }
+
+  public Future<String> routedFluentMethod(String str) {
+    Future<String> _future = Future.future();
+    _delegate.routedFluentMethod(str, _future);
+    return _future;
+  }
+
+  public Future<JsonObject> cachedJsonObjectHandler() {
+    Future<JsonObject> _future = Future.future();
+    _delegate.cachedJsonObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<JsonArray> singleFlightJsonArrayHandler() {
+    Future<JsonArray> _future = Future.future();
+    _delegate.singleFlightJsonArrayHandler(_future);
+    return _future;
+  }
+
+  public Future<TestDataObject> conditionalDataObjectHandler() {
+    Future<TestDataObject> _future = Future.future();
+    _delegate.conditionalDataObjectHandler(_future);
+    return _future;
+  }
+
+  public Future<String> cachedDataObjectArgument(TestDataObject dataObject) {
+    Future<String> _future = Future.future();
+    _delegate.cachedDataObjectArgument(dataObject, _future);
+    return _future;
+  }
+
+}
@@ -34,7 +34,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
 import io.vertx.serviceproxy.ProxyHelper;
 import io.vertx.serviceproxy.ProxyHandler;
 import io.vertx.serviceproxy.ServiceException;
@@ -77,6 +82,7 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
   }
 
   public TestServiceVertxProxyHandler(Vertx vertx, TestService service, boolean topLevel, long timeoutSeconds) {
+    super(vertx, TestService.class);
     this.vertx = vertx;
     this.service = service;
     this.timeoutSeconds = timeoutSeconds;
@@ -84,6 +90,12 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
       this.vertx.eventBus().registerDefaultCodec(ServiceException.class,
           new ServiceExceptionMessageCodec());
     } catch (IllegalStateException ex) {}
+    try {
+      this.vertx.eventBus().registerCodec(new BufferArgumentsMessageCodec());
+    } catch (IllegalStateException ex) {}
+    try {
+      this.vertx.eventBus().registerCodec(new BufferResultMessageCodec());
+    } catch (IllegalStateException ex) {}
     if (timeoutSeconds != -1 && !topLevel) {
       long period = timeoutSeconds * 1000 / 2;
       if (period > 10000) {
@@ -121,7 +133,100 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
     this.lastAccessed = System.nanoTime();
   }
 
-  public void handle(Message<JsonObject> msg) {
+  @Override
+  protected String[] parameterNames(String action) {
+    switch (action) {
+      case "longDeliverySuccess": return new String[] {"resultHandler"};
+      case "longDeliveryFailed": return new String[] {"resultHandler"};
+      case "createConnection": return new String[] {"str", "resultHandler"};
+      case "createConnectionWithCloseFuture": return new String[] {"resultHandler"};
+      case "noParams": return new String[] {};
+      case "basicTypes": return new String[] {"str", "b", "s", "i", "l", "f", "d", "c", "bool"};
+      case "basicBoxedTypes": return new String[] {"str", "b", "s", "i", "l", "f", "d", "c", "bool"};
+      case "basicBoxedTypesNull": return new String[] {"str", "b", "s", "i", "l", "f", "d", "c", "bool"};
+      case "jsonTypes": return new String[] {"jsonObject", "jsonArray"};
+      case "jsonTypesNull": return new String[] {"jsonObject", "jsonArray"};
+      case "enumType": return new String[] {"someEnum"};
+      case "enumTypeNull": return new String[] {"someEnum"};
+      case "enumTypeAsResult": return new String[] {"someEnum"};
+      case "enumTypeAsResultNull": return new String[] {"someEnum"};
+      case "dataObjectType": return new String[] {"options"};
+      case "dataObjectTypeNull": return new String[] {"options"};
+      case "listParams": return new String[] {"listString", "listByte", "listShort", "listInt", "listLong", "listJsonObject", "listJsonArray", "listDataObject"};
+      case "setParams": return new String[] {"setString", "setByte", "setShort", "setInt", "setLong", "setJsonObject", "setJsonArray", "setDataObject"};
+      case "mapParams": return new String[] {"mapString", "mapByte", "mapShort", "mapInt", "mapLong", "mapJsonObject", "mapJsonArray"};
+      case "stringHandler": return new String[] {"resultHandler"};
+      case "stringNullHandler": return new String[] {"resultHandler"};
+      case "byteHandler": return new String[] {"resultHandler"};
+      case "byteNullHandler": return new String[] {"resultHandler"};
+      case "shortHandler": return new String[] {"resultHandler"};
+      case "shortNullHandler": return new String[] {"resultHandler"};
+      case "intHandler": return new String[] {"resultHandler"};
+      case "intNullHandler": return new String[] {"resultHandler"};
+      case "longHandler": return new String[] {"resultHandler"};
+      case "longNullHandler": return new String[] {"resultHandler"};
+      case "floatHandler": return new String[] {"resultHandler"};
+      case "floatNullHandler": return new String[] {"resultHandler"};
+      case "doubleHandler": return new String[] {"resultHandler"};
+      case "doubleNullHandler": return new String[] {"resultHandler"};
+      case "charHandler": return new String[] {"resultHandler"};
+      case "charNullHandler": return new String[] {"resultHandler"};
+      case "booleanHandler": return new String[] {"resultHandler"};
+      case "booleanNullHandler": return new String[] {"resultHandler"};
+      case "jsonObjectHandler": return new String[] {"resultHandler"};
+      case "jsonObjectNullHandler": return new String[] {"resultHandler"};
+      case "jsonArrayHandler": return new String[] {"resultHandler"};
+      case "jsonArrayNullHandler": return new String[] {"resultHandler"};
+      case "dataObjectHandler": return new String[] {"resultHandler"};
+      case "dataObjectNullHandler": return new String[] {"resultHandler"};
+      case "voidHandler": return new String[] {"resultHandler"};
+      case "fluentMethod": return new String[] {"str", "resultHandler"};
+      case "fluentNoParams": return new String[] {};
+      case "failingMethod": return new String[] {"resultHandler"};
+      case "invokeWithMessage": return new String[] {"object", "str", "i", "chr", "senum", "resultHandler"};
+      case "listStringHandler": return new String[] {"resultHandler"};
+      case "listByteHandler": return new String[] {"resultHandler"};
+      case "listShortHandler": return new String[] {"resultHandler"};
+      case "listIntHandler": return new String[] {"resultHandler"};
+      case "listLongHandler": return new String[] {"resultHandler"};
+      case "listFloatHandler": return new String[] {"resultHandler"};
+      case "listDoubleHandler": return new String[] {"resultHandler"};
+      case "listCharHandler": return new String[] {"resultHandler"};
+      case "listBoolHandler": return new String[] {"resultHandler"};
+      case "listJsonObjectHandler": return new String[] {"resultHandler"};
+      case "listJsonArrayHandler": return new String[] {"resultHandler"};
+      case "listDataObjectHandler": return new String[] {"resultHandler"};
+      case "setStringHandler": return new String[] {"resultHandler"};
+      case "setByteHandler": return new String[] {"resultHandler"};
+      case "setShortHandler": return new String[] {"resultHandler"};
+      case "setIntHandler": return new String[] {"resultHandler"};
+      case "setLongHandler": return new String[] {"resultHandler"};
+      case "setFloatHandler": return new String[] {"resultHandler"};
+      case "setDoubleHandler": return new String[] {"resultHandler"};
+      case "setCharHandler": return new String[] {"resultHandler"};
+      case "setBoolHandler": return new String[] {"resultHandler"};
+      case "setJsonObjectHandler": return new String[] {"resultHandler"};
+      case "setJsonArrayHandler": return new String[] {"resultHandler"};
+      case "setDataObjectHandler": return new String[] {"resultHandler"};
+      case "failingCall": return new String[] {"value", "resultHandler"};
+      case "listDataObjectContainingNullHandler": return new String[] {"resultHandler"};
+      case "setDataObjectContainingNullHandler": return new String[] {"resultHandler"};
+      case "lookup": return new String[] {"key", "resultHandler"};
+      case "lookupAll": return new String[] {"keys", "resultHandler"};
+      case "lookupDataObject": return new String[] {"dataObject", "resultHandler"};
+      case "lookupDataObjects": return new String[] {"dataObjects", "resultHandler"};
+      case "routedFluentMethod": return new String[] {"str", "resultHandler"};
+      case "cachedJsonObjectHandler": return new String[] {"resultHandler"};
+      case "singleFlightJsonArrayHandler": return new String[] {"resultHandler"};
+      case "conditionalDataObjectHandler": return new String[] {"resultHandler"};
+      case "cachedDataObjectArgument": return new String[] {"dataObject", "resultHandler"};
+      case "ignoredMethod": return new String[] {};
+      default: return null;
+    }
+  }
+
+  @Override
+  protected void invoke(Message<JsonObject> msg) {
     try {
       JsonObject json = msg.body();
       String action = msg.headers().get("action");
@@ -214,23 +319,23 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "dataObjectType": {
-          service.dataObjectType(json.getJsonObject("options") == null ? null : new io.vertx.serviceproxy.testmodel.TestDataObject(json.getJsonObject("options")));
+          service.dataObjectType(DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, json.getValue("options"), io.vertx.serviceproxy.testmodel.TestDataObject::new));
           break;
         }
         case "dataObjectTypeNull": {
-          service.dataObjectTypeNull(json.getJsonObject("options") == null ? null : new io.vertx.serviceproxy.testmodel.TestDataObject(json.getJsonObject("options")));
+          service.dataObjectTypeNull(DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, json.getValue("options"), io.vertx.serviceproxy.testmodel.TestDataObject::new));
           break;
         }
         case "listParams": {
-          service.listParams(convertList(json.getJsonArray("listString").getList()), json.getJsonArray("listByte").stream().map(o -> ((Number)o).byteValue()).collect(Collectors.toList()), json.getJsonArray("listShort").stream().map(o -> ((Number)o).shortValue()).collect(Collectors.toList()), json.getJsonArray("listInt").stream().map(o -> ((Number)o).intValue()).collect(Collectors.toList()), json.getJsonArray("listLong").stream().map(o -> ((Number)o).longValue()).collect(Collectors.toList()), convertList(json.getJsonArray("listJsonObject").getList()), convertList(json.getJsonArray("listJsonArray").getList()), json.getJsonArray("listDataObject").stream().map(o -> new TestDataObject((JsonObject)o)).collect(Collectors.toList()));
+          service.listParams(lazyList(json, "listString", () -> convertList(json.getJsonArray("listString").getList())), lazyList(json, "listByte", () -> json.getJsonArray("listByte").stream().map(o -> ((Number)o).byteValue()).collect(Collectors.toList())), lazyList(json, "listShort", () -> json.getJsonArray("listShort").stream().map(o -> ((Number)o).shortValue()).collect(Collectors.toList())), PackedCollections.readIntList(json.getValue("listInt")), PackedCollections.readLongList(json.getValue("listLong")), lazyList(json, "listJsonObject", () -> convertList(json.getJsonArray("listJsonObject").getList())), lazyList(json, "listJsonArray", () -> convertList(json.getJsonArray("listJsonArray").getList())), lazyList(json, "listDataObject", () -> json.getJsonArray("listDataObject").stream().map(o -> DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, o, io.vertx.serviceproxy.testmodel.TestDataObject::new)).collect(Collectors.toList())));
           break;
         }
         case "setParams": {
-          service.setParams(convertSet(json.getJsonArray("setString").getList()), json.getJsonArray("setByte").stream().map(o -> ((Number)o).byteValue()).collect(Collectors.toSet()), json.getJsonArray("setShort").stream().map(o -> ((Number)o).shortValue()).collect(Collectors.toSet()), json.getJsonArray("setInt").stream().map(o -> ((Number)o).intValue()).collect(Collectors.toSet()), json.getJsonArray("setLong").stream().map(o -> ((Number)o).longValue()).collect(Collectors.toSet()), convertSet(json.getJsonArray("setJsonObject").getList()), convertSet(json.getJsonArray("setJsonArray").getList()), json.getJsonArray("setDataObject").stream().map(o -> new TestDataObject((JsonObject)o)).collect(Collectors.toSet()));
+          service.setParams(lazySet(json, "setString", () -> convertSet(json.getJsonArray("setString").getList())), lazySet(json, "setByte", () -> json.getJsonArray("setByte").stream().map(o -> ((Number)o).byteValue()).collect(Collectors.toSet())), lazySet(json, "setShort", () -> json.getJsonArray("setShort").stream().map(o -> ((Number)o).shortValue()).collect(Collectors.toSet())), PackedCollections.readIntSet(json.getValue("setInt")), PackedCollections.readLongSet(json.getValue("setLong")), lazySet(json, "setJsonObject", () -> convertSet(json.getJsonArray("setJsonObject").getList())), lazySet(json, "setJsonArray", () -> convertSet(json.getJsonArray("setJsonArray").getList())), lazySet(json, "setDataObject", () -> json.getJsonArray("setDataObject").stream().map(o -> DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, o, io.vertx.serviceproxy.testmodel.TestDataObject::new)).collect(Collectors.toSet())));
           break;
         }
         case "mapParams": {
-          service.mapParams(convertMap(json.getJsonObject("mapString").getMap()), json.getJsonObject("mapByte").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).byteValue())), json.getJsonObject("mapShort").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).shortValue())), json.getJsonObject("mapInt").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).intValue())), json.getJsonObject("mapLong").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).longValue())), convertMap(json.getJsonObject("mapJsonObject").getMap()), convertMap(json.getJsonObject("mapJsonArray").getMap()));
+          service.mapParams(lazyMap(json, "mapString", () -> convertMap(json.getJsonObject("mapString").getMap())), lazyMap(json, "mapByte", () -> json.getJsonObject("mapByte").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).byteValue()))), lazyMap(json, "mapShort", () -> json.getJsonObject("mapShort").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).shortValue()))), lazyMap(json, "mapInt", () -> json.getJsonObject("mapInt").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).intValue()))), lazyMap(json, "mapLong", () -> json.getJsonObject("mapLong").getMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> ((java.lang.Number)entry.getValue()).longValue()))), lazyMap(json, "mapJsonObject", () -> convertMap(json.getJsonObject("mapJsonObject").getMap())), lazyMap(json, "mapJsonArray", () -> convertMap(json.getJsonObject("mapJsonArray").getMap())));
           break;
         }
         case "stringHandler": {
@@ -322,31 +427,11 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "dataObjectHandler": {
-          service.dataObjectHandler(res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(res.result() == null ? null : res.result().toJson());
-            }
-         });
+          service.dataObjectHandler(createDataObjectHandler(msg, TestDataObject.class, TestDataObject::toJson));
           break;
         }
         case "dataObjectNullHandler": {
-          service.dataObjectNullHandler(res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(res.result() == null ? null : res.result().toJson());
-            }
-         });
+          service.dataObjectNullHandler(createDataObjectHandler(msg, TestDataObject.class, TestDataObject::toJson));
           break;
         }
         case "voidHandler": {
@@ -382,11 +467,11 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "listIntHandler": {
-          service.listIntHandler(createListHandler(msg));
+          service.listIntHandler(createPackedHandler(msg, PackedCollections::packInts));
           break;
         }
         case "listLongHandler": {
-          service.listLongHandler(createListHandler(msg));
+          service.listLongHandler(createPackedHandler(msg, PackedCollections::packLongs));
           break;
         }
         case "listFloatHandler": {
@@ -394,11 +479,11 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "listDoubleHandler": {
-          service.listDoubleHandler(createListHandler(msg));
+          service.listDoubleHandler(createPackedHandler(msg, PackedCollections::packDoubles));
           break;
         }
         case "listCharHandler": {
-          service.listCharHandler(createListCharHandler(msg));
+          service.listCharHandler(createPackedHandler(msg, PackedCollections::packChars));
           break;
         }
         case "listBoolHandler": {
@@ -414,17 +499,7 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "listDataObjectHandler": {
-          service.listDataObjectHandler(res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(new JsonArray(res.result().stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
-            }
-         });
+          service.listDataObjectHandler(createDataObjectsHandler(msg, TestDataObject::toJson));
           break;
         }
         case "setStringHandler": {
@@ -440,11 +515,11 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "setIntHandler": {
-          service.setIntHandler(createSetHandler(msg));
+          service.setIntHandler(createPackedHandler(msg, PackedCollections::packInts));
           break;
         }
         case "setLongHandler": {
-          service.setLongHandler(createSetHandler(msg));
+          service.setLongHandler(createPackedHandler(msg, PackedCollections::packLongs));
           break;
         }
         case "setFloatHandler": {
@@ -452,11 +527,11 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "setDoubleHandler": {
-          service.setDoubleHandler(createSetHandler(msg));
+          service.setDoubleHandler(createPackedHandler(msg, PackedCollections::packDoubles));
           break;
         }
         case "setCharHandler": {
-          service.setCharHandler(createSetCharHandler(msg));
+          service.setCharHandler(createPackedHandler(msg, PackedCollections::packChars));
           break;
         }
         case "setBoolHandler": {
@@ -472,17 +547,7 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "setDataObjectHandler": {
-          service.setDataObjectHandler(res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(new JsonArray(res.result().stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
-            }
-         });
+          service.setDataObjectHandler(createDataObjectsHandler(msg, TestDataObject::toJson));
           break;
         }
         case "failingCall": {
@@ -490,31 +555,47 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           break;
         }
         case "listDataObjectContainingNullHandler": {
-          service.listDataObjectContainingNullHandler(res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(new JsonArray(res.result().stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
-            }
-         });
+          service.listDataObjectContainingNullHandler(createDataObjectsHandler(msg, TestDataObject::toJson));
           break;
         }
         case "setDataObjectContainingNullHandler": {
-          service.setDataObjectContainingNullHandler(res -> {
-            if (res.failed()) {
-              if (res.cause() instanceof ServiceException) {
-                msg.reply(res.cause());
-              } else {
-                msg.reply(new ServiceException(-1, res.cause().getMessage()));
-              }
-            } else {
-              msg.reply(new JsonArray(res.result().stream().map(r -> r == null ? null : r.toJson()).collect(Collectors.toList())));
-            }
-         });
+          service.setDataObjectContainingNullHandler(createDataObjectsHandler(msg, TestDataObject::toJson));
+          break;
+        }
+        case "lookup": {
+          service.lookup((java.lang.String)json.getValue("key"), createHandler(msg));
+          break;
+        }
+        case "lookupAll": {
+          service.lookupAll(lazyList(json, "keys", () -> convertList(json.getJsonArray("keys").getList())), createListHandler(msg));
+          break;
+        }
+        case "lookupDataObject": {
+          service.lookupDataObject(DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, json.getValue("dataObject"), io.vertx.serviceproxy.testmodel.TestDataObject::new), createHandler(msg));
+          break;
+        }
+        case "lookupDataObjects": {
+          service.lookupDataObjects(lazyList(json, "dataObjects", () -> json.getJsonArray("dataObjects").stream().map(o -> DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, o, io.vertx.serviceproxy.testmodel.TestDataObject::new)).collect(Collectors.toList())), createListHandler(msg));
+          break;
+        }
+        case "routedFluentMethod": {
+          service.routedFluentMethod((java.lang.String)json.getValue("str"), createHandler(msg));
+          break;
+        }
+        case "cachedJsonObjectHandler": {
+          service.cachedJsonObjectHandler(createHandler(msg));
+          break;
+        }
+        case "singleFlightJsonArrayHandler": {
+          service.singleFlightJsonArrayHandler(createHandler(msg));
+          break;
+        }
+        case "conditionalDataObjectHandler": {
+          service.conditionalDataObjectHandler(createDataObjectHandler(msg, TestDataObject.class, TestDataObject::toJson));
+          break;
+        }
+        case "cachedDataObjectArgument": {
+          service.cachedDataObjectArgument(DataObjectCodec.decode(io.vertx.serviceproxy.testmodel.TestDataObject.class, json.getValue("dataObject"), io.vertx.serviceproxy.testmodel.TestDataObject::new), createHandler(msg));
           break;
         }
         case "ignoredMethod": {
@@ -542,6 +623,8 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
       } else {
         if (res.result() != null  && res.result().getClass().isEnum()) {
           msg.reply(((Enum) res.result()).name());
+        } else if (res.result() instanceof io.vertx.core.buffer.Buffer) {
+          msg.reply(res.result(), new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
         } else {
           msg.reply(res.result());
         }
@@ -577,7 +660,8 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
     };
   }
 
-  private Handler<AsyncResult<List<Character>>> createListCharHandler(Message msg) {
+  private <T> Handler<AsyncResult<T>> createDataObjectHandler(Message msg, Class<T> type, Function<T, JsonObject> toJson) {
+    String[] fields = resultFields(msg);
     return res -> {
       if (res.failed()) {
         if (res.cause() instanceof ServiceException) {
@@ -585,17 +669,21 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
         } else {
           msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
-      } else {
-        JsonArray arr = new JsonArray();
-        for (Character chr: res.result()) {
-          arr.add((int) chr);
+      } else if (isBinary(msg) && fields == null) {
+        Object encoded = DataObjectCodec.encode(type, res.result(), toJson);
+        if (encoded instanceof io.vertx.core.buffer.Buffer) {
+          msg.reply(encoded, new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
+        } else {
+          msg.reply(encoded);
         }
-        msg.reply(arr);
+      } else {
+        msg.reply(res.result() == null ? null : project(toJson.apply(res.result()), fields));
       }
     };
   }
 
-  private Handler<AsyncResult<Set<Character>>> createSetCharHandler(Message msg) {
+  private <T, C extends Collection<T>> Handler<AsyncResult<C>> createDataObjectsHandler(Message msg, Function<T, JsonObject> toJson) {
+    String[] fields = resultFields(msg);
     return res -> {
       if (res.failed()) {
         if (res.cause() instanceof ServiceException) {
@@ -604,11 +692,29 @@ public class TestServiceVertxProxyHandler extends ProxyHandler {
           msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
       } else {
-        JsonArray arr = new JsonArray();
-        for (Character chr: res.result()) {
-          arr.add((int) chr);
+        convert(res.result(), r -> r == null ? null : project(toJson.apply(r), fields), converted -> {
+          if (converted.failed()) {
+            msg.reply(new ServiceException(-1, converted.cause().getMessage()));
+          } else {
+            msg.reply(new JsonArray(converted.result()));
+          }
+        });
+      }
+    };
+  }
+
+  private <T extends Collection<?>> Handler<AsyncResult<T>> createPackedHandler(Message msg, Function<T, Object> packer) {
+    return res -> {
+      if (res.failed()) {
+        if (res.cause() instanceof ServiceException) {
+          msg.reply(res.cause());
+        } else {
+          msg.reply(new ServiceException(-1, res.cause().getMessage()));
         }
-        msg.reply(arr);
+      } else if (isPacked(msg)) {
+        msg.reply(packer.apply(res.result()));
+      } else {
+        msg.reply(PackedCollections.toJsonArray(res.result()));
       }
     };
   }
@@ -0,0 +1,394 @@
+/*
+* Copyright 2014 Red Hat, Inc.
+*
+* Red Hat licenses this file to you under the Apache License, version 2.0
+* (the "License"); you may not use this file except in compliance with the
+* License. You may obtain a copy of the License at:
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+* WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+* License for the specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.vertx.serviceproxy.testmodel;
+
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.core.Vertx;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.SyncCall;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.SomeEnum;
+import io.vertx.core.Vertx;
+import java.util.Set;
+import io.vertx.serviceproxy.testmodel.TestConnection;
+import io.vertx.core.json.JsonArray;
+import io.vertx.serviceproxy.testmodel.TestDataObject;
+import java.util.List;
+import java.util.Map;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.AsyncResult;
+import io.vertx.serviceproxy.testmodel.TestConnectionWithCloseFuture;
+import io.vertx.core.Handler;
+
+/*
+  Generated Proxy code - DO NOT EDIT
+  @author Roger the Robot
+*/
+public class TestServiceVertxSyncProxy {
+
+  private final TestService _delegate;
+
+  public TestServiceVertxSyncProxy(Vertx vertx, String address) {
+    this(vertx, address, new ProxyOptions());
+  }
+
+  public TestServiceVertxSyncProxy(Vertx vertx, String address, ProxyOptions options) {
+    this(ProxyHelper.createProxy(TestService.class, vertx, address, options));
+  }
+
+  public TestServiceVertxSyncProxy(TestService delegate) {
+    this._delegate = delegate;
+  }
+
+  public String longDeliverySuccess() {
+    return SyncCall.<String>await(_handler -> _delegate.longDeliverySuccess(_handler));
+  }
+
+  public String longDeliveryFailed() {
+    return SyncCall.<String>await(_handler -> _delegate.longDeliveryFailed(_handler));
+  }
+
+  public TestConnection createConnection(String str) {
+    return SyncCall.<TestConnection>await(_handler -> _delegate.createConnection(str, _handler));
+  }
+
+  public TestConnectionWithCloseFuture createConnectionWithCloseFuture() {
+    return SyncCall.<TestConnectionWithCloseFuture>await(_handler -> _delegate.createConnectionWithCloseFuture(_handler));
+  }
+
+  public void noParams() {
+    _delegate.noParams();
+  }
+
+  public void basicTypes(String str, byte b, short s, int i, long l, float f, double d, char c, boolean bool) {
+    _delegate.basicTypes(str, b, s, i, l, f, d, c, bool);
+  }
+
+  public void basicBoxedTypes(String str, Byte b, Short s, Integer i, Long l, Float f, Double d, Character c, Boolean bool) {
+    _delegate.basicBoxedTypes(str, b, s, i, l, f, d, c, bool);
+  }
+
+  public void basicBoxedTypesNull(String str, Byte b, Short s, Integer i, Long l, Float f, Double d, Character c, Boolean bool) {
+    _delegate.basicBoxedTypesNull(str, b, s, i, l, f, d, c, bool);
+  }
+
+  public void jsonTypes(JsonObject jsonObject, JsonArray jsonArray) {
+    _delegate.jsonTypes(jsonObject, jsonArray);
+  }
+
+  public void jsonTypesNull(JsonObject jsonObject, JsonArray jsonArray) {
+    _delegate.jsonTypesNull(jsonObject, jsonArray);
+  }
+
+  public void enumType(SomeEnum someEnum) {
+    _delegate.enumType(someEnum);
+  }
+
+  public void enumTypeNull(SomeEnum someEnum) {
+    _delegate.enumTypeNull(someEnum);
+  }
+
+  public SomeEnum enumTypeAsResult() {
+    return SyncCall.<SomeEnum>await(_handler -> _delegate.enumTypeAsResult(_handler));
+  }
+
+  public SomeEnum enumTypeAsResultNull() {
+    return SyncCall.<SomeEnum>await(_handler -> _delegate.enumTypeAsResultNull(_handler));
+  }
+
+  public void dataObjectType(TestDataObject options) {
+    _delegate.dataObjectType(options);
+  }
+
+  public void dataObjectTypeNull(TestDataObject options) {
+    _delegate.dataObjectTypeNull(options);
+  }
+
+  public void listParams(List<String> listString, List<Byte> listByte, List<Short> listShort, List<Integer> listInt, List<Long> listLong, List<JsonObject> listJsonObject, List<JsonArray> listJsonArray, List<TestDataObject> listDataObject) {
+    _delegate.listParams(listString, listByte, listShort, listInt, listLong, listJsonObject, listJsonArray, listDataObject);
+  }
+
+  public void setParams(Set<String> setString, Set<Byte> setByte, Set<Short> setShort, Set<Integer> setInt, Set<Long> setLong, Set<JsonObject> setJsonObject, Set<JsonArray> setJsonArray, Set<TestDataObject> setDataObject) {
+    _delegate.setParams(setString, setByte, setShort, setInt, setLong, setJsonObject, setJsonArray, setDataObject);
+  }
+
+  public void mapParams(Map<String,String> mapString, Map<String,Byte> mapByte, Map<String,Short> mapShort, Map<String,Integer> mapInt, Map<String,Long> mapLong, Map<String,JsonObject> mapJsonObject, Map<String,JsonArray> mapJsonArray) {
+    _delegate.mapParams(mapString, mapByte, mapShort, mapInt, mapLong, mapJsonObject, mapJsonArray);
+  }
+
+  public String stringHandler() {
+    return SyncCall.<String>await(_handler -> _delegate.stringHandler(_handler));
+  }
+
+  public String stringNullHandler() {
+    return SyncCall.<String>await(_handler -> _delegate.stringNullHandler(_handler));
+  }
+
+  public Byte byteHandler() {
+    return SyncCall.<Byte>await(_handler -> _delegate.byteHandler(_handler));
+  }
+
+  public Byte byteNullHandler() {
+    return SyncCall.<Byte>await(_handler -> _delegate.byteNullHandler(_handler));
+  }
+
+  public Short shortHandler() {
+    return SyncCall.<Short>await(_handler -> _delegate.shortHandler(_handler));
+  }
+
+  public Short shortNullHandler() {
+    return SyncCall.<Short>await(_handler -> _delegate.shortNullHandler(_handler));
+  }
+
+  public Integer intHandler() {
+    return SyncCall.<Integer>await(_handler -> _delegate.intHandler(_handler));
+  }
+
+  public Integer intNullHandler() {
+    return SyncCall.<Integer>await(_handler -> _delegate.intNullHandler(_handler));
+  }
+
+  public Long longHandler() {
+    return SyncCall.<Long>await(_handler -> _delegate.longHandler(_handler));
+  }
+
+  public Long longNullHandler() {
+    return SyncCall.<Long>await(_handler -> _delegate.longNullHandler(_handler));
+  }
+
+  public Float floatHandler() {
+    return SyncCall.<Float>await(_handler -> _delegate.floatHandler(_handler));
+  }
+
+  public Float floatNullHandler() {
+    return SyncCall.<Float>await(_handler -> _delegate.floatNullHandler(_handler));
+  }
+
+  public Double doubleHandler() {
+    return SyncCall.<Double>await(_handler -> _delegate.doubleHandler(_handler));
+  }
+
+  public Double doubleNullHandler() {
+    return SyncCall.<Double>await(_handler -> _delegate.doubleNullHandler(_handler));
+  }
+
+  public Character charHandler() {
+    return SyncCall.<Character>await(_handler -> _delegate.charHandler(_handler));
+  }
+
+  public Character charNullHandler() {
+    return SyncCall.<Character>await(_handler -> _delegate.charNullHandler(_handler));
+  }
+
+  public Boolean booleanHandler() {
+    return SyncCall.<Boolean>await(_handler -> _delegate.booleanHandler(_handler));
+  }
+
+  public Boolean booleanNullHandler() {
+    return SyncCall.<Boolean>await(_handler -> _delegate.booleanNullHandler(_handler));
+  }
+
+  public JsonObject jsonObjectHandler() {
+    return SyncCall.<JsonObject>await(_handler -> _delegate.jsonObjectHandler(_handler));
+  }
+
+  public JsonObject jsonObjectNullHandler() {
+    return SyncCall.<JsonObject>await(_handler -> _delegate.jsonObjectNullHandler(_handler));
+  }
+
+  public JsonArray jsonArrayHandler() {
+    return SyncCall.<JsonArray>await(_handler -> _delegate.jsonArrayHandler(_handler));
+  }
+
+  public JsonArray jsonArrayNullHandler() {
+    return SyncCall.<JsonArray>await(_handler -> _delegate.jsonArrayNullHandler(_handler));
+  }
+
+  public TestDataObject dataObjectHandler() {
+    return SyncCall.<TestDataObject>await(_handler -> _delegate.dataObjectHandler(_handler));
+  }
+
+  public TestDataObject dataObjectNullHandler() {
+    return SyncCall.<TestDataObject>await(_handler -> _delegate.dataObjectNullHandler(_handler));
+  }
+
+  public void voidHandler() {
+    SyncCall.<Void>await(_handler -> _delegate.voidHandler(_handler));
+  }
+
+  public String fluentMethod(String str) {
+    return SyncCall.<String>await(_handler -> _delegate.fluentMethod(str, _handler));
+  }
+
+  public void fluentNoParams() {
+    _delegate.fluentNoParams();
+  }
+
+  public JsonObject failingMethod() {
+    return SyncCall.<JsonObject>await(_handler -> _delegate.failingMethod(_handler));
+  }
+
+  public String invokeWithMessage(JsonObject object, String str, int i, char chr, SomeEnum senum) {
+    return SyncCall.<String>await(_handler -> _delegate.invokeWithMessage(object, str, i, chr, senum, _handler));
+  }
+
+  public List<String> listStringHandler() {
+    return SyncCall.<List<String>>await(_handler -> _delegate.listStringHandler(_handler));
+  }
+
+  public List<Byte> listByteHandler() {
+    return SyncCall.<List<Byte>>await(_handler -> _delegate.listByteHandler(_handler));
+  }
+
+  public List<Short> listShortHandler() {
+    return SyncCall.<List<Short>>await(_handler -> _delegate.listShortHandler(_handler));
+  }
+
+  public List<Integer> listIntHandler() {
+    return SyncCall.<List<Integer>>await(_handler -> _delegate.listIntHandler(_handler));
+  }
+
+  public List<Long> listLongHandler() {
+    return SyncCall.<List<Long>>await(_handler -> _delegate.listLongHandler(_handler));
+  }
+
+  public List<Float> listFloatHandler() {
+    return SyncCall.<List<Float>>await(_handler -> _delegate.listFloatHandler(_handler));
+  }
+
+  public List<Double> listDoubleHandler() {
+    return SyncCall.<List<Double>>await(_handler -> _delegate.listDoubleHandler(_handler));
+  }
+
+  public List<Character> listCharHandler() {
+    return SyncCall.<List<Character>>await(_handler -> _delegate.listCharHandler(_handler));
+  }
+
+  public List<Boolean> listBoolHandler() {
+    return SyncCall.<List<Boolean>>await(_handler -> _delegate.listBoolHandler(_handler));
+  }
+
+  public List<JsonObject> listJsonObjectHandler() {
+    return SyncCall.<List<JsonObject>>await(_handler -> _delegate.listJsonObjectHandler(_handler));
+  }
+
+  public List<JsonArray> listJsonArrayHandler() {
+    return SyncCall.<List<JsonArray>>await(_handler -> _delegate.listJsonArrayHandler(_handler));
+  }
+
+  public List<TestDataObject> listDataObjectHandler() {
+    return SyncCall.<List<TestDataObject>>await(_handler -> _delegate.listDataObjectHandler(_handler));
+  }
+
+  public Set<String> setStringHandler() {
+    return SyncCall.<Set<String>>await(_handler -> _delegate.setStringHandler(_handler));
+  }
+
+  public Set<Byte> setByteHandler() {
+    return SyncCall.<Set<Byte>>await(_handler -> _delegate.setByteHandler(_handler));
+  }
+
+  public Set<Short> setShortHandler() {
+    return SyncCall.<Set<Short>>await(_handler -> _delegate.setShortHandler(_handler));
+  }
+
+  public Set<Integer> setIntHandler() {
+    return SyncCall.<Set<Integer>>await(_handler -> _delegate.setIntHandler(_handler));
+  }
+
+  public Set<Long> setLongHandler() {
+    return SyncCall.<Set<Long>>await(_handler -> _delegate.setLongHandler(_handler));
+  }
+
+  public Set<Float> setFloatHandler() {
+    return SyncCall.<Set<Float>>await(_handler -> _delegate.setFloatHandler(_handler));
+  }
+
+  public Set<Double> setDoubleHandler() {
+    return SyncCall.<Set<Double>>await(_handler -> _delegate.setDoubleHandler(_handler));
+  }
+
+  public Set<Character> setCharHandler() {
+    return SyncCall.<Set<Character>>await(_handler -> _delegate.setCharHandler(_handler));
+  }
+
+  public Set<Boolean> setBoolHandler() {
+    return SyncCall.<Set<Boolean>>await(_handler -> _delegate.setBoolHandler(_handler));
+  }
+
+  public Set<JsonObject> setJsonObjectHandler() {
+    return SyncCall.<Set<JsonObject>>await(_handler -> _delegate.setJsonObjectHandler(_handler));
+  }
+
+  public Set<JsonArray> setJsonArrayHandler() {
+    return SyncCall.<Set<JsonArray>>await(_handler -> _delegate.setJsonArrayHandler(_handler));
+  }
+
+  public Set<TestDataObject> setDataObjectHandler() {
+    return SyncCall.<Set<TestDataObject>>await(_handler -> _delegate.setDataObjectHandler(_handler));
+  }
+
+  public JsonObject failingCall(String value) {
+    return SyncCall.<JsonObject>await(_handler -> _delegate.failingCall(value, _handler));
+  }
+
+  public List<TestDataObject> listDataObjectContainingNullHandler() {
+    return SyncCall.<List<TestDataObject>>await(_handler -> _delegate.listDataObjectContainingNullHandler(_handler));
+  }
+
+  public Set<TestDataObject> setDataObjectContainingNullHandler() {
+    return SyncCall.<Set<TestDataObject>>await(_handler -> _delegate.setDataObjectContainingNullHandler(_handler));
+  }
+
+  public String lookup(String key) {
+    return SyncCall.<String>await(_handler -> _delegate.lookup(key, _handler));
+  }
+
+  public List<String> lookupAll(List<String> keys) {
+    return SyncCall.<List<String>>await(_handler -> _delegate.lookupAll(keys, _handler));
+  }
+
+  public String lookupDataObject(TestDataObject dataObject) {
+    return SyncCall.<String>await(_handler -> _delegate.lookupDataObject(dataObject, _handler));
+  }
+
+  public List<String> lookupDataObjects(List<TestDataObject> dataObjects) {
+    return SyncCall.<List<String>>await(_handler -> _delegate.lookupDataObjects(dataObjects, _handler));
+  }
+
+  public String routedFluentMethod(String str) {
+    return SyncCall.<String>await(_handler -> _delegate.routedFluentMethod(str, _handler));
+  }
+
+  public JsonObject cachedJsonObjectHandler() {
+    return SyncCall.<JsonObject>await(_handler -> _delegate.cachedJsonObjectHandler(_handler));
+  }
+
+  public JsonArray singleFlightJsonArrayHandler() {
+    return SyncCall.<JsonArray>await(_handler -> _delegate.singleFlightJsonArrayHandler(_handler));
+  }
+
+  public TestDataObject conditionalDataObjectHandler() {
+    return SyncCall.<TestDataObject>await(_handler -> _delegate.conditionalDataObjectHandler(_handler));
+  }
+
+  public String cachedDataObjectArgument(TestDataObject dataObject) {
+    return SyncCall.<String>await(_handler -> _delegate.cachedDataObjectArgument(dataObject, _handler));
+  }
+
+}
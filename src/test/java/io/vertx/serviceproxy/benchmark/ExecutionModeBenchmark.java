@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.benchmark;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ExecutionMode;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ServiceOptions;
+import io.vertx.serviceproxy.SyncServiceAdapter;
+import io.vertx.serviceproxy.testmodel.TestService;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the execution modes of a blocking service under high concurrency: each call blocks for
+ * {@value #BLOCKING_MILLIS} ms and {@value #CALLS} calls are sent at once.
+ * <p>
+ * Run with {@code java io.vertx.serviceproxy.benchmark.ExecutionModeBenchmark}, on a runtime having virtual threads
+ * to measure the {@link ExecutionMode#VIRTUAL_THREAD} mode, which otherwise falls back to worker threads.
+ */
+public class ExecutionModeBenchmark {
+
+  private static final int CALLS = 10_000;
+  private static final long BLOCKING_MILLIS = 10;
+
+  public static class BlockingService {
+
+    public String stringHandler() throws InterruptedException {
+      Thread.sleep(BLOCKING_MILLIS);
+      return "done";
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      run(vertx, "worker, vert.x pool", new ServiceOptions().setExecutionMode(ExecutionMode.WORKER));
+      run(vertx, "worker, 200 threads", new ServiceOptions().setExecutionMode(ExecutionMode.WORKER)
+        .setWorkerPoolName("benchmark-pool").setWorkerPoolSize(200));
+      run(vertx, "virtual threads", new ServiceOptions().setExecutionMode(ExecutionMode.VIRTUAL_THREAD));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  private static void run(Vertx vertx, String name, ServiceOptions options) throws InterruptedException {
+    String address = "benchmark." + name;
+    TestService service = SyncServiceAdapter.create(TestService.class, new BlockingService());
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, service, address,
+      options);
+    TestService proxy = ProxyHelper.createProxy(TestService.class, vertx, address,
+      new DeliveryOptions().setSendTimeout(TimeUnit.MINUTES.toMillis(5)));
+    CountDownLatch latch = new CountDownLatch(CALLS);
+    AtomicInteger failures = new AtomicInteger();
+    long start = System.nanoTime();
+    for (int i = 0; i < CALLS; i++) {
+      proxy.stringHandler(ar -> {
+        if (ar.failed()) {
+          failures.incrementAndGet();
+        }
+        latch.countDown();
+      });
+    }
+    latch.await();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    System.out.printf("%-20s %6d ms  %8.0f calls/s  %d failures%n", name, elapsed, CALLS * 1000.0 / elapsed,
+      failures.get());
+    consumer.unregister();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.benchmark;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
+import io.vertx.serviceproxy.SyncServiceAdapter;
+import io.vertx.serviceproxy.testmodel.TestService;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the ways of failing calls when most calls fail, as with validation failures: {@value #CALLS} calls are
+ * sent at once to a service failing each of them, then as many failures are encoded and decoded by the
+ * {@link ServiceExceptionMessageCodec}, as they are between the nodes of a cluster.
+ * <p>
+ * Run with {@code java io.vertx.serviceproxy.benchmark.ServiceFailureBenchmark}.
+ */
+public class ServiceFailureBenchmark {
+
+  private static final int CALLS = 200_000;
+  private static final ServiceException INVALID = ServiceException.stackless(400, "invalid");
+
+  public static class FailingService {
+
+    private final Supplier<ServiceException> failure;
+
+    FailingService(Supplier<ServiceException> failure) {
+      this.failure = failure;
+    }
+
+    public String stringHandler() {
+      throw failure.get();
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      // Warm up, then measure
+      for (int i = 0; i < 2; i++) {
+        run(vertx, "new", () -> new ServiceException(400, "invalid"));
+        run(vertx, "stackless", () -> ServiceException.stackless(400, "invalid"));
+        run(vertx, "cached", () -> INVALID);
+      }
+      for (int i = 0; i < 2; i++) {
+        codec("codec, no debug info", new ServiceException(400, "invalid"));
+        codec("codec, debug info", new ServiceException(400, "invalid", new JsonObject().put("field", "name")));
+      }
+    } finally {
+      vertx.close();
+    }
+  }
+
+  private static void run(Vertx vertx, String name, Supplier<ServiceException> failure) throws InterruptedException {
+    String address = "benchmark." + name + "." + System.nanoTime();
+    TestService service = SyncServiceAdapter.create(TestService.class, new FailingService(failure));
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, service, address);
+    TestService proxy = ProxyHelper.createProxy(TestService.class, vertx, address);
+    CountDownLatch latch = new CountDownLatch(CALLS);
+    long start = System.nanoTime();
+    for (int i = 0; i < CALLS; i++) {
+      proxy.stringHandler(ar -> latch.countDown());
+    }
+    latch.await();
+    report(name, System.nanoTime() - start);
+    consumer.unregister();
+  }
+
+  private static void codec(String name, ServiceException failure) {
+    ServiceExceptionMessageCodec codec = new ServiceExceptionMessageCodec();
+    int checksum = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < CALLS; i++) {
+      Buffer buffer = Buffer.buffer();
+      codec.encodeToWire(buffer, failure);
+      checksum += codec.decodeFromWire(0, buffer).failureCode();
+    }
+    report(name, System.nanoTime() - start);
+    if (checksum != CALLS * failure.failureCode()) {
+      throw new AssertionError();
+    }
+  }
+
+  private static void report(String name, long elapsedNanos) {
+    long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    System.out.printf("%-25s %6d ms  %10.0f failures/s%n", name, elapsed, CALLS * 1000.0 / elapsed);
+  }
+}
@@ -1,12 +1,19 @@
 package io.vertx.serviceproxy.clustered;
 
 import com.jayway.awaitility.Awaitility;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
 import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceInstances;
+import io.vertx.serviceproxy.ServiceOptions;
 import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
 import io.vertx.serviceproxy.testmodel.MyServiceException;
 import io.vertx.serviceproxy.testmodel.MyServiceExceptionMessageCodec;
@@ -20,6 +27,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -227,4 +235,48 @@ public class ClusteredTest {
     });
     Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> result.get() != null);
   }
+
+  @Test
+  public void testPreferLocal() {
+    Vertx vertx = consumerNode.get();
+    ProxyHelper.registerService(Service.class, vertx, new ServiceProvider() {
+      @Override
+      public Service hello(String name, Handler<AsyncResult<String>> result) {
+        result.handle(Future.succeededFuture("local " + name));
+        return this;
+      }
+    }, "my.routed.service", new ServiceOptions().setInstanceRouting(true));
+    Service service = ProxyHelper.createProxy(Service.class, vertx, "my.routed.service",
+        new ProxyOptions().setPreferLocal(true));
+    ServiceInstances instances = new ServiceInstances(vertx, "my.routed.service");
+    Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> instances.addresses().length == 2);
+    instances.close();
+
+    List<String> results = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      service.hello("vert.x", ar -> results.add(ar.result()));
+    }
+    Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> results.size() == 10);
+    assertThat(results).containsOnly("local vert.x");
+  }
+
+  @Test
+  public void testCompression() {
+    ProxyHelper.registerService(Service.class, providerNode.get(), new ServiceProvider(), "my.compressed.service",
+        new ServiceOptions().setCompressionThreshold(1024));
+    Service service = ProxyHelper.createProxy(Service.class, consumerNode.get(), "my.compressed.service",
+        new ProxyOptions().setCompressionThreshold(1024));
+    JsonArray large = new JsonArray();
+    for (int i = 0; i < 10000; i++) {
+      large.add("item-" + (i % 100));
+    }
+    AtomicReference<JsonArray> largeResult = new AtomicReference<>();
+    service.methodWithJsonArray(large, ar -> largeResult.set(ar.result()));
+    // The calls below the threshold are sent as is
+    AtomicReference<String> smallResult = new AtomicReference<>();
+    service.hello("vert.x", ar -> smallResult.set(ar.result()));
+    Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> largeResult.get() != null && smallResult.get() != null);
+    assertThat(largeResult.get()).isEqualTo(large);
+    assertThat(smallResult.get()).isEqualToIgnoringCase("hello vert.x");
+  }
 }
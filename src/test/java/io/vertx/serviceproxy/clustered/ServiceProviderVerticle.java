@@ -4,6 +4,7 @@ import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ServiceOptions;
 import io.vertx.serviceproxy.testmodel.TestService;
 
 /**
@@ -15,5 +16,7 @@ public class ServiceProviderVerticle extends AbstractVerticle {
   @Override
   public void start() throws Exception {
     ProxyHelper.registerService(Service.class, vertx, new ServiceProvider(), "my.service");
+    ProxyHelper.registerService(Service.class, vertx, new ServiceProvider(), "my.routed.service",
+        new ServiceOptions().setInstanceRouting(true));
   }
 }
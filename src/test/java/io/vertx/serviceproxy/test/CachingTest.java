@@ -0,0 +1,302 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.SendContext;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.CallProtocol;
+import io.vertx.serviceproxy.ProxyHandler;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ResultCache;
+import io.vertx.serviceproxy.ResultVersions;
+import io.vertx.serviceproxy.testmodel.TestDataObject;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.impl.TestServiceImpl;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingTest extends VertxTestBase {
+
+  private static final String SERVICE_ADDRESS = "someaddress";
+
+  private MessageConsumer<JsonObject> consumer;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    consumer = ProxyHelper.registerService(TestService.class, vertx, TestService.create(vertx), SERVICE_ADDRESS);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    consumer.unregister();
+    super.tearDown();
+  }
+
+  @Test
+  public void testCacheableResult() {
+    AtomicInteger calls = new AtomicInteger();
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public void cachedJsonObjectHandler(Handler<AsyncResult<JsonObject>> resultHandler) {
+        calls.incrementAndGet();
+        super.cachedJsonObjectHandler(resultHandler);
+      }
+    };
+    MessageConsumer<JsonObject> cachedConsumer = ProxyHelper.registerService(TestService.class, vertx, impl, "cachedaddress");
+    TestService cached = TestService.createProxy(vertx, "cachedaddress");
+    AtomicInteger hits = new AtomicInteger();
+    cached.cachedJsonObjectHandler(onSuccess(first -> {
+      first.put("mutated", true);
+      cached.cachedJsonObjectHandler(onSuccess(second -> {
+        // Served from the cache, with a copy of the result
+        assertEquals(1, calls.get());
+        assertEquals(new JsonObject().put("blah", "wibble"), second);
+        hits.incrementAndGet();
+      }));
+    }));
+    assertWaitUntil(() -> hits.get() == 1);
+
+    ResultCache.invalidate(vertx, "testservice.invalidate", "cachedJsonObjectHandler");
+    vertx.setTimer(100, id -> {
+      cached.cachedJsonObjectHandler(onSuccess(third -> {
+        assertEquals(2, calls.get());
+        cachedConsumer.unregister();
+        testComplete();
+      }));
+    });
+    await();
+  }
+
+  @Test
+  public void testCacheableBinaryArgument() {
+    // The data object argument is sent as a buffer, which is keyed by its bytes
+    TestService cached = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+      new ProxyOptions().setProtocol(CallProtocol.BINARY));
+    cached.cachedDataObjectArgument(new TestDataObject().setString("foo").setNumber(1), onSuccess(first -> {
+      assertEquals("foo:1", first);
+      cached.cachedDataObjectArgument(new TestDataObject().setString("foo").setNumber(1), onSuccess(second -> {
+        assertEquals("foo:1", second);
+        cached.cachedDataObjectArgument(new TestDataObject().setString("foo").setNumber(2), onSuccess(third -> {
+          assertEquals("foo:2", third);
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testInvalidateArguments() {
+    TestService cached = TestService.createProxy(vertx, SERVICE_ADDRESS);
+    cached.cachedDataObjectArgument(new TestDataObject().setString("foo").setNumber(1), onSuccess(first -> {
+      cached.cachedDataObjectArgument(new TestDataObject().setString("foo").setNumber(1), onSuccess(second -> {
+        assertEquals("foo:1", second);
+        // The fields can be in any order and the numbers of any type
+        ResultCache.invalidate(vertx, "testservice.invalidate", "cachedDataObjectArgument", new JsonObject()
+          .put("dataObject", new JsonObject().put("bool", false).put("string", "foo").put("number", 1L)));
+        vertx.setTimer(100, id -> {
+          cached.cachedDataObjectArgument(new TestDataObject().setString("foo").setNumber(1), onSuccess(third -> {
+            assertEquals("foo:2", third);
+            testComplete();
+          }));
+        });
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testSharedInvalidationConsumer() {
+    // The proxies dropped without being closed do not leave their own consumer behind
+    for (int i = 0; i < 100; i++) {
+      TestService.createProxy(vertx, SERVICE_ADDRESS);
+    }
+    countHandlers("testservice.invalidate", count -> {
+      // The shared consumer and the probe
+      assertEquals(2, count.intValue());
+      testComplete();
+    });
+    await();
+  }
+
+  /**
+   * Count the handlers registered on {@code address}: the event bus delivers the sent messages to each of them in
+   * turn, and only the probe registered here replies.
+   */
+  private void countHandlers(String address, Handler<Integer> handler) {
+    int sent = 12;
+    AtomicInteger replied = new AtomicInteger();
+    AtomicInteger done = new AtomicInteger();
+    MessageConsumer<JsonObject> probe = vertx.eventBus().consumer(address, msg -> msg.reply(null));
+    DeliveryOptions options = new DeliveryOptions().setSendTimeout(200);
+    for (int i = 0; i < sent; i++) {
+      vertx.eventBus().send(address, new JsonObject().put("action", "probe"), options, ar -> {
+        if (ar.succeeded()) {
+          replied.incrementAndGet();
+        }
+        if (done.incrementAndGet() == sent) {
+          probe.unregister();
+          handler.handle(replied.get() == 0 ? Integer.MAX_VALUE : sent / replied.get());
+        }
+      });
+    }
+  }
+
+  @Test
+  public void testSingleFlightHandler() {
+    testSingleFlight(new ProxyOptions(), 5);
+  }
+
+  @Test
+  public void testSingleFlightProxy() {
+    testSingleFlight(new ProxyOptions().setSingleFlight(true), 1);
+  }
+
+  private void testSingleFlight(ProxyOptions options, int expectedMessages) {
+    AtomicInteger calls = new AtomicInteger();
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public void singleFlightJsonArrayHandler(Handler<AsyncResult<JsonArray>> resultHandler) {
+        calls.incrementAndGet();
+        // Keep the call in flight long enough for the identical calls to join it
+        vertx.setTimer(100, id -> super.singleFlightJsonArrayHandler(resultHandler));
+      }
+    };
+    AtomicInteger messages = new AtomicInteger();
+    Handler<SendContext> interceptor = ctx -> {
+      if ("singleflightaddress".equals(ctx.message().address())) {
+        messages.incrementAndGet();
+      }
+      ctx.next();
+    };
+    vertx.eventBus().addInterceptor(interceptor);
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl, "singleflightaddress");
+    TestService shared = ProxyHelper.createProxy(TestService.class, vertx, "singleflightaddress", options);
+    int count = 5;
+    AtomicInteger results = new AtomicInteger();
+    for (int i = 0; i < count; i++) {
+      shared.singleFlightJsonArrayHandler(onSuccess(array -> {
+        assertEquals(new JsonArray().add("blurrg"), array);
+        // Every caller gets its own copy of the result
+        array.add("mutated");
+        if (results.incrementAndGet() == count) {
+          assertEquals(1, calls.get());
+          assertEquals(expectedMessages, messages.get());
+          consumer.unregister();
+          testComplete();
+        }
+      }));
+    }
+    try {
+      await();
+    } finally {
+      vertx.eventBus().removeInterceptor(interceptor);
+    }
+  }
+
+  @Test
+  public void testConditionalVersion() {
+    AtomicInteger version = new AtomicInteger();
+    AtomicInteger calls = new AtomicInteger();
+    class VersionedService extends TestServiceImpl implements ResultVersions {
+      VersionedService() {
+        super(vertx);
+      }
+
+      @Override
+      public String resultVersion(String action, JsonObject args) {
+        assertEquals("conditionalDataObjectHandler", action);
+        return String.valueOf(version.get());
+      }
+
+      @Override
+      public void conditionalDataObjectHandler(Handler<AsyncResult<TestDataObject>> resultHandler) {
+        calls.incrementAndGet();
+        super.conditionalDataObjectHandler(resultHandler);
+      }
+    }
+    MessageConsumer<JsonObject> versionedConsumer = ProxyHelper.registerService(TestService.class, vertx,
+      new VersionedService(), "versionedaddress");
+    TestService polling = TestService.createProxy(vertx, "versionedaddress");
+    polling.conditionalDataObjectHandler(onSuccess(res1 -> {
+      polling.conditionalDataObjectHandler(onSuccess(res2 -> {
+        // The version did not change, the method is not invoked again
+        assertEquals(1, calls.get());
+        assertEquals("foo", res2.getString());
+        version.incrementAndGet();
+        polling.conditionalDataObjectHandler(onSuccess(res3 -> {
+          assertEquals(2, calls.get());
+          assertEquals(123, res3.getNumber());
+          versionedConsumer.unregister();
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testConditionalCall() {
+    AtomicInteger conditionalCalls = new AtomicInteger();
+    Handler<SendContext> interceptor = ctx -> {
+      if (SERVICE_ADDRESS.equals(ctx.message().address())
+        && ctx.message().headers().contains(ProxyHandler.IF_NONE_MATCH_HEADER)) {
+        conditionalCalls.incrementAndGet();
+      }
+      ctx.next();
+    };
+    vertx.eventBus().<JsonObject>send(SERVICE_ADDRESS, new JsonObject(), new DeliveryOptions()
+      .addHeader("action", "conditionalDataObjectHandler"), onSuccess(first -> {
+      String tag = first.headers().get(ProxyHandler.VERSION_TAG_HEADER);
+      assertNotNull(tag);
+      assertEquals("foo", first.body().getString("string"));
+      vertx.eventBus().<JsonObject>send(SERVICE_ADDRESS, new JsonObject(), new DeliveryOptions()
+        .addHeader("action", "conditionalDataObjectHandler").addHeader(ProxyHandler.IF_NONE_MATCH_HEADER, tag), onSuccess(second -> {
+        // The result did not change, it is not sent again
+        assertNull(second.body());
+        assertEquals(tag, second.headers().get(ProxyHandler.NOT_MODIFIED_HEADER));
+        vertx.eventBus().addInterceptor(interceptor);
+        TestService polling = TestService.createProxy(vertx, SERVICE_ADDRESS);
+        polling.conditionalDataObjectHandler(onSuccess(res1 -> {
+          assertEquals(0, conditionalCalls.get());
+          polling.conditionalDataObjectHandler(onSuccess(res2 -> {
+            // Served from the result kept by the proxy
+            assertEquals(1, conditionalCalls.get());
+            assertEquals("foo", res2.getString());
+            assertEquals(123, res2.getNumber());
+            assertTrue(res2.isBool());
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    try {
+      await();
+    } finally {
+      vertx.eventBus().removeInterceptor(interceptor);
+    }
+  }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.test;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.SendContext;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.BufferArgumentsMessageCodec;
+import io.vertx.serviceproxy.BufferResultMessageCodec;
+import io.vertx.serviceproxy.CallProtocol;
+import io.vertx.serviceproxy.DataObjectCodec;
+import io.vertx.serviceproxy.PackedCollections;
+import io.vertx.serviceproxy.ProxyHandler;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceOptions;
+import io.vertx.serviceproxy.testmodel.TestDataObject;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.impl.TestServiceImpl;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.*;
+
+public class EncodingTest extends VertxTestBase {
+
+  private static final String SERVICE_ADDRESS = "someaddress";
+
+  private MessageConsumer<JsonObject> consumer;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    consumer = ProxyHelper.registerService(TestService.class, vertx, TestService.create(vertx), SERVICE_ADDRESS);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    consumer.unregister();
+    super.tearDown();
+  }
+
+  @Test
+  public void testPositionalAndKeyedEncodings() {
+    DeliveryOptions positional = new DeliveryOptions().addHeader("action", "failingCall")
+      .addHeader(ProxyHandler.PROTOCOL_HEADER, ProxyHandler.POSITIONAL_PROTOCOL);
+    vertx.eventBus().<JsonObject>send(SERVICE_ADDRESS, new JsonArray().add("Fail"), positional, onFailure(err -> {
+      assertEquals(25, ((ReplyException) err).failureCode());
+      // Calls without the protocol header, such as the ones of the JavaScript proxies, use the keyed encoding
+      DeliveryOptions keyed = new DeliveryOptions().addHeader("action", "failingCall");
+      vertx.eventBus().<JsonObject>send(SERVICE_ADDRESS, new JsonObject().put("value", "Fail"), keyed, onFailure(err2 -> {
+        assertEquals(25, ((ReplyException) err2).failureCode());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testProxyProtocols() {
+    List<String> protocols = Collections.synchronizedList(new ArrayList<>());
+    Handler<SendContext> interceptor = ctx -> {
+      if (SERVICE_ADDRESS.equals(ctx.message().address())) {
+        Object body = ctx.message().body();
+        protocols.add(ctx.message().headers().get(ProxyHandler.PROTOCOL_HEADER) + ":" + body.getClass().getSimpleName());
+      }
+      ctx.next();
+    };
+    vertx.eventBus().addInterceptor(interceptor);
+    // The proxies use the keyed encoding unless told otherwise, so that they can call services of older versions
+    TestService keyed = TestService.createProxy(vertx, SERVICE_ADDRESS);
+    TestService positional = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+      new ProxyOptions().setProtocol(CallProtocol.POSITIONAL));
+    TestService packed = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+      new ProxyOptions().setProtocol(CallProtocol.PACKED));
+    keyed.failingCall("Fail", onFailure(err -> {
+      assertEquals(25, ((ServiceException) err).failureCode());
+      positional.failingCall("Fail", onFailure(err2 -> {
+        assertEquals(25, ((ServiceException) err2).failureCode());
+        packed.failingCall("Fail", onFailure(err3 -> {
+          assertEquals(25, ((ServiceException) err3).failureCode());
+          assertEquals(Arrays.asList("null:JsonObject", "2:JsonArray", "3:JsonArray"), protocols);
+          testComplete();
+        }));
+      }));
+    }));
+    try {
+      await();
+    } finally {
+      vertx.eventBus().removeInterceptor(interceptor);
+    }
+  }
+
+  @Test
+  public void testPackedCollections() {
+    Object argument = PackedCollections.toArgument(PackedCollections.packLongs(
+      Arrays.asList(Long.MIN_VALUE, 0L, Long.MAX_VALUE)));
+    assertTrue(argument instanceof Buffer);
+    List<Long> longs = PackedCollections.readLongList(argument);
+    assertEquals(Arrays.asList(Long.MIN_VALUE, 0L, Long.MAX_VALUE), longs);
+    // The collections read are mutable
+    longs.add(null);
+    longs.remove(0);
+    assertEquals(Arrays.asList(0L, Long.MAX_VALUE, null), longs);
+    Set<Double> doubles = PackedCollections.readDoubleSet(
+      PackedCollections.packDoubles(Arrays.asList(1.5d, Double.NaN, -0.0d, 1.5d)));
+    assertEquals(new HashSet<>(Arrays.asList(-0.0d, 1.5d, Double.NaN)), doubles);
+    doubles.removeIf(d -> d.isNaN());
+    assertTrue(doubles.add(2.5d));
+    assertEquals(new HashSet<>(Arrays.asList(-0.0d, 1.5d, 2.5d)), doubles);
+    // Collections having null elements keep the json encoding
+    Object withNull = PackedCollections.packInts(Arrays.asList(1, null));
+    assertTrue(withNull instanceof JsonArray);
+    assertEquals(Arrays.asList(1, null), PackedCollections.readIntList(withNull));
+    DeliveryOptions packed = new DeliveryOptions().addHeader("action", "listCharHandler")
+      .addHeader(ProxyHandler.PROTOCOL_HEADER, ProxyHandler.PACKED_PROTOCOL);
+    vertx.eventBus().<Object>send(SERVICE_ADDRESS, new JsonArray(), packed, onSuccess(reply -> {
+      assertTrue(reply.body() instanceof byte[]);
+      assertEquals(Arrays.asList('X', 'Y', 'Z'), PackedCollections.readCharList(reply.body()));
+      // The callers of the other protocols are replied the json encoding
+      DeliveryOptions keyed = new DeliveryOptions().addHeader("action", "listCharHandler");
+      vertx.eventBus().<JsonArray>send(SERVICE_ADDRESS, new JsonObject(), keyed, onSuccess(reply2 -> {
+        assertEquals(new JsonArray().add((int) 'X').add((int) 'Y').add((int) 'Z'), reply2.body());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testBufferCodecs() {
+    Buffer image = Buffer.buffer(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+    JsonArray args = new JsonArray(new ArrayList<>(Arrays.asList("image.png", image, 3)));
+    // Buffers are written as length-prefixed bytes on the wire
+    Buffer frame = Buffer.buffer().appendByte((byte) 7);
+    new BufferArgumentsMessageCodec().encodeToWire(frame, args);
+    JsonArray decoded = new BufferArgumentsMessageCodec().decodeFromWire(1, frame);
+    assertEquals("image.png", decoded.getString(0));
+    assertEquals(image, decoded.getValue(1));
+    assertEquals(3, (int) decoded.getInteger(2));
+    Buffer result = Buffer.buffer().appendInt(42);
+    new BufferResultMessageCodec().encodeToWire(result, image);
+    assertEquals(image, new BufferResultMessageCodec().decodeFromWire(4, result));
+    // And passed as is locally
+    MessageConsumer<JsonArray> consumer = vertx.eventBus().<JsonArray>consumer("bufferaddress", msg -> {
+      assertSame(image, msg.body().getValue(1));
+      msg.reply(msg.body().getValue(1), new DeliveryOptions().setCodecName(BufferResultMessageCodec.NAME));
+    });
+    DeliveryOptions options = new DeliveryOptions().setCodecName(BufferArgumentsMessageCodec.NAME);
+    vertx.eventBus().<Buffer>send("bufferaddress", args, options, onSuccess(reply -> {
+      assertSame(image, reply.body());
+      consumer.unregister();
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testBinaryDataObjects() {
+    DataObjectCodec<TestDataObject> codec = DataObjectCodec.lookup(TestDataObject.class);
+    assertNotNull(codec);
+    TestDataObject obj = new TestDataObject().setNumber(7).setString("seven").setBool(true);
+    Object encoded = DataObjectCodec.encode(TestDataObject.class, obj, TestDataObject::toJson);
+    assertTrue(encoded instanceof Buffer);
+    assertEquals(obj, DataObjectCodec.decode(TestDataObject.class, encoded, TestDataObject::new));
+    // The data objects written by another version of the class are rejected
+    Buffer stale = ((Buffer) encoded).copy().setInt(1, 0);
+    try {
+      DataObjectCodec.decode(TestDataObject.class, stale, TestDataObject::new);
+      fail();
+    } catch (IllegalStateException ignore) {
+    }
+    // The json form is still read, for the callers of the other protocols
+    assertEquals(obj, DataObjectCodec.decode(TestDataObject.class, obj.toJson(), TestDataObject::new));
+    DeliveryOptions binary = new DeliveryOptions().addHeader("action", "dataObjectHandler")
+      .addHeader(ProxyHandler.PROTOCOL_HEADER, ProxyHandler.BINARY_PROTOCOL);
+    vertx.eventBus().<Object>send(SERVICE_ADDRESS, new JsonArray(), binary, onSuccess(reply -> {
+      assertTrue(reply.body() instanceof Buffer);
+      TestDataObject data = DataObjectCodec.decode(TestDataObject.class, reply.body(), TestDataObject::new);
+      assertEquals("foo", data.getString());
+      assertEquals(123, data.getNumber());
+      assertTrue(data.isBool());
+      DeliveryOptions keyed = new DeliveryOptions().addHeader("action", "dataObjectHandler");
+      vertx.eventBus().<JsonObject>send(SERVICE_ADDRESS, new JsonObject(), keyed, onSuccess(reply2 -> {
+        assertEquals(data.toJson(), reply2.body());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPackedProxy() {
+    List<Object> arguments = Collections.synchronizedList(new ArrayList<>());
+    Handler<SendContext> interceptor = ctx -> {
+      Object body = ctx.message().body();
+      if (SERVICE_ADDRESS.equals(ctx.message().address()) && body instanceof JsonArray) {
+        arguments.add(((JsonArray) body).getValue(3));
+        arguments.add(((JsonArray) body).getValue(4));
+      }
+      ctx.next();
+    };
+    vertx.eventBus().addInterceptor(interceptor);
+    vertx.eventBus().<String>consumer(ServiceProxyTest.TEST_ADDRESS, msg -> {
+      // The integers and the longs were sent as buffers of packed values
+      assertEquals(2, arguments.size());
+      assertTrue(arguments.get(0) instanceof Buffer);
+      assertEquals(2 * Integer.BYTES, ((Buffer) arguments.get(0)).length());
+      assertTrue(arguments.get(1) instanceof Buffer);
+      assertEquals(2 * Long.BYTES, ((Buffer) arguments.get(1)).length());
+      testComplete();
+    });
+    TestService packed = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+      new ProxyOptions().setProtocol(CallProtocol.PACKED));
+    packed.listParams(Arrays.asList("foo", "bar"), Arrays.asList((byte) 12, (byte) 13), Arrays.asList((short) 123, (short) 134),
+      Arrays.asList(1234, 1235), Arrays.asList(12345L, 12346L),
+      Arrays.asList(new JsonObject().put("foo", "bar"), new JsonObject().put("blah", "eek")),
+      Arrays.asList(new JsonArray().add("foo"), new JsonArray().add("blah")),
+      Arrays.asList(new TestDataObject().setNumber(1).setString("String 1").setBool(false),
+        new TestDataObject().setNumber(2).setString("String 2").setBool(true)));
+    try {
+      await();
+    } finally {
+      vertx.eventBus().removeInterceptor(interceptor);
+    }
+  }
+
+  @Test
+  public void testBinaryProxy() {
+    TestDataObject obj = new TestDataObject().setString("foo").setNumber(123).setBool(true);
+    List<Object> arguments = Collections.synchronizedList(new ArrayList<>());
+    Handler<SendContext> interceptor = ctx -> {
+      Object body = ctx.message().body();
+      if (SERVICE_ADDRESS.equals(ctx.message().address()) && body instanceof JsonArray && ((JsonArray) body).size() > 0) {
+        arguments.add(((JsonArray) body).getValue(0));
+      }
+      ctx.next();
+    };
+    vertx.eventBus().addInterceptor(interceptor);
+    vertx.eventBus().<String>consumer(ServiceProxyTest.TEST_ADDRESS, msg -> {
+      // The data object argument was sent in binary
+      assertEquals(1, arguments.size());
+      assertTrue(arguments.get(0) instanceof Buffer);
+      testComplete();
+    });
+    TestService binary = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+      new ProxyOptions().setProtocol(CallProtocol.BINARY));
+    binary.dataObjectHandler(onSuccess(res -> {
+      assertEquals(obj, res);
+      binary.dataObjectType(obj);
+    }));
+    try {
+      await();
+    } finally {
+      vertx.eventBus().removeInterceptor(interceptor);
+    }
+  }
+
+  @Test
+  public void testLazyArguments() {
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public void listParams(List<String> listString, List<Byte> listByte, List<Short> listShort, List<Integer> listInt,
+                             List<Long> listLong, List<JsonObject> listJsonObject, List<JsonArray> listJsonArray,
+                             List<TestDataObject> listDataObject) {
+        assertEquals(Arrays.asList("foo", "bar"), listString);
+        // The malformed argument is only decoded when accessed
+        try {
+          listDataObject.size();
+          fail();
+        } catch (ClassCastException ignore) {
+        }
+        testComplete();
+      }
+    };
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl,
+      "lazyaddress", new ServiceOptions().setLazyArguments(true));
+    JsonObject args = new JsonObject()
+      .put("listString", new JsonArray().add("foo").add("bar"))
+      .put("listByte", new JsonArray())
+      .put("listShort", new JsonArray())
+      .put("listInt", new JsonArray())
+      .put("listLong", new JsonArray())
+      .put("listJsonObject", new JsonArray())
+      .put("listJsonArray", new JsonArray())
+      .put("listDataObject", new JsonArray().add("not a data object"));
+    vertx.eventBus().send("lazyaddress", args, new DeliveryOptions().addHeader("action", "listParams"));
+    await();
+    consumer.unregister();
+  }
+
+  @Test
+  public void testResultFields() {
+    vertx.eventBus().<JsonObject>send(SERVICE_ADDRESS, new JsonObject(), new DeliveryOptions()
+      .addHeader("action", "dataObjectHandler").addHeader(ProxyHandler.FIELDS_HEADER, "string,missing"), onSuccess(reply -> {
+      assertEquals(new JsonObject().put("string", "foo"), reply.body());
+      // The json constructor of the test data object tolerates a missing string only
+      TestService projected = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+        new ProxyOptions().setResultFields(new HashSet<>(Arrays.asList("number", "bool"))));
+      projected.dataObjectHandler(onSuccess(res -> {
+        assertNull(res.getString());
+        assertEquals(123, res.getNumber());
+        assertTrue(res.isBool());
+        projected.listDataObjectHandler(onSuccess(list -> {
+          assertEquals(2, list.size());
+          assertNull(list.get(1).getString());
+          assertEquals(2, list.get(1).getNumber());
+          assertTrue(list.get(1).isBool());
+          // The results which cannot be created from their partial json fail the calls
+          TestService invalid = ProxyHelper.createProxy(TestService.class, vertx, SERVICE_ADDRESS,
+            new ProxyOptions().setResultFields(Collections.singleton("string")));
+          invalid.dataObjectHandler(onFailure(err -> {
+            assertTrue(err instanceof NullPointerException);
+            invalid.listDataObjectHandler(onFailure(listErr -> {
+              assertTrue(listErr instanceof NullPointerException);
+              testComplete();
+            }));
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+}
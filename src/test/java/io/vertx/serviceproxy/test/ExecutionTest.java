@@ -0,0 +1,363 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.CallProtocol;
+import io.vertx.serviceproxy.ExecutionMode;
+import io.vertx.serviceproxy.OffloadedConversion;
+import io.vertx.serviceproxy.ProxyHandler;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceOptions;
+import io.vertx.serviceproxy.SyncServiceAdapter;
+import io.vertx.serviceproxy.testmodel.TestDataObject;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.impl.TestServiceImpl;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutionTest extends VertxTestBase {
+
+  @Test
+  public void testBatchedCalls() {
+    List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public void lookup(String key, Handler<AsyncResult<String>> resultHandler) {
+        fail("The calls should be performed by the bulk method");
+      }
+
+      @Override
+      public void lookupAll(List<String> keys, Handler<AsyncResult<List<String>>> resultHandler) {
+        batches.add(keys.size());
+        super.lookupAll(keys, resultHandler);
+      }
+    };
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl, "batchedaddress");
+    TestService batched = TestService.createProxy(vertx, "batchedaddress");
+    int count = 7;
+    AtomicInteger results = new AtomicInteger();
+    for (int i = 0; i < count; i++) {
+      String key = "key" + i;
+      batched.lookup(key, onSuccess(value -> {
+        assertEquals(key.toUpperCase(), value);
+        if (results.incrementAndGet() == count) {
+          // At most 3 calls per batch, the last one being flushed after the delay
+          assertTrue(batches.size() >= 3);
+          assertTrue(batches.stream().allMatch(size -> size <= 3));
+          assertEquals(count, batches.stream().mapToInt(Integer::intValue).sum());
+          consumer.unregister();
+          testComplete();
+        }
+      }));
+    }
+    await();
+  }
+
+  @Test
+  public void testBatchedBinaryCalls() {
+    // The data objects are sent as buffers, the bulk method gets them decoded
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx,
+      new TestServiceImpl(vertx), "batchedaddress");
+    TestService batched = ProxyHelper.createProxy(TestService.class, vertx, "batchedaddress",
+      new ProxyOptions().setProtocol(CallProtocol.BINARY));
+    int count = 5;
+    AtomicInteger results = new AtomicInteger();
+    for (int i = 0; i < count; i++) {
+      String key = "key" + i;
+      batched.lookupDataObject(new TestDataObject().setString(key), onSuccess(value -> {
+        assertEquals(key.toUpperCase(), value);
+        if (results.incrementAndGet() == count) {
+          consumer.unregister();
+          testComplete();
+        }
+      }));
+    }
+    await();
+  }
+
+  @Test
+  public void testWorkerExecution() {
+    CountDownLatch release = new CountDownLatch(1);
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public void stringHandler(Handler<AsyncResult<String>> resultHandler) {
+        assertTrue(Context.isOnWorkerThread());
+        assertTrue(Thread.currentThread().getName().startsWith("blocking-service-pool"));
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          fail(e.getMessage());
+        }
+        super.stringHandler(resultHandler);
+      }
+    };
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl, "workeraddress",
+      new ServiceOptions()
+        .setExecutionMode(ExecutionMode.WORKER)
+        .setWorkerPoolName("blocking-service-pool")
+        .setWorkerPoolSize(1)
+        .setMaxQueuedCalls(1));
+    TestService worker = TestService.createProxy(vertx, "workeraddress");
+    worker.stringHandler(onSuccess(res -> {
+      assertEquals("foobar", res);
+      consumer.unregister();
+      testComplete();
+    }));
+    // The first call keeps the only queue slot until it is released
+    worker.stringHandler(onFailure(err -> {
+      assertTrue(err instanceof ServiceException);
+      assertEquals(503, ((ServiceException) err).failureCode());
+      release.countDown();
+    }));
+    await();
+  }
+
+  public class SyncTestService {
+
+    public String stringHandler() {
+      // Virtual threads, or worker threads on runtimes without them
+      assertFalse(Context.isOnEventLoopThread());
+      return "sync";
+    }
+
+    public JsonObject failingCall(String value) {
+      throw new ServiceException(25, value);
+    }
+  }
+
+  @Test
+  public void testVirtualThreadExecution() {
+    TestService impl = SyncServiceAdapter.create(TestService.class, new SyncTestService());
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl, "virtualaddress",
+      new ServiceOptions().setExecutionMode(ExecutionMode.VIRTUAL_THREAD));
+    TestService virtual = TestService.createProxy(vertx, "virtualaddress");
+    virtual.stringHandler(onSuccess(res -> {
+      assertEquals("sync", res);
+      virtual.failingCall("sync failure", onFailure(err -> {
+        assertTrue(err instanceof ServiceException);
+        assertEquals(25, ((ServiceException) err).failureCode());
+        assertEquals("sync failure", err.getMessage());
+        consumer.unregister();
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testMultiInstanceRegistration() {
+    Set<TestService> created = ConcurrentHashMap.newKeySet();
+    Set<TestService> called = ConcurrentHashMap.newKeySet();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    ProxyHelper.registerService(TestService.class, vertx, () -> {
+      TestService instance = new TestServiceImpl(vertx) {
+        @Override
+        public void stringHandler(Handler<AsyncResult<String>> resultHandler) {
+          called.add(this);
+          threads.add(Thread.currentThread());
+          super.stringHandler(resultHandler);
+        }
+      };
+      created.add(instance);
+      return instance;
+    }, "multiaddress", new ServiceOptions().setInstances(4), onSuccess(deploymentID -> {
+      assertEquals(4, created.size());
+      TestService multi = TestService.createProxy(vertx, "multiaddress");
+      AtomicInteger replies = new AtomicInteger();
+      for (int i = 0; i < 40; i++) {
+        multi.stringHandler(onSuccess(res -> {
+          if (replies.incrementAndGet() == 40) {
+            // The event bus round-robins the calls between the instances
+            assertEquals(4, called.size());
+            assertTrue(threads.size() > 1);
+            vertx.undeploy(deploymentID, onSuccess(v -> multi.stringHandler(onFailure(err -> {
+              assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) err).failureType());
+              testComplete();
+            }))));
+          }
+        }));
+      }
+    }));
+    await();
+  }
+
+  @Test
+  public void testMultiInstanceRegistrationOnContexts() {
+    TestService shared = new TestServiceImpl(vertx);
+    List<Context> contexts = Arrays.asList(vertx.getOrCreateContext(), vertx.getOrCreateContext());
+    ProxyHelper.registerService(TestService.class, vertx, () -> shared, "contextsaddress", new ServiceOptions(),
+      contexts, onSuccess(consumers -> {
+        assertEquals(2, consumers.size());
+        TestService proxy = TestService.createProxy(vertx, "contextsaddress");
+        proxy.stringHandler(onSuccess(res -> {
+          assertEquals("foobar", res);
+          consumers.forEach(ProxyHelper::unregisterService);
+          testComplete();
+        }));
+      }));
+    await();
+  }
+
+  @Test
+  public void testKeyOrderedRegistration() {
+    Map<String, Set<TestService>> owners = new ConcurrentHashMap<>();
+    ProxyHelper.registerService(TestService.class, vertx, () -> new TestServiceImpl(vertx) {
+      @Override
+      public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+        owners.computeIfAbsent(str, k -> ConcurrentHashMap.newKeySet()).add(this);
+        resultHandler.handle(Future.succeededFuture(str));
+        return this;
+      }
+    }, "keyorderedaddress", new ServiceOptions().setInstances(4).setKeyOrdered(true), onSuccess(deploymentID -> {
+      TestService proxy = TestService.createProxy(vertx, "keyorderedaddress");
+      AtomicInteger replies = new AtomicInteger();
+      for (int i = 0; i < 80; i++) {
+        String key = "key" + (i % 8);
+        proxy.routedFluentMethod(key, onSuccess(res -> {
+          assertEquals(key, res);
+          if (replies.incrementAndGet() == 80) {
+            // Each key is owned by a single instance, and the keys are spread between the instances
+            owners.values().forEach(instances -> assertEquals(1, instances.size()));
+            assertTrue(owners.values().stream().flatMap(Set::stream).distinct().count() > 1);
+            vertx.undeploy(deploymentID, onSuccess(v -> testComplete()));
+          }
+        }));
+      }
+    }));
+    await();
+  }
+
+  @Test
+  public void testKeyOrderedWorkers() {
+    Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+    ProxyHelper.registerService(TestService.class, vertx, () -> new TestServiceImpl(vertx) {
+      @Override
+      public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+        // The calls of a key never overlap, even on workers
+        assertEquals(1, running.computeIfAbsent(str, k -> new AtomicInteger()).incrementAndGet());
+        try {
+          Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.get(str).decrementAndGet();
+        resultHandler.handle(Future.succeededFuture(str));
+        return this;
+      }
+    }, "keyorderedaddress", new ServiceOptions().setInstances(2).setKeyOrdered(true)
+      .setExecutionMode(ExecutionMode.WORKER), onSuccess(deploymentID -> {
+      TestService proxy = TestService.createProxy(vertx, "keyorderedaddress");
+      Map<String, List<Integer>> replies = new HashMap<>();
+      int count = 40;
+      AtomicInteger received = new AtomicInteger();
+      for (int i = 0; i < count; i++) {
+        int index = i;
+        String key = "key" + (i % 4);
+        proxy.routedFluentMethod(key, onSuccess(res -> {
+          replies.computeIfAbsent(key, k -> new ArrayList<>()).add(index);
+          if (received.incrementAndGet() == count) {
+            // The calls of each key were executed and replied in the order they were sent
+            replies.values().forEach(indexes -> {
+              List<Integer> sorted = new ArrayList<>(indexes);
+              Collections.sort(sorted);
+              assertEquals(sorted, indexes);
+            });
+            vertx.undeploy(deploymentID, onSuccess(v -> testComplete()));
+          }
+        }));
+      }
+    }));
+    await();
+  }
+
+  @Test
+  public void testOffloadedConversion() {
+    int size = OffloadedConversion.PARALLEL_THRESHOLD * 2;
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public void listDataObjectHandler(Handler<AsyncResult<List<TestDataObject>>> resultHandler) {
+        List<TestDataObject> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(new TestDataObject().setNumber(i).setString("String " + i));
+        }
+        resultHandler.handle(Future.succeededFuture(list));
+      }
+    };
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl,
+      "offloadaddress", new ServiceOptions().setOffloadThreshold(1000));
+    TestService offloading = ProxyHelper.createProxy(TestService.class, vertx, "offloadaddress",
+      new ProxyOptions().setOffloadThreshold(1000));
+    vertx.runOnContext(v -> {
+      Context context = vertx.getOrCreateContext();
+      offloading.listDataObjectHandler(onSuccess(list -> {
+        // Converted on a worker, in parallel, and handled back on the context of the call in the original order
+        assertSame(context, vertx.getOrCreateContext());
+        assertEquals(size, list.size());
+        for (int i = 0; i < size; i++) {
+          assertEquals(i, list.get(i).getNumber());
+        }
+        consumer.unregister();
+        testComplete();
+      }));
+    });
+    await();
+  }
+
+  @Test
+  public void testHandWrittenProxyHandler() {
+    // A handler written before the execution options overrides the message handling only
+    ProxyHandler handler = new ProxyHandler() {
+      @Override
+      public void handle(Message<JsonObject> msg) {
+        msg.reply(new JsonObject().put("action", msg.headers().get("action")));
+      }
+
+      @Override
+      public MessageConsumer<JsonObject> registerHandler(String address) {
+        MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer(address, this);
+        setConsumer(consumer);
+        return consumer;
+      }
+    };
+    handler.registerHandler("handwrittenaddress");
+    vertx.eventBus().<JsonObject>send("handwrittenaddress", new JsonObject(),
+      new DeliveryOptions().addHeader("action", "lookup"), onSuccess(reply -> {
+        assertEquals("lookup", reply.body().getString("action"));
+        handler.close();
+        testComplete();
+      }));
+    await();
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ForwardedCall;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ProxyOptions;
+import io.vertx.serviceproxy.RoutingStrategy;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceInstances;
+import io.vertx.serviceproxy.ServiceOptions;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.impl.TestServiceImpl;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RoutingTest extends VertxTestBase {
+
+  private static final String SERVICE_ADDRESS = "someaddress";
+
+  private MessageConsumer<JsonObject> consumer;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    consumer = ProxyHelper.registerService(TestService.class, vertx, TestService.create(vertx), SERVICE_ADDRESS);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    consumer.unregister();
+    super.tearDown();
+  }
+
+  @Test
+  public void testLeastOutstandingRouting() {
+    testRouting(RoutingStrategy.LEAST_OUTSTANDING);
+  }
+
+  @Test
+  public void testPowerOfTwoChoicesRouting() {
+    testRouting(RoutingStrategy.POWER_OF_TWO_CHOICES);
+  }
+
+  private void testRouting(RoutingStrategy strategy) {
+    String address = "routedaddress";
+    ServiceOptions serviceOptions = new ServiceOptions().setInstanceRouting(true);
+    MessageConsumer<JsonObject> consumer1 = ProxyHelper.registerService(TestService.class, vertx, TestService.create(vertx), address, serviceOptions);
+    MessageConsumer<JsonObject> consumer2 = ProxyHelper.registerService(TestService.class, vertx, TestService.create(vertx), address, serviceOptions);
+    ServiceInstances instances = new ServiceInstances(vertx, address);
+    assertWaitUntil(() -> instances.addresses().length == 2);
+
+    TestService routed = ProxyHelper.createProxy(TestService.class, vertx, address,
+      new ProxyOptions().setRoutingStrategy(strategy));
+    AtomicInteger count = new AtomicInteger();
+    for (int i = 0; i < 10; i++) {
+      routed.stringHandler(onSuccess(res -> {
+        assertEquals("foobar", res);
+        count.incrementAndGet();
+      }));
+    }
+    assertWaitUntil(() -> count.get() == 10);
+
+    // The remaining instance keeps serving the calls once the other one left
+    consumer1.unregister();
+    assertWaitUntil(() -> instances.addresses().length == 1);
+    routed.stringHandler(onSuccess(res -> {
+      assertEquals("foobar", res);
+      consumer2.unregister();
+      instances.close();
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testLeastOutstandingAvoidsSlowInstance() {
+    testSlowInstance(RoutingStrategy.LEAST_OUTSTANDING);
+  }
+
+  @Test
+  public void testPowerOfTwoChoicesAvoidsSlowInstance() {
+    testSlowInstance(RoutingStrategy.POWER_OF_TWO_CHOICES);
+  }
+
+  private void testSlowInstance(RoutingStrategy strategy) {
+    String address = "slowaddress";
+    ServiceOptions serviceOptions = new ServiceOptions().setInstanceRouting(true);
+    AtomicInteger slowCalls = new AtomicInteger();
+    AtomicInteger fastCalls = new AtomicInteger();
+    TestService slow = new TestServiceImpl(vertx) {
+      @Override
+      public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+        slowCalls.incrementAndGet();
+        vertx.setTimer(200, id -> resultHandler.handle(Future.succeededFuture(str)));
+        return this;
+      }
+    };
+    TestService fast = new TestServiceImpl(vertx) {
+      @Override
+      public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+        fastCalls.incrementAndGet();
+        resultHandler.handle(Future.succeededFuture(str));
+        return this;
+      }
+    };
+    MessageConsumer<JsonObject> slowConsumer = ProxyHelper.registerService(TestService.class, vertx, slow, address, serviceOptions);
+    MessageConsumer<JsonObject> fastConsumer = ProxyHelper.registerService(TestService.class, vertx, fast, address, serviceOptions);
+    TestService routed = ProxyHelper.createProxy(TestService.class, vertx, address,
+      new ProxyOptions().setRoutingStrategy(strategy));
+    ServiceInstances instances = new ServiceInstances(vertx, address);
+    assertWaitUntil(() -> instances.addresses().length == 2);
+
+    // One call every 10 ms: the slow instance is busy with its call for 200 ms, while the fast one is free again
+    int total = 50;
+    AtomicInteger sent = new AtomicInteger();
+    AtomicInteger replies = new AtomicInteger();
+    vertx.setPeriodic(10, timer -> {
+      if (sent.incrementAndGet() == total) {
+        vertx.cancelTimer(timer);
+      }
+      routed.routedFluentMethod("call", onSuccess(res -> {
+        if (replies.incrementAndGet() == total) {
+          // Round-robin would have sent half of the calls to the slow instance
+          assertTrue("Slow instance got " + slowCalls.get() + " calls", slowCalls.get() <= total / 5);
+          assertEquals(total, slowCalls.get() + fastCalls.get());
+          slowConsumer.unregister();
+          fastConsumer.unregister();
+          instances.close();
+          testComplete();
+        }
+      }));
+    });
+    await();
+  }
+
+  @Test
+  public void testConsistentHashRouting() {
+    String address = "hashedaddress";
+    ServiceOptions serviceOptions = new ServiceOptions().setInstanceRouting(true);
+    Map<String, Set<Integer>> routes = new ConcurrentHashMap<>();
+    List<MessageConsumer<JsonObject>> consumers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      int instance = i;
+      TestService impl = new TestServiceImpl(vertx) {
+        @Override
+        public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+          routes.computeIfAbsent(str, k -> ConcurrentHashMap.newKeySet()).add(instance);
+          resultHandler.handle(Future.succeededFuture(str));
+          return this;
+        }
+      };
+      consumers.add(ProxyHelper.registerService(TestService.class, vertx, impl, address, serviceOptions));
+    }
+    ServiceInstances instances = new ServiceInstances(vertx, address);
+    assertWaitUntil(() -> instances.addresses().length == 3);
+
+    TestService hashed = ProxyHelper.createProxy(TestService.class, vertx, address,
+      new ProxyOptions().setRoutingStrategy(RoutingStrategy.CONSISTENT_HASH));
+    AtomicInteger count = new AtomicInteger();
+    for (int i = 0; i < 100; i++) {
+      hashed.routedFluentMethod("key-" + (i % 10), onSuccess(res -> {
+        if (count.incrementAndGet() == 100) {
+          assertEquals(10, routes.size());
+          // Every key always landed on the same instance
+          routes.values().forEach(set -> assertEquals(1, set.size()));
+          consumers.forEach(MessageConsumer::unregister);
+          instances.close();
+          testComplete();
+        }
+      }));
+    }
+    await();
+  }
+
+  @Test
+  public void testConsistentHashRingRebuild() {
+    String address = "rebuiltaddress";
+    AtomicReference<Map<String, Set<Integer>>> routes = new AtomicReference<>();
+    MessageConsumer<JsonObject> consumer0 = registerHashed(address, 0, routes);
+    MessageConsumer<JsonObject> consumer1 = registerHashed(address, 1, routes);
+    ServiceInstances instances = new ServiceInstances(vertx, address);
+    assertWaitUntil(() -> instances.addresses().length == 2);
+
+    // All the instances are local, the keys are still spread by the ring
+    TestService hashed = ProxyHelper.createProxy(TestService.class, vertx, address,
+      new ProxyOptions().setRoutingStrategy(RoutingStrategy.CONSISTENT_HASH).setPreferLocal(true));
+    Map<String, Integer> before = routeKeys(hashed, routes);
+    assertEquals(2, new HashSet<>(before.values()).size());
+
+    MessageConsumer<JsonObject> consumer2 = registerHashed(address, 2, routes);
+    assertWaitUntil(() -> instances.addresses().length == 3);
+    Map<String, Integer> joined = routeKeys(hashed, routes);
+    // Only the keys taken over by the new instance moved
+    assertTrue(joined.containsValue(2));
+    before.forEach((key, instance) -> {
+      if (joined.get(key) != 2) {
+        assertEquals(instance, joined.get(key));
+      }
+    });
+
+    consumer2.unregister();
+    assertWaitUntil(() -> instances.addresses().length == 2);
+    // The keys of the instance that left went back to their previous owners
+    assertEquals(before, routeKeys(hashed, routes));
+    consumer0.unregister();
+    consumer1.unregister();
+    instances.close();
+  }
+
+  private MessageConsumer<JsonObject> registerHashed(String address, int instance,
+                                                     AtomicReference<Map<String, Set<Integer>>> routes) {
+    TestService impl = new TestServiceImpl(vertx) {
+      @Override
+      public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+        routes.get().computeIfAbsent(str, k -> ConcurrentHashMap.newKeySet()).add(instance);
+        resultHandler.handle(Future.succeededFuture(str));
+        return this;
+      }
+    };
+    return ProxyHelper.registerService(TestService.class, vertx, impl, address,
+      new ServiceOptions().setInstanceRouting(true));
+  }
+
+  /**
+   * @return the instance each of 30 keys landed on, each key being sent twice
+   */
+  private Map<String, Integer> routeKeys(TestService hashed, AtomicReference<Map<String, Set<Integer>>> routes) {
+    routes.set(new ConcurrentHashMap<>());
+    int keys = 30;
+    AtomicInteger count = new AtomicInteger();
+    for (int i = 0; i < keys * 2; i++) {
+      hashed.routedFluentMethod("key-" + (i % keys), onSuccess(res -> count.incrementAndGet()));
+    }
+    assertWaitUntil(() -> count.get() == keys * 2);
+    Map<String, Integer> owners = new HashMap<>();
+    routes.get().forEach((key, set) -> {
+      assertEquals(1, set.size());
+      owners.put(key, set.iterator().next());
+    });
+    assertEquals(keys, owners.size());
+    return owners;
+  }
+
+  @Test
+  public void testForwardedCall() {
+    List<Object> peeked = new ArrayList<>();
+    MessageConsumer<Object> relay = vertx.eventBus().consumer("relayaddress", msg -> {
+      ForwardedCall call = ForwardedCall.of(msg);
+      assertEquals("failingCall", call.action());
+      peeked.add(call.argument(0, "value"));
+      call.forward(vertx, SERVICE_ADDRESS);
+    });
+    TestService relayed = TestService.createProxy(vertx, "relayaddress");
+    relayed.failingCall("Fail", onFailure(t -> {
+      assertTrue(t instanceof ServiceException);
+      ServiceException se = (ServiceException) t;
+      assertEquals(25, se.failureCode());
+      assertEquals("Call has failed", se.getMessage());
+      assertEquals(new JsonObject().put("test", "val"), se.getDebugInfo());
+      relayed.failingCall("Succeed", onSuccess(res -> {
+        assertEquals(new JsonObject(), res);
+        assertEquals(Arrays.asList("Fail", "Succeed"), peeked);
+        relay.unregister();
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testForwardedCallFailureType() {
+    MessageConsumer<Object> relay = vertx.eventBus().consumer("relayaddress",
+      msg -> ForwardedCall.of(msg).forward(vertx, "nosuchaddress"));
+    TestService relayed = TestService.createProxy(vertx, "relayaddress");
+    relayed.failingCall("Fail", onFailure(t -> {
+      // The caller tells that the service is missing rather than failing
+      assertTrue(t instanceof ReplyException);
+      assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) t).failureType());
+      relay.unregister();
+      testComplete();
+    }));
+    await();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.FailureCodes;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+
+
+public class ServiceExceptionTest extends VertxTestBase {
+
+  @Test
+  public void testStacklessServiceException() {
+    assertTrue(new ServiceException(1, "invalid").getStackTrace().length > 0);
+    ServiceException expected = ServiceException.stackless(1, "invalid");
+    assertEquals(0, expected.getStackTrace().length);
+    assertEquals(1, expected.failureCode());
+    assertEquals("invalid", expected.getMessage());
+    // The empty debug info of the stackless exceptions is shared and cannot be modified
+    assertSame(expected.getDebugInfo(), ServiceException.stackless(2, "other").getDebugInfo());
+    try {
+      expected.getDebugInfo().put("key", "value");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+    }
+    // The exceptions created with a constructor keep their own debug info and fill in their stack trace
+    ServiceException created = new ServiceException(2, "other");
+    assertNotSame(expected.getDebugInfo(), created.getDebugInfo());
+    created.getDebugInfo().put("key", "value");
+    assertEquals("value", created.getDebugInfo().getString("key"));
+    created.setStackTrace(new StackTraceElement[0]);
+    assertTrue(created.fillInStackTrace().getStackTrace().length > 0);
+    assertEquals(0, expected.fillInStackTrace().getStackTrace().length);
+    ServiceExceptionMessageCodec codec = new ServiceExceptionMessageCodec();
+    Buffer buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, expected);
+    ServiceException decoded = codec.decodeFromWire(0, buffer);
+    assertEquals(1, decoded.failureCode());
+    assertEquals("invalid", decoded.getMessage());
+    // A received exception has its own debug info, which can be modified
+    assertNotSame(expected.getDebugInfo(), decoded.getDebugInfo());
+    assertTrue(decoded.getDebugInfo().isEmpty());
+    decoded.getDebugInfo().put("key", "value");
+    assertNotSame(decoded.getDebugInfo(), codec.decodeFromWire(0, buffer).getDebugInfo());
+    assertTrue(codec.decodeFromWire(0, buffer).getDebugInfo().isEmpty());
+    buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, ServiceException.stackless(3, null, new JsonObject().put("field", "name")));
+    decoded = codec.decodeFromWire(0, buffer);
+    assertNull(decoded.getMessage());
+    assertEquals(new JsonObject().put("field", "name"), decoded.getDebugInfo());
+    // The same instance can fail all the calls
+    MessageConsumer<JsonObject> consumer = vertx.eventBus().<JsonObject>consumer("invalidaddress",
+      msg -> msg.reply(expected));
+    vertx.eventBus().send("invalidaddress", new JsonObject(), onFailure(err -> {
+      assertSame(expected, err);
+      vertx.eventBus().send("invalidaddress", new JsonObject(), onFailure(err2 -> {
+        assertSame(expected, err2);
+        consumer.unregister();
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testCodedServiceException() {
+    FailureCodes.register(4401, "The shoe size must be {0}, not {1}");
+    // Declaring the same template again is harmless
+    FailureCodes.register(4401, "The shoe size must be {0}, not {1}");
+    try {
+      FailureCodes.register(4401, "Another template");
+      fail();
+    } catch (IllegalStateException ignore) {
+    }
+    ServiceException failure = ServiceException.coded(4401, "9", 8);
+    assertEquals(4401, failure.failureCode());
+    assertEquals("The shoe size must be 9, not 8", failure.getMessage());
+    assertEquals(0, failure.getStackTrace().length);
+    ServiceExceptionMessageCodec codec = new ServiceExceptionMessageCodec();
+    Buffer buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, failure);
+    // The code, the kind of failure, the parameter count and the typed parameters only
+    assertEquals(4 + 1 + 1 + (1 + 4 + 1) + (1 + 4), buffer.length());
+    ServiceException decoded = codec.decodeFromWire(0, buffer);
+    assertEquals(4401, decoded.failureCode());
+    assertEquals("The shoe size must be 9, not 8", decoded.getMessage());
+    assertTrue(decoded.getDebugInfo().isEmpty());
+    decoded.getDebugInfo().put("key", "value");
+    assertTrue(codec.decodeFromWire(0, buffer).getDebugInfo().isEmpty());
+    // The numbers are not grouped, whatever the locale
+    FailureCodes.register(4403, "Failure {0} after {1} ms, {2,number,#.#}% done");
+    assertEquals("Failure 4401 after 12000 ms, 0.5% done", ServiceException.coded(4403, 4401, 12000L, 0.5d).getMessage());
+    // The codes not declared on the receiving side still tell the parameters
+    buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, ServiceException.coded(4402, 3L, null, true, 1.5d));
+    assertEquals("Failure 4402 [3, null, true, 1.5]", codec.decodeFromWire(0, buffer).getMessage());
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.serviceproxy.test;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.SyncServiceAdapter;
+import io.vertx.serviceproxy.testmodel.TestService;
+import io.vertx.serviceproxy.testmodel.TestServiceVertxFutureProxy;
+import io.vertx.serviceproxy.testmodel.TestServiceVertxSyncProxy;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class SyncAndFutureProxyTest extends VertxTestBase {
+
+  private static final String SERVICE_ADDRESS = "someaddress";
+
+  private MessageConsumer<JsonObject> consumer;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    consumer = ProxyHelper.registerService(TestService.class, vertx, TestService.create(vertx), SERVICE_ADDRESS);
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    consumer.unregister();
+    super.tearDown();
+  }
+
+  @Test
+  public void testSyncProxy() {
+    TestServiceVertxSyncProxy sync = new TestServiceVertxSyncProxy(vertx, SERVICE_ADDRESS);
+    vertx.<Void>executeBlocking(fut -> {
+      assertEquals("foobar", sync.stringHandler());
+      assertEquals("BAR", sync.lookup("bar"));
+      try {
+        sync.failingCall("Fail");
+        fail("Should have failed");
+      } catch (ServiceException e) {
+        assertEquals(25, e.failureCode());
+        assertEquals("val", e.getDebugInfo().getString("test"));
+      }
+      fut.complete();
+    }, onSuccess(v -> vertx.runOnContext(v2 -> {
+      try {
+        // Blocking the event loop is refused
+        sync.stringHandler();
+        fail("Should have failed");
+      } catch (IllegalStateException e) {
+        testComplete();
+      }
+    })));
+    await();
+  }
+
+  @Test
+  public void testSyncProxyOnWorker() {
+    TestServiceVertxSyncProxy sync = new TestServiceVertxSyncProxy(vertx, SERVICE_ADDRESS);
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() {
+        // The replies are not dispatched to the worker context this thread is blocking
+        assertEquals("foobar", sync.stringHandler());
+        vertx.<String>executeBlocking(fut -> fut.complete(sync.lookup("bar")), true, onSuccess(res -> {
+          assertEquals("BAR", res);
+          testComplete();
+        }));
+      }
+    }, new DeploymentOptions().setWorker(true), onSuccess(id -> {}));
+    await();
+  }
+
+  @Test
+  public void testFutureProxy() {
+    TestServiceVertxFutureProxy proxy = new TestServiceVertxFutureProxy(vertx, SERVICE_ADDRESS);
+    proxy.stringHandler()
+      .compose(res -> {
+        assertEquals("foobar", res);
+        return proxy.lookup(res);
+      })
+      .setHandler(onSuccess(res -> {
+        assertEquals("FOOBAR", res);
+        proxy.failingCall("Fail").setHandler(onFailure(err -> {
+          assertTrue(err instanceof ServiceException);
+          assertEquals(25, ((ServiceException) err).failureCode());
+          testComplete();
+        }));
+      }));
+    await();
+  }
+
+  public class FutureTestService {
+
+    public CompletionStage<String> stringHandler() {
+      return CompletableFuture.supplyAsync(() -> "completion stage").thenApply(String::toUpperCase);
+    }
+
+    public Future<JsonObject> failingCall(String value) {
+      return Future.failedFuture(new ServiceException(26, value));
+    }
+  }
+
+  @Test
+  public void testFutureReturningImplementation() {
+    TestService impl = SyncServiceAdapter.create(TestService.class, new FutureTestService());
+    MessageConsumer<JsonObject> consumer = ProxyHelper.registerService(TestService.class, vertx, impl, "futureaddress");
+    TestService proxy = TestService.createProxy(vertx, "futureaddress");
+    proxy.stringHandler(onSuccess(res -> {
+      assertEquals("COMPLETION STAGE", res);
+      proxy.failingCall("future failure", onFailure(err -> {
+        assertTrue(err instanceof ServiceException);
+        assertEquals(26, ((ServiceException) err).failureCode());
+        assertEquals("future failure", err.getMessage());
+        consumer.unregister();
+        testComplete();
+      }));
+    }));
+    await();
+  }
+}
@@ -19,6 +19,7 @@ package io.vertx.serviceproxy.testmodel;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.BinaryEncoded;
 
 /**
  *
@@ -27,6 +28,7 @@ import io.vertx.core.json.JsonObject;
  * @author <a href="mailto:nscavell@redhat.com">Nick Scavelli</a>
  */
 @DataObject
+@BinaryEncoded
 public class TestDataObject {
 
   @JsonProperty("number")
@@ -30,13 +30,20 @@ import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.Batched;
+import io.vertx.serviceproxy.Cacheable;
+import io.vertx.serviceproxy.Conditional;
+import io.vertx.serviceproxy.ProxyFacades;
 import io.vertx.serviceproxy.ProxyHelper;
+import io.vertx.serviceproxy.RoutingKey;
+import io.vertx.serviceproxy.SingleFlight;
 import io.vertx.serviceproxy.testmodel.impl.TestServiceImpl;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
 @ProxyGen
+@ProxyFacades(sync = true, future = true)
 @VertxGen
 public interface TestService {
 
@@ -208,6 +215,31 @@ public interface TestService {
 
   void setDataObjectContainingNullHandler(Handler<AsyncResult<Set<TestDataObject>>> resultHandler);
 
+  @Batched(method = "lookupAll", maxSize = 3)
+  void lookup(String key, Handler<AsyncResult<String>> resultHandler);
+
+  void lookupAll(List<String> keys, Handler<AsyncResult<List<String>>> resultHandler);
+
+  @Batched(method = "lookupDataObjects", maxSize = 3)
+  void lookupDataObject(TestDataObject dataObject, Handler<AsyncResult<String>> resultHandler);
+
+  void lookupDataObjects(List<TestDataObject> dataObjects, Handler<AsyncResult<List<String>>> resultHandler);
+
+  @Fluent
+  TestService routedFluentMethod(@RoutingKey String str, Handler<AsyncResult<String>> resultHandler);
+
+  @Cacheable(ttl = 10, invalidationAddress = "testservice.invalidate")
+  void cachedJsonObjectHandler(Handler<AsyncResult<JsonObject>> resultHandler);
+
+  @SingleFlight
+  void singleFlightJsonArrayHandler(Handler<AsyncResult<JsonArray>> resultHandler);
+
+  @Conditional
+  void conditionalDataObjectHandler(Handler<AsyncResult<TestDataObject>> resultHandler);
+
+  @Cacheable(ttl = 10, invalidationAddress = "testservice.invalidate")
+  void cachedDataObjectArgument(TestDataObject dataObject, Handler<AsyncResult<String>> resultHandler);
+
   @ProxyIgnore
   void ignoredMethod();
 }
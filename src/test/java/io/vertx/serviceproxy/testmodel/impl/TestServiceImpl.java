@@ -47,6 +47,7 @@ import static org.junit.Assert.*;
 public class TestServiceImpl implements TestService {
 
   private final Vertx vertx;
+  private int cachedDataObjectCalls;
 
   public TestServiceImpl(Vertx vertx) {
     this.vertx = vertx;
@@ -574,4 +575,50 @@ public class TestServiceImpl implements TestService {
         new TestDataObject().setNumber(2).setString("String 2").setBool(true)));
     resultHandler.handle(Future.succeededFuture(set));
   }
+
+  @Override
+  public void lookup(String key, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(key.toUpperCase()));
+  }
+
+  @Override
+  public void lookupAll(List<String> keys, Handler<AsyncResult<List<String>>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(keys.stream().map(String::toUpperCase).collect(Collectors.toList())));
+  }
+
+  @Override
+  public void lookupDataObject(TestDataObject dataObject, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(dataObject.getString().toUpperCase()));
+  }
+
+  @Override
+  public void lookupDataObjects(List<TestDataObject> dataObjects, Handler<AsyncResult<List<String>>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(dataObjects.stream().map(o -> o.getString().toUpperCase()).collect(Collectors.toList())));
+  }
+
+  @Override
+  public TestService routedFluentMethod(String str, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(str));
+    return this;
+  }
+
+  @Override
+  public void cachedJsonObjectHandler(Handler<AsyncResult<JsonObject>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(new JsonObject().put("blah", "wibble")));
+  }
+
+  @Override
+  public void singleFlightJsonArrayHandler(Handler<AsyncResult<JsonArray>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(new JsonArray().add("blurrg")));
+  }
+
+  @Override
+  public void conditionalDataObjectHandler(Handler<AsyncResult<TestDataObject>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(new TestDataObject().setString("foo").setNumber(123).setBool(true)));
+  }
+
+  @Override
+  public void cachedDataObjectArgument(TestDataObject dataObject, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(dataObject.getString() + ':' + ++cachedDataObjectCalls));
+  }
 }